@@ -2,11 +2,15 @@ package com.clinic;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.clinic.config.NativeHints;
 
 /**
  * Main entry point for the Clinic Appointment System application.
  */
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class ClinicApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,32 @@
+package com.clinic.config;
+
+import java.time.Clock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.clinic.service.BookingLimiter;
+import com.clinic.web.BookingLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Puts the {@link BookingLimitFilter} in front of the booking endpoint.
+ */
+@Configuration
+@ConditionalOnWebApplication
+public class BookingLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<BookingLimitFilter> bookingLimitFilter(BookingLimiter limiter,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<BookingLimitFilter> registration =
+                new FilterRegistrationBean<>(new BookingLimitFilter(limiter, objectMapper, Clock.systemUTC()));
+        registration.addUrlPatterns("/api/appointments");
+        // Early, to shed before any other work, but after the observation filter so shed requests are still timed
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
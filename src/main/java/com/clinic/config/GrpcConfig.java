@@ -0,0 +1,30 @@
+package com.clinic.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clinic.grpc.GrpcServer;
+
+import io.grpc.BindableService;
+
+/**
+ * Serves the gRPC services on {@code clinic.grpc.port} (6565; 0 for any
+ * free port) alongside the web server.  Batch runs such as the export and
+ * import profiles start no web server and so no gRPC server either.
+ */
+@Configuration
+@ConditionalOnWebApplication
+public class GrpcConfig {
+
+    @Bean
+    public GrpcServer grpcServer(List<BindableService> services,
+                                 @Value("${clinic.grpc.port:6565}") int port,
+                                 @Value("${clinic.grpc.shutdown-grace-period:30s}") Duration gracePeriod) {
+        return new GrpcServer(port, services, gracePeriod);
+    }
+}
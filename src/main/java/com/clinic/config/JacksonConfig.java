@@ -2,22 +2,84 @@ package com.clinic.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.TSFBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
 /**
  * Jackson configuration for proper serialization of entities.
+ *
+ * <p>Boot's builder already turns off the features that cost time without
+ * being used here (default view inclusion, failing on unknown
+ * properties).  On top of that, doubles are written and parsed with the
+ * faster algorithms, and Blackbird replaces reflective getter and
+ * setter calls with generated lambdas.  Blackbird defines classes at run
+ * time, so a native image goes without it.
+ *
+ * <p>Besides JSON, every endpoint reads and writes CBOR
+ * ({@code application/cbor}) and Smile ({@value #APPLICATION_SMILE_VALUE})
+ * when the client asks for them, with the same settings except for
+ * dates.  Spring's own converters for these would use a mapper without
+ * them.
  */
 @Configuration
 public class JacksonConfig {
 
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
     @Bean
     public ObjectMapper objectMapper(Jackson2ObjectMapperBuilder builder) {
-        ObjectMapper objectMapper = builder.build();
+        return configure(builder.factory(fastDoubles(new JsonFactoryBuilder())).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binary(builder.factory(fastDoubles(CBORFactory.builder())).build()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binary(builder.factory(fastDoubles(SmileFactory.builder())).build()));
+    }
+
+    /**
+     * Dates go out as arrays of numbers, {@code [2031,3,3,9,0]}, not ISO
+     * strings: formatting and parsing them was most of the cost.  Both
+     * forms are read.
+     */
+    private static ObjectMapper binary(ObjectMapper objectMapper) {
+        return configure(objectMapper).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static <F extends JsonFactory, B extends TSFBuilder<F, B>> F fastDoubles(B factory) {
+        return factory.enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER)
+                .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+                .build();
+    }
+
+    private static ObjectMapper configure(ObjectMapper objectMapper) {
         // Disable serialization of Hibernate proxy objects
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Response DTOs carry a sparse-fieldset filter; write every field when none is supplied
+        objectMapper.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+        if (!NativeDetector.inNativeImage()) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
         return objectMapper;
     }
 }
@@ -0,0 +1,68 @@
+package com.clinic.config;
+
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.clinic.dto.AppointmentRequest;
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.dto.DailyStatsResponse;
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.DoctorResponse;
+import com.clinic.dto.DoctorStatsReport;
+import com.clinic.dto.ImportReport;
+import com.clinic.dto.PatientResponse;
+import com.clinic.dto.PatientSearchResult;
+import com.clinic.dto.SpecializationStatsReport;
+import com.clinic.dto.TimeOffDto;
+import com.clinic.dto.WorkingHoursDto;
+import com.clinic.exception.ErrorResponse;
+import com.clinic.model.Appointment;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.model.Specialization;
+import com.clinic.service.BookingResult;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Reflection and resource hints for a GraalVM native image, beyond those
+ * Spring AOT infers.
+ *
+ * <p>Spring registers the types in controller signatures, but most
+ * responses hide theirs behind {@code MappingJacksonValue} or
+ * {@code ResponseEntity<?>}, and the bulk import reads entities with
+ * its own {@code ObjectMapper}.  Entities get their fields, constructors
+ * and accessors for Hibernate, on top of what Spring's JPA processing
+ * registers.  Hibernate's lazy-loading proxies are classes it generates
+ * at run time, not JDK proxies, so proxy hints cannot cover them; the
+ * appointment finders fetch the patient and doctor up front, which keeps
+ * the responses off that path.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    /** Read or written as JSON. */
+    static final List<Class<?>> JSON_TYPES = List.of(
+            AppointmentRequest.class, AppointmentResponse.class, BookingResult.Conflict.class,
+            DailyStatsResponse.class, DeletionStatus.class, DoctorResponse.class, DoctorStatsReport.class,
+            ErrorResponse.class, ImportReport.class, PatientResponse.class, PatientSearchResult.class,
+            SpecializationStatsReport.class, TimeOffDto.class, WorkingHoursDto.class,
+            Doctor.class, Patient.class, Specialization.class, OpenAPI.class);
+
+    static final List<Class<?>> ENTITIES = List.of(Appointment.class, Doctor.class, Patient.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                JSON_TYPES.toArray(Class<?>[]::new));
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        // Swagger UI's static files, served from the webjar
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+    }
+}
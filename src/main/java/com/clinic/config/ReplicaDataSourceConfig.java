@@ -0,0 +1,103 @@
+package com.clinic.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.clinic.datasource.ReplicaRoutingDataSource;
+import com.clinic.datasource.ReplicaSet;
+import com.clinic.web.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Read replicas, switched on by listing their JDBC URLs in
+ * {@code clinic.datasource.replica.urls}.  They use the primary's driver,
+ * credentials and pool settings.
+ *
+ * <p>The application's {@code DataSource} then routes read-only
+ * transactions to replicas that lag the primary by at most
+ * {@code clinic.datasource.replica.max-lag-ms} (2000), measured every
+ * {@code clinic.datasource.replica.heartbeat-ms} (1000).  After a client
+ * writes, its reads stay on the primary for the sum of the two.
+ */
+@Configuration
+@ConditionalOnProperty("clinic.datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /** One pool per replica, sized and tuned like the primary's. */
+    @Bean
+    public ReplicaSet replicaSet(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                 @Value("${clinic.datasource.replica.urls}") List<String> urls,
+                                 @Value("${clinic.datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(url.strip());
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            // Not beans, so Boot does not attach pool metrics to them.
+            meterRegistry.ifAvailable(registry ->
+                    replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(replica);
+        }
+        return new ReplicaSet(primary, replicas, Duration.ofMillis(maxLagMillis), Clock.systemUTC());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaSet replicaSet) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicaSet));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${clinic.datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+            @Value("${clinic.datasource.replica.heartbeat-ms:1000}") long heartbeatMillis) {
+        // A replica is only checked once per heartbeat, so it may fall that much further behind between checks.
+        return new ReadYourWritesFilter(Duration.ofMillis(maxLagMillis + heartbeatMillis), Clock.systemUTC());
+    }
+
+    /** {@code clinic.datasource.replica.lag}, per replica; -1 while a replica cannot be read. */
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaSet replicaSet) {
+        return registry -> {
+            for (int i = 0; i < replicaSet.size(); i++) {
+                int replica = i;
+                Gauge.builder("clinic.datasource.replica.lag", replicaSet, set -> set.lagMillis(replica))
+                        .tag("replica", String.valueOf(replica))
+                        .baseUnit("milliseconds")
+                        .description("Age of the newest replication heartbeat on the replica")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.clinic.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs such as the appointment archiver.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
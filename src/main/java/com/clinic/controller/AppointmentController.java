@@ -1,10 +1,20 @@
 package com.clinic.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,17 +22,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.clinic.config.JacksonConfig;
 import com.clinic.dto.AppointmentRequest;
 import com.clinic.dto.AppointmentResponse;
+import com.clinic.exception.ErrorResponse;
 import com.clinic.model.AppointmentStatus;
 import com.clinic.service.AppointmentService;
+import com.clinic.service.BookingResult;
+import com.clinic.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
- * REST controller for managing appointments.
+ * REST controller for managing appointments.  Every endpoint also speaks
+ * CBOR and Smile; see {@link JacksonConfig}.
  */
 @Validated
 @RestController
@@ -30,14 +52,66 @@ import com.clinic.service.AppointmentService;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final IdempotencyService idempotencyService;
+    /**
+     * Writes one appointment at a time into an open array, without a flush
+     * after each, by format in order of preference.
+     */
+    private final Map<MediaType, ObjectWriter> appointmentWriters = new LinkedHashMap<>();
 
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService, IdempotencyService idempotencyService,
+                                 ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cbor,
+                                 MappingJackson2SmileHttpMessageConverter smile) {
         this.appointmentService = appointmentService;
+        this.idempotencyService = idempotencyService;
+        appointmentWriters.put(MediaType.APPLICATION_JSON, appointmentWriter(objectMapper));
+        appointmentWriters.put(MediaType.APPLICATION_CBOR, appointmentWriter(cbor.getObjectMapper()));
+        appointmentWriters.put(JacksonConfig.APPLICATION_SMILE, appointmentWriter(smile.getObjectMapper()));
+    }
+
+    private static ObjectWriter appointmentWriter(ObjectMapper objectMapper) {
+        return objectMapper.writerFor(AppointmentResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * All appointments, hot and archived, by start time, as JSON, CBOR or
+     * Smile by the {@code Accept} header.  The array is written while the
+     * rows are read, so it is never held in memory however many
+     * appointments there are.  An error after the first bytes are sent
+     * cuts the array short.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE})
+    public void getAllAppointments(@RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "*/*") String accept,
+                                   HttpServletResponse response) throws IOException {
+        MediaType format = negotiate(accept);
+        response.setContentType(format.toString());
+        try (SequenceWriter array = appointmentWriters.get(format).writeValuesAsArray(response.getOutputStream())) {
+            appointmentService.forEachAppointment(appointment -> {
+                try {
+                    array.write(appointment);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
     }
 
-    @GetMapping
-    public ResponseEntity<List<AppointmentResponse>> getAllAppointments() {
-        return ResponseEntity.ok(appointmentService.getAllAppointments());
+    /** The first format the client accepts, by quality and then specificity. */
+    private MediaType negotiate(String accept) {
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType format : appointmentWriters.keySet()) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        // Not reached: the mapping's produces condition has already matched one of them
+        return MediaType.APPLICATION_JSON;
     }
 
     @GetMapping("/{id}")
@@ -57,10 +131,42 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getAppointmentsByDoctor(doctorId));
     }
 
+    /**
+     * Book an appointment.  Returns 201 with the appointment, or a 409 error
+     * listing the nearest free slots for the same doctor when the time is
+     * taken.
+     *
+     * <p>With an {@code Idempotency-Key} header, a request repeating an
+     * earlier successful one with the same key gets that booking back, as a
+     * 201 marked {@code Idempotent-Replayed: true}, and books nothing.  The
+     * same key with a different request is a 422.
+     */
     @PostMapping
-    public ResponseEntity<AppointmentResponse> createAppointment(@RequestBody AppointmentRequest request) {
-        AppointmentResponse created = appointmentService.createAppointment(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<?> createAppointment(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody AppointmentRequest request) {
+        if (idempotencyKey == null) {
+            return respond(appointmentService.bookAppointment(request), false);
+        }
+        IdempotencyService.Outcome outcome = idempotencyService.book(idempotencyKey, request);
+        return respond(outcome.result(), outcome.replayed());
+    }
+
+    private static ResponseEntity<?> respond(BookingResult result, boolean replayed) {
+        return switch (result) {
+            case BookingResult.Accepted accepted when replayed -> ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IdempotencyService.REPLAYED_HEADER, "true")
+                    .body(accepted.appointment());
+            case BookingResult.Accepted accepted -> ResponseEntity.status(HttpStatus.CREATED).body(accepted.appointment());
+            case BookingResult.Conflict conflict -> ResponseEntity.status(HttpStatus.CONFLICT).body(conflictError(conflict));
+        };
+    }
+
+    /** The usual error body, with the alternatives alongside the message. */
+    private static ErrorResponse conflictError(BookingResult.Conflict conflict) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        return new ErrorResponse(Instant.now(), status.value(), status.getReasonPhrase(), conflict.message(),
+                null, conflict.alternativeSlots());
     }
 
     @PutMapping("/{id}/status")
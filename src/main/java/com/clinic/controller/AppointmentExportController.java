@@ -0,0 +1,72 @@
+package com.clinic.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clinic.exception.BusinessException;
+import com.clinic.service.AppointmentExportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * REST controller that streams appointment history as CSV.
+ *
+ * <p>The body is written straight to the servlet output stream while the
+ * database cursor is read, so the response is never held in memory.
+ */
+@RestController
+@RequestMapping("/api/appointments/export")
+public class AppointmentExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AppointmentExportService exportService;
+
+    public AppointmentExportController(AppointmentExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping
+    public void export(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                       LocalDateTime afterDate,
+                       @RequestParam(required = false) Long afterId,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       HttpServletResponse response) throws IOException {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Export range must not end before it starts");
+        }
+        if ((afterDate == null) != (afterId == null)) {
+            throw new BusinessException("afterDate and afterId must be given together");
+        }
+        AppointmentExportService.Cursor after = afterDate != null
+                ? new AppointmentExportService.Cursor(afterDate, afterId) : null;
+
+        String filename = "appointments-" + from + "-" + to + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.setBufferSize(BUFFER_SIZE);
+
+        OutputStream body = response.getOutputStream();
+        if (gzip) {
+            body = new GZIPOutputStream(body, BUFFER_SIZE);
+        }
+        try (Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+            exportService.exportCsv(from, to, after, 0, after == null, writer);
+        }
+    }
+}
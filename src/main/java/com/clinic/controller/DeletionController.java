@@ -0,0 +1,31 @@
+package com.clinic.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clinic.dto.DeletionStatus;
+import com.clinic.service.DeletionService;
+
+/**
+ * REST controller reporting the progress of background deletions started
+ * by {@code DELETE /api/doctors/{id}} and {@code DELETE /api/patients/{id}}.
+ */
+@RestController
+@RequestMapping("/api/deletions")
+public class DeletionController {
+
+    private final DeletionService deletionService;
+
+    public DeletionController(DeletionService deletionService) {
+        this.deletionService = deletionService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeletionStatus> getStatus(@PathVariable String id) {
+        return deletionService.getStatus(id).map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
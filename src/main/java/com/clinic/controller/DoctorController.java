@@ -1,10 +1,11 @@
 package com.clinic.controller;
 
-import java.util.List;
-import java.util.Optional;
+import java.net.URI;
+import java.util.Set;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,13 +14,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.DoctorResponse;
 import com.clinic.model.Doctor;
 import com.clinic.service.DoctorService;
+import com.clinic.util.FieldSelection;
 
 /**
  * REST controller for managing doctors.
+ *
+ * <p>Reads take an optional {@code fields} parameter naming the
+ * {@link DoctorResponse} fields to return.
  */
 @Validated
 @RestController
@@ -33,38 +41,50 @@ public class DoctorController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Doctor>> getAllDoctors() {
-        return ResponseEntity.ok(doctorService.getAllDoctors());
+    public ResponseEntity<MappingJacksonValue> getAllDoctors(@RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, DoctorResponse.FIELDS, DoctorResponse.FIELDS);
+        return ResponseEntity.ok(FieldSelection.filter(doctorService.getAllDoctors(selected), selected));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Doctor> getDoctorById(@PathVariable Long id) {
-        Optional<Doctor> doctor = doctorService.getDoctorById(id);
-        return doctor.map(ResponseEntity::ok)
+    public ResponseEntity<MappingJacksonValue> getDoctorById(@PathVariable Long id,
+                                                             @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, DoctorResponse.FIELDS, DoctorResponse.FIELDS);
+        return doctorService.getDoctorById(id, selected)
+                .map(doctor -> ResponseEntity.ok(FieldSelection.filter(doctor, selected)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /** Served from the specialization cache, so {@code fields} only trims the response. */
     @GetMapping("/specialization/{specialization}")
-    public ResponseEntity<List<Doctor>> getDoctorsBySpecialization(@PathVariable String specialization) {
-        return ResponseEntity.ok(doctorService.getDoctorsBySpecialization(specialization));
+    public ResponseEntity<MappingJacksonValue> getDoctorsBySpecialization(@PathVariable String specialization,
+                                                                          @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, DoctorResponse.FIELDS, DoctorResponse.FIELDS);
+        return ResponseEntity.ok(FieldSelection.filter(doctorService.getDoctorsBySpecialization(specialization)
+                .stream().map(DoctorResponse::from).toList(), selected));
     }
 
     @PostMapping
     // amazonq-ignore-next-line
-    public ResponseEntity<Doctor> createDoctor(@RequestBody Doctor doctor) {
+    public ResponseEntity<MappingJacksonValue> createDoctor(@RequestBody Doctor doctor) {
         Doctor created = doctorService.createDoctor(doctor);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED).body(full(created));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Doctor> updateDoctor(@PathVariable Long id, @RequestBody Doctor details) {
+    public ResponseEntity<MappingJacksonValue> updateDoctor(@PathVariable Long id, @RequestBody Doctor details) {
         Doctor updated = doctorService.updateDoctor(id, details);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok(full(updated));
     }
 
+    /** Deletion runs in the background; poll the returned location for progress. */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteDoctor(@PathVariable Long id) {
-        doctorService.deleteDoctor(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeletionStatus> deleteDoctor(@PathVariable Long id) {
+        DeletionStatus status = doctorService.deleteDoctor(id);
+        return ResponseEntity.accepted().location(URI.create("/api/deletions/" + status.id())).body(status);
     }
-}
\ No newline at end of file
+
+    private static MappingJacksonValue full(Doctor doctor) {
+        return FieldSelection.filter(DoctorResponse.from(doctor), Set.copyOf(DoctorResponse.FIELDS));
+    }
+}
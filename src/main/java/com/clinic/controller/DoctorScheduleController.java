@@ -0,0 +1,76 @@
+package com.clinic.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clinic.dto.TimeOffDto;
+import com.clinic.dto.WorkingHoursDto;
+import com.clinic.model.Appointment;
+import com.clinic.service.ScheduleService;
+
+import jakarta.validation.Valid;
+
+/**
+ * REST controller for doctors' working hours, time off and free slots.
+ */
+@Validated
+@RestController
+@RequestMapping("/api/doctors/{doctorId}")
+public class DoctorScheduleController {
+
+    private final ScheduleService scheduleService;
+
+    public DoctorScheduleController(ScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<List<LocalDateTime>> getAvailability(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "" + Appointment.DEFAULT_DURATION_MINUTES) int durationMinutes) {
+        return ResponseEntity.ok(scheduleService.getAvailability(doctorId, date, durationMinutes));
+    }
+
+    @GetMapping("/working-hours")
+    public ResponseEntity<List<WorkingHoursDto>> getWorkingHours(@PathVariable Long doctorId) {
+        return ResponseEntity.ok(scheduleService.getWorkingHours(doctorId));
+    }
+
+    @PutMapping("/working-hours")
+    public ResponseEntity<List<WorkingHoursDto>> replaceWorkingHours(@PathVariable Long doctorId,
+                                                                     @RequestBody List<WorkingHoursDto> template) {
+        return ResponseEntity.ok(scheduleService.replaceWorkingHours(doctorId, template));
+    }
+
+    @GetMapping("/time-off")
+    public ResponseEntity<List<TimeOffDto>> getTimeOff(@PathVariable Long doctorId) {
+        return ResponseEntity.ok(scheduleService.getTimeOff(doctorId));
+    }
+
+    @PostMapping("/time-off")
+    public ResponseEntity<TimeOffDto> addTimeOff(@PathVariable Long doctorId, @Valid @RequestBody TimeOffDto request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(scheduleService.addTimeOff(doctorId, request));
+    }
+
+    @DeleteMapping("/time-off/{timeOffId}")
+    public ResponseEntity<Void> deleteTimeOff(@PathVariable Long doctorId, @PathVariable Long timeOffId) {
+        scheduleService.deleteTimeOff(doctorId, timeOffId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.clinic.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clinic.dto.ImportReport;
+import com.clinic.service.BulkImportService;
+import com.clinic.service.ImportFormat;
+
+/**
+ * REST controller for bulk loading patients and doctors.
+ *
+ * <p>The request body is read as a stream, as {@code text/csv} or
+ * {@code application/x-ndjson}, optionally with
+ * {@code Content-Encoding: gzip}.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final BulkImportService importService;
+
+    public ImportController(BulkImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping("/patients")
+    public ResponseEntity<ImportReport> importPatients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(importService.importPatients(decode(body, contentEncoding), format));
+    }
+
+    @PostMapping("/doctors")
+    public ResponseEntity<ImportReport> importDoctors(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(importService.importDoctors(decode(body, contentEncoding), format));
+    }
+
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        return "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+    }
+}
@@ -1,10 +1,11 @@
 package com.clinic.controller;
 
-import java.util.List;
-import java.util.Optional;
+import java.net.URI;
+import java.util.Set;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,13 +14,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.PatientResponse;
+import com.clinic.dto.PatientSearchResult;
 import com.clinic.model.Patient;
 import com.clinic.service.PatientService;
+import com.clinic.util.FieldSelection;
 
 /**
  * REST controller for managing patients.
+ *
+ * <p>Reads take an optional {@code fields} parameter naming the
+ * {@link PatientResponse} fields to return; only those columns are read.
  */
 @Validated
 @RestController
@@ -33,32 +42,47 @@ public class PatientController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Patient>> getAllPatients() {
-        return ResponseEntity.ok(patientService.getAllPatients());
+    public ResponseEntity<MappingJacksonValue> getAllPatients(@RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, PatientResponse.FIELDS, PatientResponse.LIST_FIELDS);
+        return ResponseEntity.ok(FieldSelection.filter(patientService.getAllPatients(selected), selected));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PatientSearchResult> searchPatients(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(patientService.searchPatients(q, page, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Patient> getPatientById(@PathVariable Long id) {
-        Optional<Patient> patient = patientService.getPatientById(id);
-        return patient.map(ResponseEntity::ok)
+    public ResponseEntity<MappingJacksonValue> getPatientById(@PathVariable Long id,
+                                                              @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, PatientResponse.FIELDS, PatientResponse.FIELDS);
+        return patientService.getPatientById(id, selected)
+                .map(patient -> ResponseEntity.ok(FieldSelection.filter(patient, selected)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<Patient> createPatient(@RequestBody Patient patient) {
+    public ResponseEntity<MappingJacksonValue> createPatient(@RequestBody Patient patient) {
         Patient created = patientService.createPatient(patient);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED).body(full(created));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Patient> updatePatient(@PathVariable Long id, @RequestBody Patient details) {
+    public ResponseEntity<MappingJacksonValue> updatePatient(@PathVariable Long id, @RequestBody Patient details) {
         Patient updated = patientService.updatePatient(id, details);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok(full(updated));
     }
 
+    /** Deletion runs in the background; poll the returned location for progress. */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePatient(@PathVariable Long id) {
-        patientService.deletePatient(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeletionStatus> deletePatient(@PathVariable Long id) {
+        DeletionStatus status = patientService.deletePatient(id);
+        return ResponseEntity.accepted().location(URI.create("/api/deletions/" + status.id())).body(status);
+    }
+
+    private static MappingJacksonValue full(Patient patient) {
+        return FieldSelection.filter(PatientResponse.from(patient), Set.copyOf(PatientResponse.FIELDS));
     }
-}
\ No newline at end of file
+}
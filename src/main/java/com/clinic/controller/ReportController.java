@@ -0,0 +1,61 @@
+package com.clinic.controller;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clinic.dto.DailyStatsResponse;
+import com.clinic.dto.DoctorStatsReport;
+import com.clinic.dto.SpecializationStatsReport;
+import com.clinic.service.AppointmentStatsService;
+
+/**
+ * REST controller for schedule reports, served from the daily rollup.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final AppointmentStatsService statsService;
+
+    public ReportController(AppointmentStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailyStatsResponse>> getDailyStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long doctorId) {
+        return ResponseEntity.ok(statsService.getDailyStats(from, to, doctorId));
+    }
+
+    @GetMapping("/monthly")
+    public ResponseEntity<List<DoctorStatsReport>> getMonthlyStats(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(statsService.getMonthlyStats(month));
+    }
+
+    @GetMapping("/specializations")
+    public ResponseEntity<List<SpecializationStatsReport>> getSpecializationStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(statsService.getSpecializationStats(from, to));
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(Map.of("rows", statsService.rebuild(from, to)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.clinic.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clinic.model.Specialization;
+import com.clinic.service.SpecializationService;
+
+/**
+ * REST controller for the specializations doctors are registered under.
+ */
+@RestController
+@RequestMapping("/api/specializations")
+public class SpecializationController {
+
+    private final SpecializationService specializationService;
+
+    public SpecializationController(SpecializationService specializationService) {
+        this.specializationService = specializationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Specialization>> getSpecializations(@RequestParam(required = false) String q) {
+        return ResponseEntity.ok(q == null || q.isBlank()
+                ? specializationService.getAllSpecializations()
+                : specializationService.searchSpecializations(q));
+    }
+}
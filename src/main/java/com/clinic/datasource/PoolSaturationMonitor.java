@@ -0,0 +1,103 @@
+package com.clinic.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import com.clinic.util.LogThrottle;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Warns when threads queue for a database connection.
+ *
+ * <p>Hikari's own metrics show how many threads wait ({@code
+ * hikaricp_connections_pending}) and for how long
+ * ({@code hikaricp_connections_acquire_seconds}), but nothing looks at
+ * them until someone opens a dashboard.  {@link #check()} samples every
+ * Hikari pool, the primary and any replicas.  When more than
+ * {@code clinic.datasource.pool.pending-threshold} threads are waiting,
+ * it logs the pool's state, at most once a minute per pool, and counts
+ * the sample in {@code clinic_datasource_pool_saturated_total}.
+ */
+@Component
+public class PoolSaturationMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolSaturationMonitor.class);
+
+    private final ObjectProvider<DataSource> dataSources;
+    private final ObjectProvider<ReplicaSet> replicaSets;
+    private final MeterRegistry meterRegistry;
+    private final int pendingThreshold;
+    private final LogThrottle warnings = new LogThrottle(Duration.ofMinutes(1));
+
+    public PoolSaturationMonitor(ObjectProvider<DataSource> dataSources, ObjectProvider<ReplicaSet> replicaSets,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${clinic.datasource.pool.pending-threshold:5}") int pendingThreshold) {
+        this.dataSources = dataSources;
+        this.replicaSets = replicaSets;
+        this.meterRegistry = meterRegistry;
+        this.pendingThreshold = pendingThreshold;
+    }
+
+    /** Sample every pool once. */
+    public void check() {
+        for (HikariDataSource pool : pools()) {
+            HikariPoolMXBean state = pool.getHikariPoolMXBean();
+            if (state == null) {
+                continue; // not started yet
+            }
+            int pending = state.getThreadsAwaitingConnection();
+            if (pending <= pendingThreshold) {
+                continue;
+            }
+            Counter.builder("clinic.datasource.pool.saturated")
+                    .tag("pool", pool.getPoolName())
+                    .description("Samples in which more threads waited for a connection than the threshold")
+                    .register(meterRegistry)
+                    .increment();
+            long suppressed = warnings.tryAcquire(pool.getPoolName());
+            if (suppressed >= 0) {
+                log.warn("Connection pool {} saturated: {} threads waiting, {} of {} connections in use, "
+                                + "{} idle ({} similar suppressed)",
+                        pool.getPoolName(), pending, state.getActiveConnections(), pool.getMaximumPoolSize(),
+                        state.getIdleConnections(), suppressed);
+            }
+        }
+    }
+
+    private List<HikariDataSource> pools() {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DataSource dataSource : dataSources) {
+            HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class,
+                    HikariDataSource.class);
+            if (pool != null) {
+                pools.add(pool);
+            }
+        }
+        for (ReplicaSet replicaSet : replicaSets) {
+            for (int i = 0; i < replicaSet.size(); i++) {
+                if (replicaSet.get(i) instanceof HikariDataSource pool) {
+                    pools.add(pool);
+                }
+            }
+        }
+        return new ArrayList<>(pools);
+    }
+}
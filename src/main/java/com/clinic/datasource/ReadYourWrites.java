@@ -0,0 +1,96 @@
+package com.clinic.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state that keeps a client's reads on the primary while its
+ * own writes may not have reached the replicas yet.
+ *
+ * <p>{@code ReadYourWritesFilter} opens a scope for each request, pinned
+ * if the client wrote recently.  The first read-write transaction that
+ * commits in a scope pins the rest of it and calls the scope's
+ * {@code onWrite} action once, which lets the filter tell the client.
+ * Outside a scope, such as in scheduled jobs, nothing is pinned and
+ * writes are not tracked.
+ *
+ * <p>{@link #onPrimary(Supplier)} pins reads for a stretch of code
+ * regardless of the scope, for reads that must never lag, such as
+ * refilling a cache that a commit has just invalidated.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /** Start a scope on this thread; close it to end it. */
+    public static Scope open(boolean pinned, Runnable onWrite) {
+        Scope scope = new Scope(pinned, onWrite);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    /** Whether reads on this thread must go to the primary. */
+    public static boolean isPinned() {
+        if (PRIMARY_ONLY.get() != null) {
+            return true;
+        }
+        Scope scope = CURRENT.get();
+        return scope != null && scope.pinned;
+    }
+
+    /**
+     * Run {@code work} with this thread's reads pinned to the primary.
+     * Only transactions that start inside {@code work} are affected; one
+     * already running keeps the connection it has.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean outer = PRIMARY_ONLY.get() != null;
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (!outer) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    /** Note that a read-write transaction committed on this thread. */
+    public static void recordWrite() {
+        Scope scope = CURRENT.get();
+        if (scope != null && !scope.wrote) {
+            scope.wrote = true;
+            scope.pinned = true;
+            scope.onWrite.run();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Runnable onWrite;
+        private boolean pinned;
+        private boolean wrote;
+
+        private Scope(boolean pinned, Runnable onWrite) {
+            this.pinned = pinned;
+            this.onWrite = onWrite;
+        }
+
+        /** Whether a read-write transaction committed in this scope. */
+        public boolean wrote() {
+            return wrote;
+        }
+
+        @Override
+        public void close() {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.clinic.datasource;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.clinic.util.LogThrottle;
+
+/**
+ * The read replicas of the primary database and how far each one lags
+ * behind it.
+ *
+ * <p>Lag is measured with a heartbeat: {@link #heartbeat()} reads the
+ * {@code replication_heartbeat} row from every replica, then writes the
+ * current time to it on the primary.  A replica's lag is the age of the
+ * newest beat it has, so it is never reported as less than one heartbeat
+ * interval behind.  A replica is {@linkplain #isFresh fresh} while that
+ * lag is within {@code maxLag}; one that cannot be read, or has not been
+ * checked yet, is not.
+ */
+public class ReplicaSet implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+
+    /** Lag of a replica that could not be read. */
+    public static final long UNKNOWN = -1;
+
+    private static final String READ_BEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+    private static final String UPDATE_BEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String INSERT_BEAT = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)";
+
+    private final JdbcTemplate primary;
+    private final List<DataSource> replicas;
+    private final List<JdbcTemplate> replicaTemplates;
+    private final long maxLagMillis;
+    private final Clock clock;
+    private final AtomicLongArray lagMillis;
+    private final LogThrottle warnings = new LogThrottle(Duration.ofMinutes(1));
+
+    public ReplicaSet(DataSource primary, List<DataSource> replicas, Duration maxLag, Clock clock) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = List.copyOf(replicas);
+        this.replicaTemplates = this.replicas.stream().map(JdbcTemplate::new).toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.clock = clock;
+        this.lagMillis = new AtomicLongArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            lagMillis.set(i, UNKNOWN);
+        }
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public DataSource get(int replica) {
+        return replicas.get(replica);
+    }
+
+    /** Whether {@code replica} was within the lag tolerance at the last heartbeat. */
+    public boolean isFresh(int replica) {
+        long lag = lagMillis.get(replica);
+        return lag != UNKNOWN && lag <= maxLagMillis;
+    }
+
+    /** Lag of {@code replica} at the last heartbeat, in milliseconds, or {@link #UNKNOWN}. */
+    public long lagMillis(int replica) {
+        return lagMillis.get(replica);
+    }
+
+    /** Measure every replica against the previous beat, then write the next one. */
+    public void heartbeat() {
+        Instant now = clock.instant();
+        for (int i = 0; i < replicas.size(); i++) {
+            lagMillis.set(i, measure(i, now));
+        }
+        Timestamp beat = Timestamp.from(now);
+        try {
+            if (primary.update(UPDATE_BEAT, beat) == 0) {
+                primary.update(INSERT_BEAT, beat);
+            }
+        } catch (DuplicateKeyException ex) {
+            // Another instance wrote the first beat; its beats serve as well.
+        } catch (DataAccessException ex) {
+            warn("primary", ex);
+        }
+    }
+
+    private long measure(int replica, Instant now) {
+        try {
+            List<Timestamp> beats = replicaTemplates.get(replica).queryForList(READ_BEAT, Timestamp.class);
+            if (beats.isEmpty()) {
+                return UNKNOWN;
+            }
+            return Math.max(0, Duration.between(beats.get(0).toInstant(), now).toMillis());
+        } catch (DataAccessException ex) {
+            warn("replica " + replica, ex);
+            return UNKNOWN;
+        }
+    }
+
+    private void warn(String target, DataAccessException ex) {
+        long suppressed = warnings.tryAcquire(target);
+        if (suppressed >= 0) {
+            log.warn("Replication heartbeat failed on {} ({} more suppressed): {}", target, suppressed, ex.getMessage());
+        }
+    }
+
+    /** Close the replica pools; the primary belongs to whoever created it. */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.clinic.dto;
 
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
+import com.clinic.model.Appointment;
+
 /**
  * DTO for creating an appointment.
  */
@@ -16,6 +20,9 @@ public class AppointmentRequest {
     @NotNull(message = "Appointment date is required")
     @Future(message = "Appointment date must be in the future")
     private LocalDateTime appointmentDate;
+    @Min(value = Appointment.MIN_DURATION_MINUTES, message = "Duration must be at least 5 minutes")
+    @Max(value = Appointment.MAX_DURATION_MINUTES, message = "Duration cannot exceed 480 minutes")
+    private Integer durationMinutes;
     @Size(max = 500, message = "Notes cannot exceed 500 characters")
     private String notes;
 
@@ -53,6 +60,17 @@ public class AppointmentRequest {
         this.appointmentDate = appointmentDate;
     }
 
+    /**
+     * @return requested length in minutes, or {@code null} for the 30-minute default
+     */
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
     public String getNotes() {
         return notes;
     }
@@ -12,6 +12,8 @@ public class AppointmentResponse {
     private String patientName;
     private String doctorName;
     private LocalDateTime appointmentDate;
+    private Integer durationMinutes;
+    private LocalDateTime endDate;
     private String notes;
     private AppointmentStatus status;
     private LocalDateTime createdAt;
@@ -52,6 +54,22 @@ public class AppointmentResponse {
         this.appointmentDate = appointmentDate;
     }
 
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
     public String getNotes() {
         return notes;
     }
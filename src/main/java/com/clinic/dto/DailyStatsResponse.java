@@ -0,0 +1,24 @@
+package com.clinic.dto;
+
+import java.time.LocalDate;
+
+import com.clinic.model.DailyDoctorStats;
+
+/**
+ * Appointment counters for one doctor on one day.
+ *
+ * @param doctorId      doctor the row belongs to
+ * @param date          day the appointments start on
+ * @param booked        appointments of any status
+ * @param cancelled     cancelled appointments
+ * @param completed     completed appointments
+ * @param bookedMinutes minutes of non-cancelled appointments
+ */
+public record DailyStatsResponse(Long doctorId, LocalDate date, long booked, long cancelled, long completed,
+                                 long bookedMinutes) {
+
+    public static DailyStatsResponse from(DailyDoctorStats stats) {
+        return new DailyStatsResponse(stats.getDoctorId(), stats.getStatDate(), stats.getBooked(),
+                stats.getCancelled(), stats.getCompleted(), stats.getBookedMinutes());
+    }
+}
@@ -0,0 +1,24 @@
+package com.clinic.dto;
+
+import java.time.Instant;
+
+/**
+ * Progress of a background deletion of a doctor or patient.
+ *
+ * @param id                  job id, for {@code GET /api/deletions/{id}}
+ * @param target              {@code doctor} or {@code patient}
+ * @param targetId            id of the doctor or patient being deleted
+ * @param state               where the job is
+ * @param appointmentsTotal   appointments the target had when the job started
+ * @param appointmentsDeleted appointments deleted so far
+ * @param startedAt           when the job was accepted
+ * @param finishedAt          when it completed or failed, {@code null} while running
+ * @param error               why it failed, {@code null} otherwise
+ */
+public record DeletionStatus(String id, String target, long targetId, State state, long appointmentsTotal,
+                             long appointmentsDeleted, Instant startedAt, Instant finishedAt, String error) {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,25 @@
+package com.clinic.dto;
+
+import java.util.List;
+
+import com.clinic.model.Doctor;
+import com.clinic.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A doctor as returned by the API.  Fields not selected with
+ * {@code ?fields=} are {@code null} here and are not serialized.
+ *
+ * @param specialization name of the doctor's specialization
+ */
+@JsonFilter(FieldSelection.FILTER)
+public record DoctorResponse(Long id, String name, String specialization, String licenseNumber, String email) {
+
+    /** Every field, in the order they are written. */
+    public static final List<String> FIELDS = List.of("id", "name", "specialization", "licenseNumber", "email");
+
+    public static DoctorResponse from(Doctor doctor) {
+        return new DoctorResponse(doctor.getId(), doctor.getName(), doctor.getSpecialization(),
+                doctor.getLicenseNumber(), doctor.getEmail());
+    }
+}
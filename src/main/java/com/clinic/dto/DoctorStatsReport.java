@@ -0,0 +1,24 @@
+package com.clinic.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Appointment totals and utilization for one doctor over a period.
+ *
+ * @param doctorId         doctor the totals belong to
+ * @param doctorName       doctor's display name
+ * @param from             first day of the period
+ * @param to               last day of the period (inclusive)
+ * @param booked           appointments of any status
+ * @param cancelled        cancelled appointments
+ * @param completed        completed appointments
+ * @param bookedMinutes    minutes of non-cancelled appointments
+ * @param availableMinutes minutes in the doctor's working-hours template, or
+ *                         {@code null} if the doctor has none
+ * @param cancellationRate {@code cancelled / booked}, 0 when nothing was booked
+ * @param utilization      {@code bookedMinutes / availableMinutes}, or {@code null}
+ */
+public record DoctorStatsReport(Long doctorId, String doctorName, LocalDate from, LocalDate to,
+                                long booked, long cancelled, long completed, long bookedMinutes,
+                                Long availableMinutes, double cancellationRate, Double utilization) {
+}
@@ -0,0 +1,27 @@
+package com.clinic.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param rowsRead        data rows read from the input, excluding the CSV header and blank lines
+ * @param imported        rows inserted
+ * @param rejected        rows that failed validation or duplicated an existing or earlier row
+ * @param durationMillis  wall-clock time of the whole import
+ * @param rowsPerSecond   {@code rowsRead} over the duration
+ * @param errors          the first {@code rejected} rows' errors, in input order
+ * @param errorsTruncated whether more rows were rejected than {@code errors} lists
+ */
+public record ImportReport(long rowsRead, long imported, long rejected, long durationMillis, double rowsPerSecond,
+                           List<RowError> errors, boolean errorsTruncated) {
+
+    /**
+     * Why one input row was rejected.
+     *
+     * @param line    line number in the input where the row starts
+     * @param message validation or duplicate message
+     */
+    public record RowError(long line, String message) {
+    }
+}
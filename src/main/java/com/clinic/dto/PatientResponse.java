@@ -0,0 +1,29 @@
+package com.clinic.dto;
+
+import java.util.List;
+
+import com.clinic.model.Patient;
+import com.clinic.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A patient as returned by the API.
+ *
+ * <p>Lists leave out {@code medicalHistory} unless it is asked for with
+ * {@code ?fields=}; a single patient includes every field.  Fields that
+ * were not selected are {@code null} here and are not serialized.
+ */
+@JsonFilter(FieldSelection.FILTER)
+public record PatientResponse(Long id, String name, String email, String phone, String medicalHistory) {
+
+    /** Every field, in the order they are written. */
+    public static final List<String> FIELDS = List.of("id", "name", "email", "phone", "medicalHistory");
+
+    /** Fields of list responses when {@code ?fields=} is not given. */
+    public static final List<String> LIST_FIELDS = List.of("id", "name", "email", "phone");
+
+    public static PatientResponse from(Patient patient) {
+        return new PatientResponse(patient.getId(), patient.getName(), patient.getEmail(), patient.getPhone(),
+                patient.getMedicalHistory());
+    }
+}
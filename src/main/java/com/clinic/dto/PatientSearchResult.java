@@ -0,0 +1,24 @@
+package com.clinic.dto;
+
+import java.util.List;
+
+/**
+ * One page of patient search results, best match first.
+ *
+ * @param query the query as given
+ * @param page  zero-based page number
+ * @param size  requested page size
+ * @param total number of patients matching the query
+ * @param hits  the patients on this page
+ */
+public record PatientSearchResult(String query, int page, int size, long total, List<Hit> hits) {
+
+    /**
+     * A matching patient.
+     *
+     * @param score share of the query's trigrams found in the patient's name,
+     *              email or phone, from 0 to 1
+     */
+    public record Hit(long id, String name, String email, String phone, double score) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.clinic.dto;
+
+/**
+ * Appointment totals for all doctors of one specialization over a period.
+ *
+ * @param specialization   specialization name
+ * @param booked           appointments of any status
+ * @param cancelled        cancelled appointments
+ * @param completed        completed appointments
+ * @param cancellationRate {@code cancelled / booked}, 0 when nothing was booked
+ */
+public record SpecializationStatsReport(String specialization, long booked, long cancelled, long completed,
+                                        double cancellationRate) {
+}
@@ -0,0 +1,30 @@
+package com.clinic.dto;
+
+import java.time.LocalDateTime;
+
+import com.clinic.model.TimeOff;
+import com.clinic.model.TimeOffType;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Leave or holiday period for a doctor, as sent and returned by the API.
+ *
+ * @param id        assigned by the server, ignored on create
+ * @param startDate first unavailable instant (inclusive)
+ * @param endDate   end of the period (exclusive)
+ * @param type      {@code LEAVE} when omitted
+ * @param reason    optional free text
+ */
+public record TimeOffDto(Long id,
+                         @NotNull(message = "Start date is required") LocalDateTime startDate,
+                         @NotNull(message = "End date is required") LocalDateTime endDate,
+                         TimeOffType type,
+                         @Size(max = 255, message = "Reason cannot exceed 255 characters") String reason) {
+
+    public static TimeOffDto from(TimeOff timeOff) {
+        return new TimeOffDto(timeOff.getId(), timeOff.getStartDate(), timeOff.getEndDate(),
+                timeOff.getType(), timeOff.getReason());
+    }
+}
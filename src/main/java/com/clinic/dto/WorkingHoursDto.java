@@ -0,0 +1,24 @@
+package com.clinic.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import com.clinic.model.WorkingHours;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One shift of a doctor's weekly template, as sent and returned by the API.
+ *
+ * @param dayOfWeek day the shift applies to
+ * @param startTime shift start (inclusive)
+ * @param endTime   shift end (exclusive), later than {@code startTime}
+ */
+public record WorkingHoursDto(@NotNull DayOfWeek dayOfWeek,
+                              @NotNull LocalTime startTime,
+                              @NotNull LocalTime endTime) {
+
+    public static WorkingHoursDto from(WorkingHours hours) {
+        return new WorkingHoursDto(hours.getDayOfWeek(), hours.getStartTime(), hours.getEndTime());
+    }
+}
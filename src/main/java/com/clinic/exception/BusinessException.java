@@ -2,9 +2,12 @@ package com.clinic.exception;
 
 /**
  * Exception used to indicate a business rule violation.
+ *
+ * <p>Rejections are an expected outcome (a taken slot, a duplicate email),
+ * so no stack trace is captured; the message is all the handler needs.
  */
 public class BusinessException extends RuntimeException {
     public BusinessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
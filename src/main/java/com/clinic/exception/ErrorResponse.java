@@ -0,0 +1,34 @@
+package com.clinic.exception;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * JSON body returned for every error.  Jackson writes the record
+ * components directly, so no intermediate map is built per response.
+ *
+ * @param timestamp when the error was produced
+ * @param status    HTTP status code
+ * @param error     HTTP reason phrase or error category
+ * @param message   human-readable description
+ * @param fields    per-field validation messages, omitted when absent
+ * @param alternativeSlots free start times offered instead of a taken one,
+ *                  omitted when absent
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(Instant timestamp, int status, String error, String message,
+                            Map<String, String> fields, List<LocalDateTime> alternativeSlots) {
+
+    public ErrorResponse(Instant timestamp, int status, String error, String message) {
+        this(timestamp, status, error, message, null, null);
+    }
+
+    public ErrorResponse(Instant timestamp, int status, String error, String message,
+                         Map<String, String> fields) {
+        this(timestamp, status, error, message, fields, null);
+    }
+}
@@ -1,71 +1,100 @@
 package com.clinic.exception;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.clinic.util.LogThrottle;
+
 /**
  * Global exception handler that converts exceptions into JSON error responses.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
-    private static final String TIMESTAMP = "timestamp";
-    private static final String STATUS = "status";
-    private static final String ERROR = "error";
-    private static final String MESSAGE = "message";
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final Clock clock;
+
+    // Booking rushes reject the same slot over and over; one line per message every 10s is enough.
+    private final LogThrottle businessLogThrottle = new LogThrottle(Duration.ofSeconds(10));
+
+    public GlobalExceptionHandler() {
+        this(Clock.systemUTC());
+    }
+
+    GlobalExceptionHandler(Clock clock) {
+        this.clock = clock;
+    }
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleNotFound(ResourceNotFoundException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put(TIMESTAMP, LocalDateTime.now());
-        body.put(STATUS, HttpStatus.NOT_FOUND.value());
-        body.put(ERROR, "Not Found");
-        body.put(MESSAGE, ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ErrorResponse> handleNotFound(ResourceNotFoundException ex) {
+        return respond(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage());
     }
 
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<Map<String, Object>> handleBusinessException(BusinessException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put(TIMESTAMP, LocalDateTime.now());
-        body.put(STATUS, HttpStatus.BAD_REQUEST.value());
-        body.put(ERROR, "Bad Request");
-        body.put(MESSAGE, ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
+        long suppressed = businessLogThrottle.tryAcquire(ex.getMessage());
+        if (suppressed >= 0) {
+            log.warn("Business rule violation: {} ({} similar suppressed)", ex.getMessage(), suppressed);
+        }
+        return respond(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+
+    /**
+     * The client reused an idempotency key for a different request, most
+     * likely a bug in its key generation; repeating it will not help.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return respond(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", ex.getMessage());
+    }
+
+    /**
+     * A lock wait timed out, typically on a doctor's row while other
+     * bookings for the same doctor queue ahead; the request can simply be
+     * repeated.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        log.warn("Lock contention: {}", ex.getMessage());
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(clock.instant(), status.value(), "Service Unavailable",
+                        "The resource is busy, please retry"));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put(TIMESTAMP, LocalDateTime.now());
-        body.put(STATUS, HttpStatus.BAD_REQUEST.value());
-        body.put(ERROR, "Validation Failed");
-        
+    public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
         // Extract field-level validation errors
         Map<String, String> fieldErrors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error ->
             fieldErrors.put(error.getField(), error.getDefaultMessage())
         );
-        
-        body.put("fields", fieldErrors);
-        body.put(MESSAGE, "Request validation failed with " + fieldErrors.size() + " error(s)");
-        
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+
+        ErrorResponse body = new ErrorResponse(clock.instant(), HttpStatus.BAD_REQUEST.value(), "Validation Failed",
+                "Request validation failed with " + fieldErrors.size() + " error(s)", fieldErrors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put(TIMESTAMP, LocalDateTime.now());
-        body.put(STATUS, HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put(ERROR, "Internal Server Error");
-        body.put(MESSAGE, ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
+    }
+
+    private ResponseEntity<ErrorResponse> respond(HttpStatus status, String error, String message) {
+        return ResponseEntity.status(status)
+                .body(new ErrorResponse(clock.instant(), status.value(), error, message));
     }
-}
\ No newline at end of file
+}
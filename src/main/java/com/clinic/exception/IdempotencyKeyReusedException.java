@@ -0,0 +1,12 @@
+package com.clinic.exception;
+
+/**
+ * Exception thrown when an {@code Idempotency-Key} comes back with a
+ * different request than the one it was first used with.  Like
+ * {@link BusinessException} it is stackless.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,10 +1,11 @@
 package com.clinic.exception;
 
 /**
- * Exception thrown when a requested resource cannot be found.
+ * Exception thrown when a requested resource cannot be found.  Like
+ * {@link BusinessException} it is stackless.
  */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.clinic.exception;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Identifies which named unique constraint a failed write violated, so the
+ * database can be the only duplicate check and its error still becomes a
+ * readable {@link BusinessException}.
+ */
+public final class UniqueConstraints {
+
+    private UniqueConstraints() {
+    }
+
+    /**
+     * Whether {@code ex} was caused by the constraint {@code name}.
+     *
+     * <p>Hibernate's extracted constraint name is used when present.  MySQL
+     * reports it as {@code table.name} and H2 as {@code NAME_INDEX_x}, so
+     * the comparison is a case-insensitive substring match.  The driver
+     * message is checked as a fallback.
+     */
+    public static boolean isViolated(DataIntegrityViolationException ex, String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException cve && cve.getConstraintName() != null
+                    && cve.getConstraintName().toLowerCase(Locale.ROOT).contains(needle)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(needle)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
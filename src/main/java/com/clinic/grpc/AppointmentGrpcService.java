@@ -0,0 +1,284 @@
+package com.clinic.grpc;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import com.clinic.dto.AppointmentRequest;
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.exception.BusinessException;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.grpc.v1.Appointment;
+import com.clinic.grpc.v1.AppointmentSchedulingGrpc;
+import com.clinic.grpc.v1.BatchCreateReply;
+import com.clinic.grpc.v1.BookingResult;
+import com.clinic.grpc.v1.Conflict;
+import com.clinic.grpc.v1.CreateAppointmentRequest;
+import com.clinic.grpc.v1.DoctorScheduleRequest;
+import com.clinic.grpc.v1.Failure;
+import com.clinic.grpc.v1.SchedulePage;
+import com.clinic.service.AppointmentService;
+import com.clinic.service.BookingLimiter;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * The {@code clinic.v1.AppointmentScheduling} gRPC service, a thin
+ * translation onto {@link AppointmentService} like the REST controllers.
+ * Requests are validated against the same constraints as
+ * {@link AppointmentRequest}, which the REST API leaves to the service.
+ *
+ * <p>Errors map to status codes as {@code GlobalExceptionHandler} maps them
+ * to HTTP ones: unknown patient or doctor to {@code NOT_FOUND}, invalid
+ * requests and business rules to {@code INVALID_ARGUMENT}, lock timeouts
+ * to {@code UNAVAILABLE}.
+ *
+ * <p>Bookings count against the {@link BookingLimiter}'s concurrency limit
+ * like public REST ones; one over it is {@code UNAVAILABLE}.  Callers are
+ * internal services, so there is no per-client rate.
+ */
+@Component
+public class AppointmentGrpcService extends AppointmentSchedulingGrpc.AppointmentSchedulingImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentGrpcService.class);
+    /**
+     * Appointments per streamed message.  One message each made the stream
+     * twice as slow as the REST list; see docs/PERFORMANCE.md.
+     */
+    static final int SCHEDULE_PAGE_SIZE = 100;
+
+    private final AppointmentService appointmentService;
+    private final BookingLimiter bookingLimiter;
+    private final Validator validator;
+
+    public AppointmentGrpcService(AppointmentService appointmentService, BookingLimiter bookingLimiter,
+                                  Validator validator) {
+        this.appointmentService = appointmentService;
+        this.bookingLimiter = bookingLimiter;
+        this.validator = validator;
+    }
+
+    @Override
+    public void createAppointment(CreateAppointmentRequest request, StreamObserver<BookingResult> responseObserver) {
+        BookingResult result;
+        try {
+            result = book(request);
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(result);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Sends the schedule in pages of {@link #SCHEDULE_PAGE_SIZE}, and only
+     * as fast as the client reads it: pages are written while the
+     * transport is ready and the rest wait for the next ready signal,
+     * instead of all being queued in the server's buffers.
+     */
+    @Override
+    public void streamDoctorSchedule(DoctorScheduleRequest request, StreamObserver<SchedulePage> responseObserver) {
+        Iterator<AppointmentResponse> remaining;
+        try {
+            LocalDateTime from = parseOptional(request.getFrom(), "from");
+            LocalDateTime to = parseOptional(request.getTo(), "to");
+            remaining = appointmentService.getAppointmentsByDoctor(request.getDoctorId()).stream()
+                    .filter(appointment -> from == null || !appointment.getAppointmentDate().isBefore(from))
+                    .filter(appointment -> to == null || appointment.getAppointmentDate().isBefore(to))
+                    .iterator();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex).asRuntimeException());
+            return;
+        }
+
+        ServerCallStreamObserver<SchedulePage> call = (ServerCallStreamObserver<SchedulePage>) responseObserver;
+        call.setOnCancelHandler(() -> log.debug("Schedule stream for doctor {} cancelled", request.getDoctorId()));
+        call.setOnReadyHandler(new Runnable() {
+            private boolean completed;
+
+            @Override
+            public void run() {
+                while (!completed && call.isReady() && remaining.hasNext()) {
+                    SchedulePage.Builder page = SchedulePage.newBuilder();
+                    while (page.getAppointmentsCount() < SCHEDULE_PAGE_SIZE && remaining.hasNext()) {
+                        page.addAppointments(toMessage(remaining.next()));
+                    }
+                    call.onNext(page.build());
+                }
+                if (!completed && !remaining.hasNext() && !call.isCancelled()) {
+                    completed = true;
+                    call.onCompleted();
+                }
+            }
+        });
+    }
+
+    /**
+     * Books each request as it arrives, in its own transaction, so a long
+     * batch neither holds locks nor loses its earlier bookings when a later
+     * one fails.
+     */
+    @Override
+    public StreamObserver<CreateAppointmentRequest> batchCreateAppointments(
+            StreamObserver<BatchCreateReply> responseObserver) {
+        BatchCreateReply.Builder reply = BatchCreateReply.newBuilder();
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(CreateAppointmentRequest request) {
+                BookingResult result;
+                try {
+                    result = book(request);
+                } catch (RuntimeException ex) {
+                    Status status = toStatus(ex);
+                    result = BookingResult.newBuilder()
+                            .setFailure(Failure.newBuilder()
+                                    .setCode(status.getCode().name())
+                                    .setMessage(String.valueOf(status.getDescription())))
+                            .build();
+                }
+                switch (result.getResultCase()) {
+                    case APPOINTMENT -> reply.setBooked(reply.getBooked() + 1);
+                    case CONFLICT -> reply.setConflicts(reply.getConflicts() + 1);
+                    default -> reply.setFailed(reply.getFailed() + 1);
+                }
+                reply.addResults(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("Batch booking aborted by the client after {} requests: {}",
+                        reply.getResultsCount(), t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onNext(reply.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private BookingResult book(CreateAppointmentRequest message) {
+        AppointmentRequest request = toRequest(message);
+        if (!bookingLimiter.tryAcquire(false)) {
+            throw Status.UNAVAILABLE.withDescription("Too many bookings in progress, please retry")
+                    .asRuntimeException();
+        }
+        com.clinic.service.BookingResult booked;
+        try {
+            booked = appointmentService.bookAppointment(request);
+        } finally {
+            bookingLimiter.release();
+        }
+        return switch (booked) {
+            case com.clinic.service.BookingResult.Accepted accepted -> BookingResult.newBuilder()
+                    .setAppointment(toMessage(accepted.appointment()))
+                    .build();
+            case com.clinic.service.BookingResult.Conflict conflict -> BookingResult.newBuilder()
+                    .setConflict(Conflict.newBuilder()
+                            .setMessage(conflict.message())
+                            .addAllAlternativeSlots(conflict.alternativeSlots().stream()
+                                    .map(AppointmentGrpcService::format)
+                                    .toList()))
+                    .build();
+        };
+    }
+
+    /** Proto3 has no null: zero ids and durations and empty strings are unset. */
+    private AppointmentRequest toRequest(CreateAppointmentRequest message) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientId(message.getPatientId() != 0 ? message.getPatientId() : null);
+        request.setDoctorId(message.getDoctorId() != 0 ? message.getDoctorId() : null);
+        request.setAppointmentDate(parseOptional(message.getAppointmentDate(), "appointment_date"));
+        request.setDurationMinutes(message.getDurationMinutes() != 0 ? message.getDurationMinutes() : null);
+        request.setNotes(message.getNotes().isEmpty() ? null : message.getNotes());
+
+        Set<ConstraintViolation<AppointmentRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String description = violations.stream()
+                    .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; "));
+            throw Status.INVALID_ARGUMENT.withDescription(description).asRuntimeException();
+        }
+        return request;
+    }
+
+    private static LocalDateTime parseOptional(String value, String field) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription(field + ": not an ISO-8601 local date-time: " + value)
+                    .asRuntimeException();
+        }
+    }
+
+    private static Appointment toMessage(AppointmentResponse response) {
+        Appointment.Builder message = Appointment.newBuilder().setId(response.getId());
+        if (response.getDurationMinutes() != null) {
+            message.setDurationMinutes(response.getDurationMinutes());
+        }
+        if (response.getPatientName() != null) {
+            message.setPatientName(response.getPatientName());
+        }
+        if (response.getDoctorName() != null) {
+            message.setDoctorName(response.getDoctorName());
+        }
+        if (response.getAppointmentDate() != null) {
+            message.setAppointmentDate(format(response.getAppointmentDate()));
+        }
+        if (response.getEndDate() != null) {
+            message.setEndDate(format(response.getEndDate()));
+        }
+        if (response.getNotes() != null) {
+            message.setNotes(response.getNotes());
+        }
+        if (response.getStatus() != null) {
+            message.setStatus(response.getStatus().name());
+        }
+        if (response.getCreatedAt() != null) {
+            message.setCreatedAt(format(response.getCreatedAt()));
+        }
+        return message.build();
+    }
+
+    /** Seconds always included, as Jackson writes them in the REST API. */
+    private static String format(LocalDateTime dateTime) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    }
+
+    private static Status toStatus(RuntimeException ex) {
+        return switch (ex) {
+            case StatusRuntimeException status -> status.getStatus();
+            case ResourceNotFoundException notFound -> Status.NOT_FOUND.withDescription(notFound.getMessage());
+            case BusinessException business -> Status.INVALID_ARGUMENT.withDescription(business.getMessage());
+            case ConcurrencyFailureException busy -> {
+                log.warn("Lock contention: {}", busy.getMessage());
+                yield Status.UNAVAILABLE.withDescription("The resource is busy, please retry");
+            }
+            default -> {
+                log.error("gRPC booking call failed", ex);
+                yield Status.INTERNAL.withDescription(ex.getMessage());
+            }
+        };
+    }
+}
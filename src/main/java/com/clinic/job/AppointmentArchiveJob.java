@@ -0,0 +1,67 @@
+package com.clinic.job;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.repository.JobLockRepository;
+import com.clinic.service.AppointmentArchiveService;
+
+/**
+ * Runs {@link AppointmentArchiveService#archive()} every night, by default
+ * at 03:30; set {@code clinic.archive.cron} to change it or
+ * {@code clinic.archive.enabled=false} to turn it off.
+ *
+ * <p>Every instance schedules the job, but only the one that takes the
+ * {@value #LOCK} lease runs it; the others skip that night's run.
+ */
+@Component
+@ConditionalOnProperty(name = "clinic.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class AppointmentArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentArchiveJob.class);
+
+    static final String LOCK = "appointment-archive";
+    /** Longer than a run should take; if the holder dies, the lease frees itself after this. */
+    static final Duration LOCK_DURATION = Duration.ofHours(1);
+
+    private final AppointmentArchiveService archiveService;
+    private final JobLockRepository jobLocks;
+    private final Clock clock;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    @Autowired
+    public AppointmentArchiveJob(AppointmentArchiveService archiveService, JobLockRepository jobLocks) {
+        this(archiveService, jobLocks, Clock.systemUTC());
+    }
+
+    AppointmentArchiveJob(AppointmentArchiveService archiveService, JobLockRepository jobLocks, Clock clock) {
+        this.archiveService = archiveService;
+        this.jobLocks = jobLocks;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${clinic.archive.cron:0 30 3 * * *}")
+    public void run() {
+        if (!jobLocks.tryLock(LOCK, owner, clock.instant(), LOCK_DURATION)) {
+            log.info("Skipping appointment archiving; another instance is running it");
+            return;
+        }
+        try {
+            archiveService.archive();
+        } catch (RuntimeException ex) {
+            // Chunks already moved stay moved; the next run carries on.
+            log.error("Archiving appointments failed", ex);
+        } finally {
+            jobLocks.unlock(LOCK, owner, clock.instant());
+        }
+    }
+}
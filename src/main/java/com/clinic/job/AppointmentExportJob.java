@@ -0,0 +1,165 @@
+package com.clinic.job;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.clinic.service.AppointmentExportService;
+import com.clinic.service.AppointmentExportService.Cursor;
+import com.clinic.service.AppointmentExportService.Result;
+
+/**
+ * Command-line export of appointment history, one file per month.
+ *
+ * <p>Enabled by the {@code export} profile, for example:
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=export \
+ *     --clinic.export.from=2024-01 --clinic.export.to=2024-12 --clinic.export.dir=/exports
+ * </pre>
+ *
+ * <p>Each month is written in chunks of {@code clinic.export.chunk-rows}.
+ * After every chunk the file is flushed and a {@code .offset} checkpoint
+ * records the last row and the file length.  A rerun skips finished
+ * months, truncates a partial month back to its checkpoint and carries on
+ * from there.  A month is complete once its file exists and its
+ * checkpoint has been removed.  With gzip every chunk is a separate gzip member, which
+ * standard tools decompress as one stream.
+ */
+@Component
+@ConditionalOnProperty(name = "clinic.export.enabled", havingValue = "true")
+public class AppointmentExportJob implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentExportJob.class);
+
+    private final AppointmentExportService exportService;
+    private final Path directory;
+    private final YearMonth from;
+    private final YearMonth to;
+    private final boolean gzip;
+    private final int chunkRows;
+
+    public AppointmentExportJob(AppointmentExportService exportService,
+                                @Value("${clinic.export.dir:exports}") Path directory,
+                                @Value("${clinic.export.from}") YearMonth from,
+                                @Value("${clinic.export.to:${clinic.export.from}}") YearMonth to,
+                                @Value("${clinic.export.gzip:true}") boolean gzip,
+                                @Value("${clinic.export.chunk-rows:50000}") int chunkRows) {
+        this.exportService = exportService;
+        this.directory = directory;
+        this.from = from;
+        this.to = to;
+        this.gzip = gzip;
+        this.chunkRows = chunkRows;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Files.createDirectories(directory);
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            exportMonth(month);
+        }
+    }
+
+    /**
+     * Export one month, resuming from its checkpoint if there is one.
+     *
+     * @return rows written by this call
+     */
+    long exportMonth(YearMonth month) throws IOException {
+        Path file = directory.resolve("appointments-" + month + (gzip ? ".csv.gz" : ".csv"));
+        Path offsetFile = directory.resolve("appointments-" + month + ".offset");
+
+        Checkpoint checkpoint;
+        if (Files.exists(offsetFile)) {
+            checkpoint = Checkpoint.read(offsetFile);
+            log.info("Resuming {} after id {} ({} rows already written)", file, checkpoint.id(), checkpoint.rows());
+        } else if (Files.exists(file)) {
+            log.info("Skipping {}: already complete", file);
+            return 0;
+        } else {
+            checkpoint = new Checkpoint(null, 0, 0, 0);
+            checkpoint.write(offsetFile);
+        }
+
+        long written = 0;
+        long total = checkpoint.rows();
+        while (true) {
+            Cursor after = checkpoint.date() != null ? new Cursor(checkpoint.date(), checkpoint.id()) : null;
+            Result result;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(checkpoint.bytes());
+                channel.position(checkpoint.bytes());
+                OutputStream out = Channels.newOutputStream(channel);
+                if (gzip) {
+                    out = new GZIPOutputStream(out, 64 * 1024);
+                }
+                try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                    result = exportService.exportCsv(month.atDay(1), month.atEndOfMonth(), after, chunkRows,
+                            checkpoint.bytes() == 0, writer);
+                }
+            }
+            written += result.rows();
+            total += result.rows();
+            if (result.rows() < chunkRows) {
+                break;
+            }
+            checkpoint = new Checkpoint(result.last().appointmentDate(), result.last().id(), total, Files.size(file));
+            checkpoint.write(offsetFile);
+        }
+        Files.deleteIfExists(offsetFile);
+        log.info("Exported {} rows to {}", total, file);
+        return written;
+    }
+
+    /** Last row and file length after the most recent complete chunk. */
+    record Checkpoint(LocalDateTime date, long id, long rows, long bytes) {
+
+        static Checkpoint read(Path path) throws IOException {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+            String date = properties.getProperty("appointmentDate");
+            return new Checkpoint(date != null ? LocalDateTime.parse(date) : null,
+                    Long.parseLong(properties.getProperty("id")),
+                    Long.parseLong(properties.getProperty("rows")),
+                    Long.parseLong(properties.getProperty("bytes")));
+        }
+
+        void write(Path path) throws IOException {
+            Properties properties = new Properties();
+            if (date != null) {
+                properties.setProperty("appointmentDate", date.toString());
+            }
+            properties.setProperty("id", Long.toString(id));
+            properties.setProperty("rows", Long.toString(rows));
+            properties.setProperty("bytes", Long.toString(bytes));
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.clinic.job;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.clinic.dto.ImportReport;
+import com.clinic.service.BulkImportService;
+import com.clinic.service.ImportFormat;
+
+/**
+ * Command-line bulk import of doctors and patients.
+ *
+ * <p>Enabled by the {@code import} profile, for example:
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=import \
+ *     --clinic.import.doctors=doctors.csv --clinic.import.patients=patients.ndjson.gz
+ * </pre>
+ * The format comes from the file extension ({@code .csv}, {@code .ndjson}
+ * or {@code .jsonl}, each optionally followed by {@code .gz}).  The report
+ * is logged, including up to the first 1000 rejected rows.
+ */
+@Component
+@ConditionalOnProperty(name = "clinic.import.enabled", havingValue = "true")
+public class BulkImportJob implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportJob.class);
+
+    private final BulkImportService importService;
+    private final Path doctors;
+    private final Path patients;
+
+    public BulkImportJob(BulkImportService importService,
+                         @Value("${clinic.import.doctors:#{null}}") Path doctors,
+                         @Value("${clinic.import.patients:#{null}}") Path patients) {
+        this.importService = importService;
+        this.doctors = doctors;
+        this.patients = patients;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (doctors != null) {
+            report(doctors, importFile(doctors, false));
+        }
+        if (patients != null) {
+            report(patients, importFile(patients, true));
+        }
+    }
+
+    ImportReport importFile(Path file, boolean isPatients) throws IOException {
+        ImportFormat format = ImportFormat.fromFileName(file.getFileName().toString());
+        try (InputStream in = open(file)) {
+            return isPatients ? importService.importPatients(in, format) : importService.importDoctors(in, format);
+        }
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        return file.getFileName().toString().toLowerCase().endsWith(".gz") ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    private static void report(Path file, ImportReport report) {
+        log.info("{}: {} rows read, {} imported, {} rejected in {} ms ({} rows/s)", file, report.rowsRead(),
+                report.imported(), report.rejected(), report.durationMillis(), Math.round(report.rowsPerSecond()));
+        for (ImportReport.RowError error : report.errors()) {
+            log.warn("{}:{}: {}", file, error.line(), error.message());
+        }
+        if (report.errorsTruncated()) {
+            log.warn("{}: only the first {} of {} rejected rows are listed", file, report.errors().size(),
+                    report.rejected());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.clinic.job;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.repository.JobLockRepository;
+import com.clinic.service.IdempotencyService;
+
+/**
+ * Deletes expired idempotency keys every hour, by default at a quarter
+ * past; set {@code clinic.idempotency.purge-cron} to change it.  Keys are
+ * deleted {@value #CHUNK_SIZE} at a time, so no statement holds locks for
+ * long.
+ *
+ * <p>Every instance schedules the job, but only the one that takes the
+ * {@value #LOCK} lease runs it.  Only the server schedules it; the
+ * export, import and generate runs would otherwise never exit.
+ */
+@Component
+@ConditionalOnWebApplication
+public class IdempotencyKeyPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyKeyPurgeJob.class);
+
+    static final String LOCK = "idempotency-key-purge";
+    static final Duration LOCK_DURATION = Duration.ofMinutes(30);
+    static final int CHUNK_SIZE = 1000;
+
+    private final IdempotencyService idempotencyService;
+    private final JobLockRepository jobLocks;
+    private final Clock clock;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    @Autowired
+    public IdempotencyKeyPurgeJob(IdempotencyService idempotencyService, JobLockRepository jobLocks) {
+        this(idempotencyService, jobLocks, Clock.systemUTC());
+    }
+
+    IdempotencyKeyPurgeJob(IdempotencyService idempotencyService, JobLockRepository jobLocks, Clock clock) {
+        this.idempotencyService = idempotencyService;
+        this.jobLocks = jobLocks;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${clinic.idempotency.purge-cron:0 15 * * * *}")
+    public void run() {
+        if (!jobLocks.tryLock(LOCK, owner, clock.instant(), LOCK_DURATION)) {
+            return;
+        }
+        try {
+            long total = 0;
+            int deleted;
+            do {
+                deleted = idempotencyService.purgeExpired(CHUNK_SIZE);
+                total += deleted;
+            } while (deleted == CHUNK_SIZE);
+            if (total > 0) {
+                log.info("Deleted {} expired idempotency keys", total);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Deleting expired idempotency keys failed", ex);
+        } finally {
+            jobLocks.unlock(LOCK, owner, clock.instant());
+        }
+    }
+}
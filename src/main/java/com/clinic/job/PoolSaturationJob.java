@@ -0,0 +1,30 @@
+package com.clinic.job;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.datasource.PoolSaturationMonitor;
+
+/**
+ * Samples the connection pools every
+ * {@code clinic.datasource.pool.check-ms} (1000); see
+ * {@link PoolSaturationMonitor}.  Only the server samples them: the
+ * export, import and generate runs have no web application, and a
+ * scheduled job would keep them from exiting.
+ */
+@Component
+@ConditionalOnWebApplication
+public class PoolSaturationJob {
+
+    private final PoolSaturationMonitor monitor;
+
+    public PoolSaturationJob(PoolSaturationMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Scheduled(fixedDelayString = "${clinic.datasource.pool.check-ms:1000}")
+    public void run() {
+        monitor.check();
+    }
+}
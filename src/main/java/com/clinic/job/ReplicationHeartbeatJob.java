@@ -0,0 +1,33 @@
+package com.clinic.job;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.datasource.ReplicaSet;
+
+/**
+ * Measures replica lag and writes the next heartbeat every
+ * {@code clinic.datasource.replica.heartbeat-ms} (1000); see
+ * {@link ReplicaSet#heartbeat()}.  Runs only when replicas are configured,
+ * and only in the server: the export, import and generate runs would
+ * otherwise never exit.  Without heartbeats no replica is ever measured
+ * as fresh, so those runs read from the primary.
+ */
+@Component
+@ConditionalOnProperty("clinic.datasource.replica.urls")
+@ConditionalOnWebApplication
+public class ReplicationHeartbeatJob {
+
+    private final ReplicaSet replicaSet;
+
+    public ReplicationHeartbeatJob(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Scheduled(fixedDelayString = "${clinic.datasource.replica.heartbeat-ms:1000}")
+    public void run() {
+        replicaSet.heartbeat();
+    }
+}
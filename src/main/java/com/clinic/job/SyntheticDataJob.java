@@ -0,0 +1,377 @@
+package com.clinic.job;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.clinic.model.AppointmentStatus;
+import com.clinic.service.AppointmentStatsService;
+
+/**
+ * Fills the database with synthetic patients, doctors and appointments for
+ * performance testing.
+ *
+ * <p>Enabled by the {@code generate} profile, for example:
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=generate \
+ *     --clinic.generate.patients=1000000 --clinic.generate.appointments=5000000
+ * </pre>
+ *
+ * <p>The data is skewed the way real bookings are. Doctor popularity
+ * follows a Zipf distribution, and a few patients visit far more often
+ * than the rest. Bookings cluster on mid-morning and mid-afternoon
+ * slots, and on Mondays. The random seed is fixed, so a run is
+ * reproducible. No doctor is ever double-booked.
+ *
+ * <p>Rows are written with multi-row {@code INSERT ... VALUES (...), (...)}
+ * statements of {@code clinic.generate.batch-rows} rows each. Ids
+ * continue from the current maximum, so the generator can be run against
+ * a database that already holds data.
+ */
+@Component
+@ConditionalOnProperty(name = "clinic.generate.enabled", havingValue = "true")
+public class SyntheticDataJob implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataJob.class);
+
+    static final LocalTime FIRST_SLOT = LocalTime.of(8, 0);
+    static final int SLOT_MINUTES = 30;
+
+    /** Relative demand for each half-hour slot from 08:00 to 18:00. */
+    static final double[] SLOT_WEIGHTS = {
+            2, 4, 8, 9, 10, 9, 7, 5, 2, 2, 4, 6, 8, 9, 8, 6, 4, 3, 2, 1
+    };
+
+    /** Relative demand for Monday through Sunday. */
+    static final double[] DAY_WEIGHTS = {10, 8, 8, 7, 6, 2, 0};
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Sandra", "Paul", "Ashley"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson"
+    };
+    private static final String[] SPECIALIZATIONS = {
+            "General Practice", "Pediatrics", "Dermatology", "Cardiology", "Orthopedics", "Gynecology",
+            "Ophthalmology", "ENT", "Psychiatry", "Neurology", "Endocrinology", "Oncology"
+    };
+    private static final double[] SPECIALIZATION_WEIGHTS = {30, 15, 10, 8, 8, 7, 6, 5, 4, 3, 2, 2};
+    private static final String[] MEDICAL_HISTORY = {
+            null, null, null, "No known allergies", "Asthma", "Diabetic", "High blood pressure",
+            "Penicillin allergy", "High cholesterol", "Migraine prone"
+    };
+    private static final String[] NOTES = {
+            null, "Checkup", "Follow-up", "Consultation", "Test results", "Prescription renewal", "Vaccination"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppointmentStatsService statsService;
+    private final int patients;
+    private final int doctors;
+    private final int appointments;
+    private final LocalDate firstDay;
+    private final int days;
+    private final long seed;
+    private final int batchRows;
+
+    public SyntheticDataJob(JdbcTemplate jdbcTemplate, AppointmentStatsService statsService,
+                            @Value("${clinic.generate.patients:100000}") int patients,
+                            @Value("${clinic.generate.doctors:500}") int doctors,
+                            @Value("${clinic.generate.appointments:1000000}") int appointments,
+                            @Value("${clinic.generate.first-day:#{T(java.time.LocalDate).now().minusYears(1)}}")
+                            LocalDate firstDay,
+                            @Value("${clinic.generate.days:545}") int days,
+                            @Value("${clinic.generate.seed:42}") long seed,
+                            @Value("${clinic.generate.batch-rows:1000}") int batchRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statsService = statsService;
+        this.patients = patients;
+        this.doctors = doctors;
+        this.appointments = appointments;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.seed = seed;
+        this.batchRows = batchRows;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+        int rows = statsService.rebuild(firstDay, firstDay.plusDays(days - 1L));
+        log.info("Rebuilt {} daily rollup rows", rows);
+    }
+
+    void generate() {
+        long capacity = (long) doctors * days * SLOT_WEIGHTS.length;
+        if (appointments > capacity / 2) {
+            throw new IllegalArgumentException("Too many appointments (" + appointments + ") for " + doctors
+                    + " doctors over " + days + " days; at most " + capacity / 2 + " fit");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long patientBase = maxId("patients");
+        long doctorBase = maxId("doctors");
+        long appointmentBase = maxId("appointments");
+
+        insertPatients(random, patientBase);
+        insertDoctors(random, doctorBase);
+        insertAppointments(random, patientBase, doctorBase, appointmentBase);
+    }
+
+    private void insertPatients(SplittableRandom random, long base) {
+        try (BatchInserter insert = new BatchInserter("patients", "id, name, email, phone, medical_history", 5)) {
+            for (long id = base + 1; id <= base + patients; id++) {
+                String first = pick(random, FIRST_NAMES);
+                String last = pick(random, LAST_NAMES);
+                insert.add(id, first + " " + last,
+                        (first + "." + last + "." + id + "@example.com").toLowerCase(),
+                        String.valueOf(2_000_000_000L + id),
+                        pick(random, MEDICAL_HISTORY));
+            }
+        }
+    }
+
+    private void insertDoctors(SplittableRandom random, long base) {
+        double[] specializationCdf = cumulative(SPECIALIZATION_WEIGHTS);
+        long[] specializationIds = specializationIds();
+        try (BatchInserter insert = new BatchInserter("doctors", "id, name, specialization_id, license_number, email", 5)) {
+            for (long id = base + 1; id <= base + doctors; id++) {
+                String first = pick(random, FIRST_NAMES);
+                String last = pick(random, LAST_NAMES);
+                insert.add(id, "Dr. " + first + " " + last,
+                        specializationIds[sample(random, specializationCdf)],
+                        "GEN" + id,
+                        (first + "." + last + "." + id + "@clinic.example.com").toLowerCase());
+            }
+        }
+    }
+
+    /** Ids of {@link #SPECIALIZATIONS}, inserting the ones not there yet. */
+    private long[] specializationIds() {
+        long[] ids = new long[SPECIALIZATIONS.length];
+        for (int i = 0; i < SPECIALIZATIONS.length; i++) {
+            String sql = "SELECT id FROM specializations WHERE LOWER(name) = LOWER(?)";
+            List<Long> found = jdbcTemplate.queryForList(sql, Long.class, SPECIALIZATIONS[i]);
+            if (found.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO specializations (name) VALUES (?)", SPECIALIZATIONS[i]);
+                found = jdbcTemplate.queryForList(sql, Long.class, SPECIALIZATIONS[i]);
+            }
+            ids[i] = found.get(0);
+        }
+        return ids;
+    }
+
+    private void insertAppointments(SplittableRandom random, long patientBase, long doctorBase, long base) {
+        double[] doctorCdf = cumulative(zipfWeights(doctors, 1.07));
+        double[] patientCdf = cumulative(zipfWeights(patients, 0.6));
+        double[] slotCdf = cumulative(SLOT_WEIGHTS);
+        double[] dayCdf = cumulative(dayWeights());
+        int slotsPerDay = SLOT_WEIGHTS.length;
+        BitSet[] booked = new BitSet[doctors];
+        for (int i = 0; i < doctors; i++) {
+            booked[i] = new BitSet(days * slotsPerDay);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        try (BatchInserter insert = new BatchInserter("appointments",
+                "id, patient_id, doctor_id, appointment_date, duration_minutes, appointment_end, notes, status, "
+                        + "created_at, updated_at", 10)) {
+            for (long id = base + 1; id <= base + appointments; id++) {
+                int length = random.nextInt(100) < 15 ? 2 : 1;
+                int doctor = -1;
+                int slot = -1;
+                for (int attempt = 0; attempt < 32 && doctor < 0; attempt++) {
+                    int d = sample(random, doctorCdf);
+                    int s = sample(random, dayCdf) * slotsPerDay + sample(random, slotCdf);
+                    if (fits(booked[d], s, length, slotsPerDay)) {
+                        doctor = d;
+                        slot = s;
+                    }
+                }
+                while (doctor < 0) {
+                    int d = random.nextInt(doctors);
+                    int s = booked[d].nextClearBit(random.nextInt(days * slotsPerDay));
+                    if (s < days * slotsPerDay && fits(booked[d], s, length, slotsPerDay)) {
+                        doctor = d;
+                        slot = s;
+                    }
+                }
+                booked[doctor].set(slot, slot + length);
+
+                LocalDateTime start = firstDay.plusDays(slot / slotsPerDay)
+                        .atTime(FIRST_SLOT.plusMinutes((long) (slot % slotsPerDay) * SLOT_MINUTES));
+                int minutes = length * SLOT_MINUTES;
+                LocalDateTime created = start.minusDays(1 + random.nextInt(30)).minusMinutes(random.nextInt(600));
+                if (created.isAfter(now)) {
+                    created = now.minusMinutes(random.nextInt(600));
+                }
+                insert.add(id,
+                        patientBase + 1 + sample(random, patientCdf),
+                        doctorBase + 1 + doctor,
+                        Timestamp.valueOf(start),
+                        minutes,
+                        Timestamp.valueOf(start.plusMinutes(minutes)),
+                        pick(random, NOTES),
+                        status(random, start.isBefore(now)).name(),
+                        Timestamp.valueOf(created),
+                        Timestamp.valueOf(created));
+            }
+        }
+    }
+
+    private static boolean fits(BitSet booked, int slot, int length, int slotsPerDay) {
+        if (slot % slotsPerDay + length > slotsPerDay) {
+            return false;
+        }
+        int next = booked.nextSetBit(slot);
+        return next < 0 || next >= slot + length;
+    }
+
+    private static AppointmentStatus status(SplittableRandom random, boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 86 ? AppointmentStatus.COMPLETED : AppointmentStatus.CANCELLED;
+        }
+        return roll < 60 ? AppointmentStatus.SCHEDULED
+                : roll < 90 ? AppointmentStatus.CONFIRMED : AppointmentStatus.CANCELLED;
+    }
+
+    /** Day weights for every day of the range, following {@link #DAY_WEIGHTS}. */
+    private double[] dayWeights() {
+        double[] weights = new double[days];
+        for (int i = 0; i < days; i++) {
+            DayOfWeek day = firstDay.plusDays(i).getDayOfWeek();
+            weights[i] = DAY_WEIGHTS[day.getValue() - 1];
+        }
+        return weights;
+    }
+
+    /** Weight {@code 1 / rank^exponent} for ranks 1..n. */
+    static double[] zipfWeights(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1 / Math.pow(i + 1, exponent);
+        }
+        return weights;
+    }
+
+    static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    /** Index drawn with the probabilities described by {@code cdf}. */
+    static int sample(SplittableRandom random, double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cdf.length - 1);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    /**
+     * Buffers rows and writes them {@code batchRows} at a time as one
+     * multi-row {@code INSERT}.
+     */
+    private final class BatchInserter implements AutoCloseable {
+
+        private final String table;
+        private final String fullBatchSql;
+        private final String columns;
+        private final int columnCount;
+        private final List<Object[]> rows = new ArrayList<>(batchRows);
+        private final long started = System.nanoTime();
+        private long written;
+
+        BatchInserter(String table, String columns, int columnCount) {
+            this.table = table;
+            this.columns = columns;
+            this.columnCount = columnCount;
+            this.fullBatchSql = sql(batchRows);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == batchRows) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            String sql = rows.size() == batchRows ? fullBatchSql : sql(rows.size());
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                int index = 1;
+                for (Object[] row : rows) {
+                    for (Object value : row) {
+                        ps.setObject(index++, value);
+                    }
+                }
+                return ps;
+            });
+            written += rows.size();
+            rows.clear();
+            if (written % (batchRows * 100L) == 0) {
+                logProgress();
+            }
+        }
+
+        private String sql(int rowCount) {
+            String placeholders = "(" + "?, ".repeat(columnCount - 1) + "?)";
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(columns).append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                sql.append(i == 0 ? "" : ", ").append(placeholders);
+            }
+            return sql.toString();
+        }
+
+        private void logProgress() {
+            double seconds = (System.nanoTime() - started) / 1e9;
+            log.info("{}: {} rows, {} rows/s", table, written, Math.round(written / Math.max(seconds, 1e-3)));
+        }
+
+        @Override
+        public void close() {
+            flush();
+            logProgress();
+        }
+    }
+}
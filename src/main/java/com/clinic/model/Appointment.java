@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -23,11 +24,28 @@ import jakarta.validation.constraints.Size;
 
 /**
  * Entity representing an appointment between a patient and a doctor.
+ *
+ * <p>The end time is stored alongside the start so that overlap checks are
+ * a single range predicate ({@code start < :end AND end > :start}) on the
+ * {@code (doctor_id, appointment_date, appointment_end)} index.
+ *
+ * <p>Rows booked before durations were stored have neither a duration nor
+ * an end.  They are read as {@value #DEFAULT_DURATION_MINUTES}-minute
+ * appointments, here and in the overlap query, so no profile depends on
+ * a backfill having run.
  */
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_doctor_interval", columnList = "doctor_id, appointment_date, appointment_end"),
+        @Index(name = "idx_appointments_date", columnList = "appointment_date, id"),
+        @Index(name = "idx_appointments_patient", columnList = "patient_id")
+})
 public class Appointment {
 
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+    public static final int MIN_DURATION_MINUTES = 5;
+    public static final int MAX_DURATION_MINUTES = 480;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,6 +65,12 @@ public class Appointment {
     @Column(name = "appointment_date")
     private LocalDateTime appointmentDate;
 
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes = DEFAULT_DURATION_MINUTES;
+
+    @Column(name = "appointment_end")
+    private LocalDateTime endDate;
+
     @Size(max = 500, message = "Notes cannot exceed 500 characters")
     private String notes;
 
@@ -69,6 +93,7 @@ public class Appointment {
         this.appointmentDate = appointmentDate;
         this.notes = notes;
         this.status = AppointmentStatus.SCHEDULED;
+        updateEndDate();
     }
 
     public Long getId() {
@@ -101,6 +126,23 @@ public class Appointment {
 
     public void setAppointmentDate(LocalDateTime appointmentDate) {
         this.appointmentDate = appointmentDate;
+        updateEndDate();
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+        updateEndDate();
+    }
+
+    public LocalDateTime getEndDate() {
+        if (endDate == null && appointmentDate != null) {
+            return appointmentDate.plusMinutes(getDurationMinutes());
+        }
+        return endDate;
     }
 
     public String getNotes() {
@@ -135,6 +177,11 @@ public class Appointment {
         this.updatedAt = updatedAt;
     }
 
+    private void updateEndDate() {
+        endDate = appointmentDate == null || durationMinutes == null
+                ? null : appointmentDate.plusMinutes(durationMinutes);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,102 @@
+package com.clinic.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Per-doctor, per-day appointment counters.  Maintained incrementally as
+ * appointments are booked, change status or are deleted, so reports read
+ * one row per doctor and day instead of scanning {@code appointments}.
+ */
+@Entity
+@Table(name = "daily_doctor_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_doctor_stats", columnNames = {"doctor_id", "stat_date"})
+})
+public class DailyDoctorStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    /** Appointments starting that day, whatever their status. */
+    @Column(name = "booked", nullable = false)
+    private long booked;
+
+    @Column(name = "cancelled", nullable = false)
+    private long cancelled;
+
+    @Column(name = "completed", nullable = false)
+    private long completed;
+
+    /** Minutes of non-cancelled appointments. */
+    @Column(name = "booked_minutes", nullable = false)
+    private long bookedMinutes;
+
+    public DailyDoctorStats() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public long getBooked() {
+        return booked;
+    }
+
+    public void setBooked(long booked) {
+        this.booked = booked;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(long cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public void setBookedMinutes(long bookedMinutes) {
+        this.bookedMinutes = bookedMinutes;
+    }
+}
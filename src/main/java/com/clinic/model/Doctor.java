@@ -4,24 +4,33 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 /**
  * Entity representing a doctor working at the clinic.
+ *
+ * <p>The specialization is a reference to the {@code specializations}
+ * table but reads and writes as its name, so the JSON shape is a plain
+ * string.  A name set through {@link #setSpecialization(String)} is only
+ * linked to a row when {@code DoctorService} resolves it.
  */
 @Entity
-@Table(name = "doctors")
+@Table(name = "doctors", indexes =
+        @Index(name = "idx_doctors_specialization", columnList = "specialization_id"))
 public class Doctor {
 
     @Id
@@ -32,8 +41,13 @@ public class Doctor {
     @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
     private String name;
 
-    @NotBlank(message = "Specialization is required")
-    private String specialization;
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "specialization_id")
+    private Specialization specialization;
+
+    /** Name given by the client, until it is resolved to {@link #specialization}. */
+    @Transient
+    private String specializationName;
 
     @NotBlank(message = "License number is required")
     @Column(name = "license_number", unique = true)
@@ -42,7 +56,8 @@ public class Doctor {
     @Email(message = "Email should be valid")
     private String email;
 
-    @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    /** Not cascaded: {@code DeletionService} removes a doctor's appointments in bulk. */
+    @OneToMany(mappedBy = "doctor", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Appointment> appointments;
 
@@ -51,7 +66,7 @@ public class Doctor {
 
     public Doctor(String name, String specialization, String licenseNumber, String email) {
         this.name = name;
-        this.specialization = specialization;
+        this.specializationName = specialization;
         this.licenseNumber = licenseNumber;
         this.email = email;
     }
@@ -72,12 +87,24 @@ public class Doctor {
         this.name = name;
     }
 
+    @NotBlank(message = "Specialization is required")
     public String getSpecialization() {
-        return specialization;
+        return specialization != null ? specialization.getName() : specializationName;
     }
 
     public void setSpecialization(String specialization) {
+        this.specializationName = specialization;
+        this.specialization = null;
+    }
+
+    @JsonIgnore
+    public Specialization getSpecializationRef() {
+        return specialization;
+    }
+
+    public void setSpecializationRef(Specialization specialization) {
         this.specialization = specialization;
+        this.specializationName = specialization != null ? specialization.getName() : null;
     }
 
     public String getLicenseNumber() {
@@ -0,0 +1,71 @@
+package com.clinic.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A booking made with an {@code Idempotency-Key} header, kept until
+ * {@code expiresAt} so that a retry with the same key gets the original
+ * response back on any instance.  See {@code IdempotencyService}.
+ *
+ * <p>Written and read with plain SQL; the entity exists so that the schema
+ * is managed with the rest.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes =
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String key;
+
+    /** SHA-256 of the request body, hex; a key is only good for the request it was first sent with. */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    /** The {@code AppointmentResponse} returned the first time, as JSON. */
+    @Column(length = 4000)
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    protected IdempotencyKey() {
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.clinic.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A lease on a scheduled job, held by one instance until
+ * {@code lockedUntil}, so that a job scheduled on every instance runs on
+ * one of them at a time.  See {@code JobLockRepository}.
+ *
+ * <p>Written and read with plain SQL; the entity exists so that the schema
+ * is managed with the rest.
+ */
+@Entity
+@Table(name = "job_locks")
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_by", nullable = false, length = 128)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    protected JobLock() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+}
@@ -8,11 +8,20 @@ import jakarta.validation.constraints.Size;
 
 /**
  * Entity representing a patient registered at the clinic.
+ *
+ * <p>Email and phone are unique in the database; {@code PatientService}
+ * relies on these constraints rather than checking before each insert.
  */
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", uniqueConstraints = {
+        @UniqueConstraint(name = Patient.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = Patient.PHONE_CONSTRAINT, columnNames = "phone")
+})
 public class Patient {
 
+    public static final String EMAIL_CONSTRAINT = "uk_patients_email";
+    public static final String PHONE_CONSTRAINT = "uk_patients_phone";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
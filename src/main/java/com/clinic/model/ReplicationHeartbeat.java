@@ -0,0 +1,38 @@
+package com.clinic.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The single row {@code ReplicaSet} writes to the primary every heartbeat
+ * and reads back from each replica; how old the replica's copy is tells
+ * how far behind it is.
+ *
+ * <p>Written and read with plain SQL; the entity exists so that the schema
+ * is managed with the rest and replicates like any other table.
+ */
+@Entity
+@Table(name = "replication_heartbeat")
+public class ReplicationHeartbeat {
+
+    @Id
+    private Long id;
+
+    @Column(name = "beat_at", nullable = false)
+    private Instant beatAt;
+
+    protected ReplicationHeartbeat() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getBeatAt() {
+        return beatAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.clinic.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A medical specialization doctors are registered under.
+ *
+ * <p>Names are unique regardless of case; {@code SpecializationService}
+ * maps every spelling of a name to the one row that holds it.
+ */
+@Entity
+@Table(name = "specializations", uniqueConstraints =
+        @UniqueConstraint(name = Specialization.NAME_CONSTRAINT, columnNames = "name"))
+public class Specialization {
+
+    public static final String NAME_CONSTRAINT = "uk_specializations_name";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    public Specialization() {
+    }
+
+    public Specialization(String name) {
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
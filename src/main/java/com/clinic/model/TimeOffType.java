@@ -0,0 +1,9 @@
+package com.clinic.model;
+
+/**
+ * Reasons a doctor is unavailable outside the weekly template.
+ */
+public enum TimeOffType {
+    LEAVE,
+    HOLIDAY
+}
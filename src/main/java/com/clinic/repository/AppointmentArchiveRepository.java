@@ -0,0 +1,134 @@
+package com.clinic.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.util.JdbcStreaming;
+
+/**
+ * Moves appointments into {@code appointments_archive} and reads them back.
+ * See {@link com.clinic.model.ArchivedAppointment}.
+ */
+@Repository
+public class AppointmentArchiveRepository {
+
+    private static final String COLUMNS = "id, patient_id, doctor_id, appointment_date, duration_minutes, " +
+            "appointment_end, notes, status, created_at, updated_at";
+
+    private static final String SELECT_RESPONSE =
+            "SELECT a.id, p.name, d.name, a.appointment_date, a.duration_minutes, a.appointment_end, a.notes, " +
+            "a.status, a.created_at FROM appointments_archive a " +
+            "JOIN patients p ON p.id = a.patient_id JOIN doctors d ON d.id = a.doctor_id ";
+
+    private static final String RESPONSE_COLUMNS = "id, patient_id, doctor_id, appointment_date, " +
+            "duration_minutes, appointment_end, notes, status, created_at";
+
+    private static final String SELECT_ALL_RESPONSES =
+            "SELECT a.id, p.name, d.name, a.appointment_date, a.duration_minutes, a.appointment_end, a.notes, " +
+            "a.status, a.created_at FROM (SELECT " + RESPONSE_COLUMNS + " FROM appointments " +
+            "UNION ALL SELECT " + RESPONSE_COLUMNS + " FROM appointments_archive) a " +
+            "JOIN patients p ON p.id = a.patient_id JOIN doctors d ON d.id = a.doctor_id " +
+            "ORDER BY a.appointment_date, a.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AppointmentArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Move up to {@code limit} of the oldest appointments starting before
+     * {@code cutoff} to the archive.  Must run in a transaction, so a row
+     * is never in both tables or in neither.
+     *
+     * <p>An appointment whose id is already archived, such as a seed row
+     * created again, stays where it is.  Moving it would fail on the
+     * archive's primary key, and so would every later run.
+     *
+     * @return number of appointments moved
+     */
+    public int moveBefore(LocalDateTime cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM appointments a WHERE appointment_date < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM appointments_archive x WHERE x.id = a.id) " +
+                "ORDER BY appointment_date, id LIMIT ?",
+                Long.class, Timestamp.valueOf(cutoff), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = " IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] args = ids.toArray();
+        Object[] insertArgs = new Object[args.length + 1];
+        insertArgs[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(args, 0, insertArgs, 1, args.length);
+        jdbcTemplate.update("INSERT INTO appointments_archive (" + COLUMNS + ", archived_at) " +
+                "SELECT " + COLUMNS + ", ? FROM appointments WHERE id" + in, insertArgs);
+        return jdbcTemplate.update("DELETE FROM appointments WHERE id" + in, args);
+    }
+
+    public Optional<AppointmentResponse> findById(long id) {
+        return jdbcTemplate.query(SELECT_RESPONSE + "WHERE a.id = ?", AppointmentArchiveRepository::toResponse, id)
+                .stream().findFirst();
+    }
+
+    public boolean existsById(long id) {
+        return !jdbcTemplate.queryForList("SELECT id FROM appointments_archive WHERE id = ?", Long.class, id)
+                .isEmpty();
+    }
+
+    public List<AppointmentResponse> findByPatientId(long patientId) {
+        return jdbcTemplate.query(SELECT_RESPONSE + "WHERE a.patient_id = ? ORDER BY a.appointment_date",
+                AppointmentArchiveRepository::toResponse, patientId);
+    }
+
+    public List<AppointmentResponse> findByDoctorId(long doctorId) {
+        return jdbcTemplate.query(SELECT_RESPONSE + "WHERE a.doctor_id = ? ORDER BY a.appointment_date",
+                AppointmentArchiveRepository::toResponse, doctorId);
+    }
+
+    public List<AppointmentResponse> findAll() {
+        return jdbcTemplate.query(SELECT_RESPONSE + "ORDER BY a.appointment_date, a.id",
+                AppointmentArchiveRepository::toResponse);
+    }
+
+    /**
+     * Pass every appointment, in this table and in {@code appointments},
+     * to {@code action} by start time.  Rows are read through a streaming
+     * cursor (see {@link JdbcStreaming}) and not kept.
+     */
+    public void forEachIncludingHot(Consumer<AppointmentResponse> action) {
+        jdbcTemplate.query(con -> JdbcStreaming.prepare(con, SELECT_ALL_RESPONSES),
+                (RowCallbackHandler) rs -> action.accept(toResponse(rs, 0)));
+    }
+
+    private static AppointmentResponse toResponse(ResultSet rs, int row) throws SQLException {
+        AppointmentResponse response = new AppointmentResponse();
+        response.setId(rs.getLong(1));
+        response.setPatientName(rs.getString(2));
+        response.setDoctorName(rs.getString(3));
+        response.setAppointmentDate(toLocalDateTime(rs.getTimestamp(4)));
+        response.setDurationMinutes(rs.getObject(5, Integer.class));
+        response.setEndDate(toLocalDateTime(rs.getTimestamp(6)));
+        response.setNotes(rs.getString(7));
+        String status = rs.getString(8);
+        response.setStatus(status != null ? AppointmentStatus.valueOf(status) : null);
+        response.setCreatedAt(toLocalDateTime(rs.getTimestamp(9)));
+        return response;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -2,6 +2,7 @@ package com.clinic.repository;
 
 import com.clinic.model.Appointment;
 import com.clinic.model.AppointmentStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,14 +10,31 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA repository for appointments.
+ *
+ * <p>The finders behind the appointment responses fetch the patient and
+ * the doctor with their specialization in the same select, instead of
+ * one lazy load per appointment.
  */
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+    @Override
+    @EntityGraph(attributePaths = {"patient", "doctor", "doctor.specialization"})
+    List<Appointment> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"patient", "doctor", "doctor.specialization"})
+    Optional<Appointment> findById(Long id);
+
+    @EntityGraph(attributePaths = {"patient", "doctor", "doctor.specialization"})
     List<Appointment> findByPatientId(Long patientId);
+
+    @EntityGraph(attributePaths = {"patient", "doctor", "doctor.specialization"})
     List<Appointment> findByDoctorId(Long doctorId);
+
     List<Appointment> findByAppointmentDateBetween(LocalDateTime start, LocalDateTime end);
     List<Appointment> findByStatus(AppointmentStatus status);
 
@@ -32,4 +50,25 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
                                                   @Param("start") LocalDateTime start,
                                                   @Param("end") LocalDateTime end,
                                                   @Param("status") AppointmentStatus status);
+
+    /**
+     * Appointments of a doctor overlapping {@code [start, end)}, except
+     * those in {@code status}.  A row without an end, booked before ends
+     * were stored, counts as {@value Appointment#DEFAULT_DURATION_MINUTES}
+     * minutes long.
+     */
+    default List<Appointment> findOverlappingExcludingStatus(Long doctorId, LocalDateTime start, LocalDateTime end,
+                                                             AppointmentStatus status) {
+        return findOverlapping(doctorId, start, end,
+                start.minusMinutes(Appointment.DEFAULT_DURATION_MINUTES), status);
+    }
+
+    @Query("SELECT a FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentDate < :end AND " +
+           "(a.endDate > :start OR (a.endDate IS NULL AND a.appointmentDate > :defaultStart)) " +
+           "AND a.status <> :status ORDER BY a.appointmentDate")
+    List<Appointment> findOverlapping(@Param("doctorId") Long doctorId,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("defaultStart") LocalDateTime defaultStart,
+                                      @Param("status") AppointmentStatus status);
 }
\ No newline at end of file
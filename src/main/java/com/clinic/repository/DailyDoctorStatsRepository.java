@@ -0,0 +1,83 @@
+package com.clinic.repository;
+
+import com.clinic.model.DailyDoctorStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the daily per-doctor appointment rollup.
+ */
+@Repository
+public interface DailyDoctorStatsRepository extends JpaRepository<DailyDoctorStats, Long> {
+
+    /** Summed counters for one doctor over a date range. */
+    interface DoctorTotals {
+        Long getDoctorId();
+        Long getBooked();
+        Long getCancelled();
+        Long getCompleted();
+        Long getBookedMinutes();
+    }
+
+    /** Summed counters for one specialization over a date range. */
+    interface SpecializationTotals {
+        String getSpecialization();
+        Long getBooked();
+        Long getCancelled();
+        Long getCompleted();
+    }
+
+    List<DailyDoctorStats> findByStatDateBetweenOrderByStatDateAscDoctorIdAsc(LocalDate from, LocalDate to);
+
+    List<DailyDoctorStats> findByDoctorIdAndStatDateBetweenOrderByStatDateAsc(Long doctorId, LocalDate from, LocalDate to);
+
+    @Query("SELECT s.doctorId AS doctorId, SUM(s.booked) AS booked, SUM(s.cancelled) AS cancelled, " +
+           "SUM(s.completed) AS completed, SUM(s.bookedMinutes) AS bookedMinutes " +
+           "FROM DailyDoctorStats s WHERE s.statDate BETWEEN :from AND :to " +
+           "GROUP BY s.doctorId ORDER BY s.doctorId")
+    List<DoctorTotals> sumByDoctor(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT sp.name AS specialization, SUM(s.booked) AS booked, " +
+           "SUM(s.cancelled) AS cancelled, SUM(s.completed) AS completed " +
+           "FROM DailyDoctorStats s, Doctor d JOIN d.specialization sp " +
+           "WHERE d.id = s.doctorId AND s.statDate BETWEEN :from AND :to " +
+           "GROUP BY sp.name ORDER BY sp.name")
+    List<SpecializationTotals> sumBySpecialization(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Add the deltas to a doctor's row for the day, creating it if needed, in one atomic statement. */
+    @Modifying
+    @Query(value = "INSERT INTO daily_doctor_stats (doctor_id, stat_date, booked, cancelled, completed, booked_minutes) " +
+                   "VALUES (:doctorId, :statDate, :booked, :cancelled, :completed, :bookedMinutes) " +
+                   "ON DUPLICATE KEY UPDATE booked = booked + VALUES(booked), cancelled = cancelled + VALUES(cancelled), " +
+                   "completed = completed + VALUES(completed), booked_minutes = booked_minutes + VALUES(booked_minutes)",
+           nativeQuery = true)
+    void increment(@Param("doctorId") Long doctorId, @Param("statDate") LocalDate statDate,
+                   @Param("booked") long booked, @Param("cancelled") long cancelled,
+                   @Param("completed") long completed, @Param("bookedMinutes") long bookedMinutes);
+
+    @Modifying
+    @Query("DELETE FROM DailyDoctorStats s WHERE s.statDate BETWEEN :from AND :to")
+    int deleteByStatDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Recompute rollup rows from raw appointments, hot and archived, starting in {@code [from, to)}. */
+    @Modifying
+    @Query(value = "INSERT INTO daily_doctor_stats (doctor_id, stat_date, booked, cancelled, completed, booked_minutes) " +
+                   "SELECT doctor_id, CAST(appointment_date AS DATE), COUNT(*), " +
+                   "SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN status = 'CANCELLED' THEN 0 ELSE COALESCE(duration_minutes, 30) END) " +
+                   "FROM (SELECT doctor_id, appointment_date, status, duration_minutes FROM appointments " +
+                   "WHERE appointment_date >= :from AND appointment_date < :to " +
+                   "UNION ALL SELECT doctor_id, appointment_date, status, duration_minutes FROM appointments_archive " +
+                   "WHERE appointment_date >= :from AND appointment_date < :to) a " +
+                   "GROUP BY doctor_id, CAST(appointment_date AS DATE)",
+           nativeQuery = true)
+    int insertFromAppointments(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,9 +1,16 @@
 package com.clinic.repository;
 
 import com.clinic.model.Doctor;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +20,20 @@ import java.util.Optional;
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     Optional<Doctor> findByLicenseNumber(String licenseNumber);
-    List<Doctor> findBySpecialization(String specialization);
+    List<Doctor> findBySpecializationIdOrderByNameAsc(Long specializationId);
     Optional<Doctor> findByEmail(String email);
+
+    /**
+     * The doctor, with its row locked ({@code SELECT ... FOR UPDATE}) until
+     * the transaction ends.  Bookings take this lock first, so bookings
+     * for one doctor run one at a time across every instance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT d FROM Doctor d WHERE d.id = :id")
+    Optional<Doctor> findByIdForUpdate(@Param("id") Long id);
+
+    /** Which of {@code licenseNumbers} are already registered, in one query. */
+    @Query("SELECT d.licenseNumber FROM Doctor d WHERE d.licenseNumber IN :licenseNumbers")
+    List<String> findExistingLicenseNumbers(@Param("licenseNumbers") Collection<String> licenseNumbers);
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.clinic.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Reads response DTOs straight from the columns they need, for sparse
+ * fieldsets.  Only the selected fields' columns are in the SQL, no entity
+ * is loaded into the persistence context, and joins (such as a doctor's
+ * specialization name) are only made when their field is selected.
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public FieldProjectionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /** Every row, ordered by id, with only {@code fields} read. */
+    public <E, D> List<D> findAll(Projection<E, D> projection, Set<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = select(query, projection, fields);
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> map(projection, tuple, fields))
+                .toList();
+    }
+
+    /** The row with {@code id}, with only {@code fields} read. */
+    public <E, D> Optional<D> findById(Projection<E, D> projection, Object id, Set<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = select(query, projection, fields);
+        query.where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(tuple -> map(projection, tuple, fields));
+    }
+
+    private static <E> Root<E> select(CriteriaQuery<Tuple> query, Projection<E, ?> projection, Set<String> fields) {
+        Root<E> root = query.from(projection.entity());
+        List<Selection<?>> selections = projection.columns().entrySet().stream()
+                .filter(column -> fields.contains(column.getKey()))
+                .<Selection<?>>map(column -> column.getValue().apply(root).alias(column.getKey()))
+                .toList();
+        if (selections.isEmpty()) {
+            throw new IllegalArgumentException("No known field selected from " + fields);
+        }
+        query.multiselect(selections);
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <D> D map(Projection<?, D> projection, Tuple tuple, Set<String> fields) {
+        return projection.mapper().apply(new Projection.Row() {
+            @Override
+            public <T> T get(String field) {
+                return fields.contains(field) && projection.columns().containsKey(field) ? (T) tuple.get(field) : null;
+            }
+        });
+    }
+}
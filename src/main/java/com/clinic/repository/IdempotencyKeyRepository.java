@@ -0,0 +1,110 @@
+package com.clinic.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Bookings made with an idempotency key, in {@code idempotency_keys}; see
+ * {@link com.clinic.model.IdempotencyKey}.
+ *
+ * <p>A key is claimed by inserting its row in the booking's transaction,
+ * before anything else.  A second attempt with the same key then waits on
+ * the row's primary key until the first commits, and fails with a
+ * duplicate key, or goes ahead if the first rolled back.  Either way only
+ * one booking is ever made per key.
+ *
+ * <p>The insert comes first, and an expired row is only taken over once
+ * the insert has hit it.  Deleting the expired row first would be
+ * simpler, but on InnoDB a delete that finds nothing locks the gap
+ * instead.  Two first attempts with a new key would both hold that gap
+ * lock, then each wait for the other's insert: a deadlock rather than a
+ * wait.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    /**
+     * A committed key.
+     *
+     * @param requestHash hash of the request the key was first used with
+     * @param response    the response returned then, as JSON
+     * @param expiresAt   when the key may be used again
+     */
+    public record StoredKey(String requestHash, String response, Instant expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** The key's booking, unless there is none or it expired. */
+    public Optional<StoredKey> find(String key, Instant now) {
+        List<StoredKey> found = jdbcTemplate.query(
+                "SELECT request_hash, response, expires_at FROM idempotency_keys " +
+                "WHERE idempotency_key = ? AND expires_at > ?",
+                (rs, rowNum) -> new StoredKey(rs.getString(1), rs.getString(2), rs.getTimestamp(3).toInstant()),
+                key, Timestamp.from(now));
+        return found.stream().findFirst();
+    }
+
+    /**
+     * Claim {@code key} for the current transaction, replacing an expired
+     * claim on it.  Must run in the booking's transaction.
+     *
+     * @throws DuplicateKeyException if another attempt holds the key
+     */
+    public void claim(String key, String requestHash, Instant now, Instant expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) " +
+                    "VALUES (?, ?, ?, ?)", key, requestHash, Timestamp.from(now), Timestamp.from(expiresAt));
+        } catch (DuplicateKeyException ex) {
+            int replaced = jdbcTemplate.update("UPDATE idempotency_keys SET request_hash = ?, appointment_id = NULL, " +
+                    "response = NULL, created_at = ?, expires_at = ? WHERE idempotency_key = ? AND expires_at <= ?",
+                    requestHash, Timestamp.from(now), Timestamp.from(expiresAt), key, Timestamp.from(now));
+            if (replaced == 0) {
+                throw ex;
+            }
+        }
+    }
+
+    /** Record the booking made under a claimed key. */
+    public void complete(String key, long appointmentId, String response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET appointment_id = ?, response = ? WHERE idempotency_key = ?",
+                appointmentId, response, key);
+    }
+
+    /** Give up a claimed key when nothing was booked, so a retry books afresh. */
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+    }
+
+    /**
+     * Delete up to {@code limit} expired keys, oldest first.
+     *
+     * @return number of keys deleted
+     */
+    public int deleteExpired(Instant now, int limit) {
+        List<String> keys = jdbcTemplate.queryForList(
+                "SELECT idempotency_key FROM idempotency_keys WHERE expires_at <= ? ORDER BY expires_at LIMIT ?",
+                String.class, Timestamp.from(now), limit);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        // Re-check expiry: a key may have been claimed afresh since it was selected
+        String in = " IN (" + String.join(",", Collections.nCopies(keys.size(), "?")) + ")";
+        Object[] args = new Object[keys.size() + 1];
+        keys.toArray(args);
+        args[keys.size()] = Timestamp.from(now);
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key" + in + " AND expires_at <= ?",
+                args);
+    }
+}
@@ -0,0 +1,57 @@
+package com.clinic.repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Leases on scheduled jobs in {@code job_locks}; see
+ * {@link com.clinic.model.JobLock}.
+ *
+ * <p>Each call is a single auto-committed statement, so taking a lease
+ * never waits on another instance: either the row is free or expired and
+ * the update claims it, or the lease is held and the caller skips the run.
+ * A lease left behind by an instance that died expires on its own.
+ */
+@Repository
+public class JobLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Take the lease on {@code name} for {@code duration} unless another
+     * owner holds it.
+     *
+     * @return whether {@code owner} now holds the lease
+     */
+    public boolean tryLock(String name, String owner, Instant now, Duration duration) {
+        Timestamp until = Timestamp.from(now.plus(duration));
+        int claimed = jdbcTemplate.update(
+                "UPDATE job_locks SET locked_by = ?, locked_until = ? WHERE name = ? AND locked_until <= ?",
+                owner, until, name, Timestamp.from(now));
+        if (claimed > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO job_locks (name, locked_by, locked_until) VALUES (?, ?, ?)",
+                    name, owner, until);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /** Give up the lease on {@code name} if {@code owner} still holds it. */
+    public void unlock(String name, String owner, Instant now) {
+        jdbcTemplate.update("UPDATE job_locks SET locked_until = ? WHERE name = ? AND locked_by = ?",
+                Timestamp.from(now), name, owner);
+    }
+}
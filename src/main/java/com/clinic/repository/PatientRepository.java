@@ -2,8 +2,12 @@ package com.clinic.repository;
 
 import com.clinic.model.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +17,12 @@ import java.util.Optional;
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     Optional<Patient> findByEmail(String email);
     Optional<Patient> findByPhone(String phone);
+
+    /** Which of {@code emails} are already registered, in one query. */
+    @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /** Which of {@code phones} are already registered, in one query. */
+    @Query("SELECT p.phone FROM Patient p WHERE p.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
 }
\ No newline at end of file
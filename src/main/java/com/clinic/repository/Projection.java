@@ -0,0 +1,29 @@
+package com.clinic.repository;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * How to read a response type {@code D} from the columns of entity
+ * {@code E}, one column per response field, so that
+ * {@link FieldProjectionRepository} can select only the fields a client
+ * asked for.
+ *
+ * @param entity  entity to query
+ * @param columns response field name to the expression that reads it
+ * @param mapper  builds the response from a row; fields that were not
+ *                selected read as {@code null}
+ */
+public record Projection<E, D>(Class<E> entity, Map<String, Function<Root<E>, Expression<?>>> columns,
+                               Function<Row, D> mapper) {
+
+    /** One result row, read by response field name. */
+    public interface Row {
+
+        /** The value of {@code field}, or {@code null} if it was not selected. */
+        <T> T get(String field);
+    }
+}
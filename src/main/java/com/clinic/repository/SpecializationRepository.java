@@ -0,0 +1,12 @@
+package com.clinic.repository;
+
+import com.clinic.model.Specialization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for specializations.
+ */
+@Repository
+public interface SpecializationRepository extends JpaRepository<Specialization, Long> {
+}
@@ -0,0 +1,27 @@
+package com.clinic.repository;
+
+import com.clinic.model.TimeOff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for doctors' leave and holidays.
+ */
+@Repository
+public interface TimeOffRepository extends JpaRepository<TimeOff, Long> {
+    List<TimeOff> findByDoctorIdOrderByStartDateAsc(Long doctorId);
+
+    Optional<TimeOff> findByIdAndDoctorId(Long id, Long doctorId);
+
+    @Query("SELECT t FROM TimeOff t WHERE t.doctor.id = :doctorId AND " +
+           "t.startDate < :end AND t.endDate > :start")
+    List<TimeOff> findOverlapping(@Param("doctorId") Long doctorId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,114 @@
+package com.clinic.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.clinic.exception.UniqueConstraints;
+import com.clinic.model.Patient;
+import com.clinic.model.Specialization;
+
+/**
+ * Stops startup when a unique constraint the services rely on is missing.
+ *
+ * <p>Duplicate patients and specializations are rejected only by these
+ * constraints; nothing is looked up first.  {@code ddl-auto=validate}
+ * does not check unique constraints, and {@code update} only logs a
+ * warning when existing duplicates keep it from adding one, so a missing
+ * constraint would otherwise let duplicates in without any error.
+ *
+ * <p>A constraint is present when its table has a unique index on exactly
+ * its column, with a name containing the constraint's, the way
+ * {@link UniqueConstraints} recognises its violations.
+ *
+ * <p>The check runs once every singleton is created, so after Hibernate
+ * has applied {@code ddl-auto}, but before the web and gRPC servers start
+ * taking requests and before any startup runner such as the bulk import.
+ * It is never lazy, so lazy initialization cannot skip it.
+ */
+@Component
+@Lazy(false)
+public class UniqueConstraintCheck implements SmartInitializingSingleton {
+
+    record Required(String table, String column, String constraint) {
+    }
+
+    static final List<Required> REQUIRED = List.of(
+            new Required("patients", "email", Patient.EMAIL_CONSTRAINT),
+            new Required("patients", "phone", Patient.PHONE_CONSTRAINT),
+            new Required("specializations", "name", Specialization.NAME_CONSTRAINT));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UniqueConstraintCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        verify();
+    }
+
+    /**
+     * @throws IllegalStateException naming every missing constraint
+     */
+    public void verify() {
+        List<String> missing = jdbcTemplate.execute((ConnectionCallback<List<String>>) con ->
+                missing(con.getMetaData(), con.getCatalog(), con.getSchema()));
+        if (missing != null && !missing.isEmpty()) {
+            throw new IllegalStateException("Missing unique constraints " + missing
+                    + "; duplicates would not be rejected. Remove duplicate rows and add the constraints"
+                    + " (see Duplicate Checks in docs/PERFORMANCE.md)");
+        }
+    }
+
+    private static List<String> missing(DatabaseMetaData metaData, String catalog, String schema)
+            throws SQLException {
+        Map<String, Map<String, Set<String>>> indexesByTable = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (Required required : REQUIRED) {
+            Map<String, Set<String>> indexes = indexesByTable.get(required.table());
+            if (indexes == null) {
+                indexes = uniqueIndexes(metaData, catalog, schema, required.table());
+                indexesByTable.put(required.table(), indexes);
+            }
+            boolean present = indexes.entrySet().stream().anyMatch(index ->
+                    index.getKey().contains(required.constraint()) && index.getValue().equals(Set.of(required.column())));
+            if (!present) {
+                missing.add(required.table() + "." + required.constraint());
+            }
+        }
+        return missing;
+    }
+
+    /** Lower-cased name of each unique index on {@code table}, to its lower-cased columns. */
+    private static Map<String, Set<String>> uniqueIndexes(DatabaseMetaData metaData, String catalog, String schema,
+                                                          String table) throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, Set<String>> indexes = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, name, true, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (index != null && column != null && !rs.getBoolean("NON_UNIQUE")) {
+                    indexes.computeIfAbsent(index.toLowerCase(Locale.ROOT), k -> new HashSet<>())
+                            .add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,22 @@
+package com.clinic.repository;
+
+import com.clinic.model.WorkingHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for doctors' weekly working hours.
+ */
+@Repository
+public interface WorkingHoursRepository extends JpaRepository<WorkingHours, Long> {
+    List<WorkingHours> findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(Long doctorId);
+
+    @Modifying
+    @Query("DELETE FROM WorkingHours w WHERE w.doctor.id = :doctorId")
+    int deleteByDoctorId(@Param("doctorId") Long doctorId);
+}
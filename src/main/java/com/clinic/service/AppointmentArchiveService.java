@@ -0,0 +1,78 @@
+package com.clinic.service;
+
+import com.clinic.repository.AppointmentArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the {@code appointments} table small by moving appointments that
+ * started more than {@code clinic.archive.retention-days} ago to
+ * {@code appointments_archive}.
+ *
+ * <p>Booking, conflict checks and calendars only look at recent and
+ * future appointments, so they only ever read the hot table and their
+ * indexes stay the size of the working set.  Reads by id, patient or
+ * doctor, the CSV export and the rollup rebuild look in both tables.
+ * Archived appointments are read-only.
+ *
+ * <p>Rows move {@code clinic.archive.chunk-size} at a time, oldest first,
+ * each chunk in its own transaction.
+ */
+@Service
+public class AppointmentArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentArchiveService.class);
+
+    private final AppointmentArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    public AppointmentArchiveService(AppointmentArchiveRepository archiveRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${clinic.archive.retention-days:90}") int retentionDays,
+                                     @Value("${clinic.archive.chunk-size:1000}") int chunkSize) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("clinic.archive.retention-days must be at least 1");
+        }
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Start of the oldest day kept in the hot table. */
+    public LocalDateTime cutoff() {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+
+    /** Archive everything before {@link #cutoff()}. */
+    public long archive() {
+        return archiveBefore(cutoff());
+    }
+
+    /**
+     * Move every appointment starting before {@code cutoff} to the archive.
+     *
+     * @return number of appointments moved
+     */
+    public long archiveBefore(LocalDateTime cutoff) {
+        long moved = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> archiveRepository.moveBefore(cutoff, chunkSize));
+            moved += chunk;
+        } while (chunk == chunkSize);
+        if (moved > 0) {
+            log.info("Archived {} appointments starting before {}", moved, cutoff);
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,178 @@
+package com.clinic.service;
+
+import com.clinic.exception.BusinessException;
+import com.clinic.util.CsvWriter;
+import com.clinic.util.DateTimeUtil;
+import com.clinic.util.JdbcStreaming;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streams appointment history, joined with patient and doctor, to CSV.
+ *
+ * <p>Rows are read through forward-only, read-only cursors and written
+ * as they arrive, at most {@link #PAGE_ROWS} per query, so memory use does
+ * not depend on the number of rows.  See {@link JdbcStreaming} for how
+ * MySQL is kept from buffering a whole result.  Archived appointments are
+ * included; both tables are read in one query.
+ *
+ * <p>Rows come out ordered by {@code (appointment_date, id)}, so the last
+ * row written is a {@link Cursor} that resumes the export exactly after it.
+ */
+@Service
+public class AppointmentExportService {
+
+    static final String[] HEADER = {
+            "id", "appointment_date", "appointment_end", "duration_minutes", "status", "notes",
+            "created_at", "updated_at", "patient_id", "patient_name", "patient_email", "patient_phone",
+            "doctor_id", "doctor_name", "doctor_specialization", "doctor_license_number"
+    };
+
+    /** Rows per query when the caller sets no limit. */
+    static final int PAGE_ROWS = 10_000;
+
+    /**
+     * One table's next rows after the cursor.  Each side of the union is
+     * limited on its own {@code (appointment_date, id)} index before the
+     * two are merged.
+     */
+    private static final String BRANCH =
+            "(SELECT id, patient_id, doctor_id, appointment_date, appointment_end, duration_minutes, status, " +
+            "notes, created_at, updated_at FROM %s " +
+            "WHERE appointment_date >= ? AND appointment_date < ? " +
+            "AND (appointment_date > ? OR (appointment_date = ? AND id > ?)) " +
+            "ORDER BY appointment_date, id LIMIT ?)";
+
+    private static final String SELECT =
+            "SELECT a.id, a.appointment_date, a.appointment_end, a.duration_minutes, a.status, a.notes, " +
+            "a.created_at, a.updated_at, p.id, p.name, p.email, p.phone, " +
+            "d.id, d.name, sp.name, d.license_number " +
+            "FROM (" + BRANCH.formatted("appointments") + " UNION ALL " +
+            BRANCH.formatted("appointments_archive") + ") a " +
+            "JOIN patients p ON p.id = a.patient_id " +
+            "JOIN doctors d ON d.id = a.doctor_id " +
+            "LEFT JOIN specializations sp ON sp.id = d.specialization_id " +
+            "ORDER BY a.appointment_date, a.id LIMIT ?";
+
+    /** Position of the last exported row. */
+    public record Cursor(LocalDateTime appointmentDate, long id) {
+    }
+
+    /**
+     * Outcome of one export call.
+     *
+     * @param rows number of rows written
+     * @param last last row written, or {@code null} if there were none
+     */
+    public record Result(long rows, Cursor last) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AppointmentExportService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Write appointments starting on {@code [from, to]} to {@code out}.
+     *
+     * @param after  resume after this row, or {@code null} to start at {@code from}
+     * @param limit  maximum rows to write, or 0 for no limit
+     * @param header whether to write the header row first
+     */
+    public Result exportCsv(LocalDate from, LocalDate to, Cursor after, int limit, boolean header, Writer out) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Export range must not end before it starts");
+        }
+        Cursor start = after != null ? after : new Cursor(from.atStartOfDay(), 0);
+        CsvWriter csv = new CsvWriter(out);
+        try {
+            if (header) {
+                csv.row(HEADER);
+            }
+            Result result;
+            if (limit > 0) {
+                result = page(from, to, start, limit, csv);
+            } else {
+                long rows = 0;
+                Cursor last = null;
+                Result page;
+                do {
+                    page = page(from, to, last != null ? last : start, PAGE_ROWS, csv);
+                    rows += page.rows();
+                    last = page.last() != null ? page.last() : last;
+                } while (page.rows() == PAGE_ROWS);
+                result = new Result(rows, last);
+            }
+            csv.flush();
+            return result;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Result page(LocalDate from, LocalDate to, Cursor start, int limit, CsvWriter csv) {
+        return jdbcTemplate.query(con -> prepare(con, from, to, start, limit),
+                (ResultSetExtractor<Result>) rs -> writeRows(rs, csv));
+    }
+
+    private static PreparedStatement prepare(Connection con, LocalDate from, LocalDate to, Cursor start, int limit)
+            throws SQLException {
+        PreparedStatement ps = JdbcStreaming.prepare(con, SELECT);
+        int index = 1;
+        for (int branch = 0; branch < 2; branch++) {
+            ps.setTimestamp(index++, Timestamp.valueOf(from.atStartOfDay()));
+            ps.setTimestamp(index++, Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+            ps.setTimestamp(index++, Timestamp.valueOf(start.appointmentDate()));
+            ps.setTimestamp(index++, Timestamp.valueOf(start.appointmentDate()));
+            ps.setLong(index++, start.id());
+            ps.setInt(index++, limit);
+        }
+        ps.setInt(index, limit);
+        return ps;
+    }
+
+    private static Result writeRows(ResultSet rs, CsvWriter csv) throws SQLException {
+        long rows = 0;
+        long lastId = 0;
+        LocalDateTime lastDate = null;
+        try {
+            while (rs.next()) {
+                lastId = rs.getLong(1);
+                lastDate = rs.getTimestamp(2).toLocalDateTime();
+                csv.field(lastId)
+                        .field(DateTimeUtil.format(lastDate))
+                        .field(format(rs.getTimestamp(3)))
+                        .field(rs.getObject(4))
+                        .field(rs.getString(5))
+                        .field(rs.getString(6))
+                        .field(format(rs.getTimestamp(7)))
+                        .field(format(rs.getTimestamp(8)));
+                for (int column = 9; column <= HEADER.length; column++) {
+                    csv.field(rs.getString(column));
+                }
+                csv.endRow();
+                rows++;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Result(rows, rows > 0 ? new Cursor(lastDate, lastId) : null);
+    }
+
+    private static String format(Timestamp timestamp) {
+        return timestamp != null ? DateTimeUtil.format(timestamp.toLocalDateTime()) : null;
+    }
+}
@@ -8,98 +8,183 @@ import com.clinic.model.Appointment;
 import com.clinic.model.AppointmentStatus;
 import com.clinic.model.Doctor;
 import com.clinic.model.Patient;
+import com.clinic.repository.AppointmentArchiveRepository;
 import com.clinic.repository.AppointmentRepository;
 import com.clinic.repository.DoctorRepository;
 import com.clinic.repository.PatientRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 /**
  * Service class for managing appointments.
+ *
+ * <p>Reads by id, patient or doctor also look in the archive (see
+ * {@link AppointmentArchiveService}); booking and status changes only
+ * touch the hot table.
  */
 @Service
 public class AppointmentService {
 
+    static final Duration ALTERNATIVE_SEARCH_WINDOW = Duration.ofHours(4);
+    static final int MAX_ALTERNATIVE_SLOTS = 3;
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
+    private final ScheduleService scheduleService;
+    private final AppointmentStatsService statsService;
+    private final AppointmentArchiveRepository archiveRepository;
 
-    public AppointmentService(AppointmentRepository appointmentRepository, PatientRepository patientRepository, DoctorRepository doctorRepository) {
+    public AppointmentService(AppointmentRepository appointmentRepository, PatientRepository patientRepository,
+                              DoctorRepository doctorRepository, ScheduleService scheduleService,
+                              AppointmentStatsService statsService, AppointmentArchiveRepository archiveRepository) {
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
+        this.scheduleService = scheduleService;
+        this.statsService = statsService;
+        this.archiveRepository = archiveRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<AppointmentResponse> getAllAppointments() {
-        return appointmentRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .toList();
+        return withArchived(appointmentRepository.findAll(), archiveRepository.findAll());
     }
 
+    /**
+     * Pass every appointment, hot and archived, to {@code action} by start
+     * time, without holding them all in memory as
+     * {@link #getAllAppointments} does.
+     */
+    @Transactional(readOnly = true)
+    public void forEachAppointment(Consumer<AppointmentResponse> action) {
+        archiveRepository.forEachIncludingHot(action);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<AppointmentResponse> getAppointmentById(Long id) {
         return appointmentRepository.findById(id)
-                .map(this::convertToResponse);
+                .map(this::convertToResponse)
+                .or(() -> archiveRepository.findById(id));
     }
 
+    @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByPatient(Long patientId) {
-        return appointmentRepository.findByPatientId(patientId).stream()
-                .map(this::convertToResponse)
-                .toList();
+        return withArchived(appointmentRepository.findByPatientId(patientId),
+                archiveRepository.findByPatientId(patientId));
     }
 
+    @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByDoctor(Long doctorId) {
-        return appointmentRepository.findByDoctorId(doctorId).stream()
-                .map(this::convertToResponse)
+        return withArchived(appointmentRepository.findByDoctorId(doctorId),
+                archiveRepository.findByDoctorId(doctorId));
+    }
+
+    /** Hot and archived appointments together, by start time. */
+    private List<AppointmentResponse> withArchived(List<Appointment> hot, List<AppointmentResponse> archived) {
+        return Stream.concat(archived.stream(), hot.stream().map(this::convertToResponse))
+                .sorted(Comparator.comparing(AppointmentResponse::getAppointmentDate,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
                 .toList();
     }
 
+    /**
+     * Book an appointment, throwing if the slot is taken.  Prefer
+     * {@link #bookAppointment} where the caller can act on a conflict.
+     */
+    @Transactional
     public AppointmentResponse createAppointment(AppointmentRequest request) {
+        return switch (bookAppointment(request)) {
+            case BookingResult.Accepted accepted -> accepted.appointment();
+            case BookingResult.Conflict conflict -> throw new BusinessException(conflict.message());
+        };
+    }
+
+    /**
+     * Book an appointment.  One load of the doctor's calendar around the
+     * requested time both detects a conflict and, if there is one, yields
+     * the nearest free slots for the same doctor.
+     *
+     * <p>The doctor's row is locked before anything else is read, so the
+     * check and the insert cannot interleave with another booking for the
+     * same doctor on any instance.  Locking first also matters under
+     * MySQL's repeatable read: the transaction's snapshot is taken at its
+     * first plain read, which then comes after the previous booking for
+     * the doctor committed.
+     */
+    @Transactional
+    public BookingResult bookAppointment(AppointmentRequest request) {
+        Duration duration = ScheduleService.appointmentDuration(request.getDurationMinutes());
+        Doctor doctor = doctorRepository.findByIdForUpdate(request.getDoctorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + request.getDoctorId()));
         Patient patient = patientRepository.findById(request.getPatientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + request.getPatientId()));
-        Doctor doctor = doctorRepository.findById(request.getDoctorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + request.getDoctorId()));
 
         LocalDateTime start = request.getAppointmentDate();
-        LocalDateTime end = start.plusMinutes(30);
-        List<Appointment> existing = appointmentRepository.findByDoctorAndDateRange(doctor.getId(), start, end);
-        if (!existing.isEmpty()) {
-            throw new BusinessException("Doctor is not available at the requested time");
+        LocalDateTime end = start.plus(duration);
+        DoctorCalendar calendar = scheduleService.loadCalendar(doctor.getId(),
+                start.minus(ALTERNATIVE_SEARCH_WINDOW), end.plus(ALTERNATIVE_SEARCH_WINDOW));
+
+        if (!calendar.isWorking(start, end)) {
+            return conflict("Doctor is not working at the requested time", calendar, start, duration);
+        }
+        if (calendar.isBooked(start, end)) {
+            return conflict("Doctor is not available at the requested time", calendar, start, duration);
         }
 
         Appointment appointment = new Appointment();
         appointment.setPatient(patient);
         appointment.setDoctor(doctor);
         appointment.setAppointmentDate(request.getAppointmentDate());
+        appointment.setDurationMinutes((int) duration.toMinutes());
         appointment.setNotes(request.getNotes());
         appointment.setStatus(AppointmentStatus.SCHEDULED);
         Appointment saved = appointmentRepository.save(appointment);
-        return convertToResponse(saved);
+        statsService.recordCreated(saved);
+        return new BookingResult.Accepted(convertToResponse(saved));
     }
 
+    @Transactional
     public AppointmentResponse updateAppointmentStatus(Long id, AppointmentStatus status) {
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + id));
+        Appointment appointment = findChangeable(id);
+        AppointmentStatus previous = appointment.getStatus();
         appointment.setStatus(status);
         Appointment updated = appointmentRepository.save(appointment);
+        statsService.recordStatusChange(updated, previous);
         return convertToResponse(updated);
     }
 
+    @Transactional
     public void cancelAppointment(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + id));
-        appointment.setStatus(AppointmentStatus.CANCELLED);
-        appointmentRepository.save(appointment);
+        updateAppointmentStatus(id, AppointmentStatus.CANCELLED);
     }
 
+    @Transactional
     public void deleteAppointment(Long id) {
-        if (!appointmentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Appointment not found with id: " + id);
-        }
-        appointmentRepository.deleteById(id);
+        Appointment appointment = findChangeable(id);
+        appointmentRepository.delete(appointment);
+        statsService.recordDeleted(appointment);
+    }
+
+    private Appointment findChangeable(Long id) {
+        return appointmentRepository.findById(id).orElseThrow(() -> archiveRepository.existsById(id)
+                ? new BusinessException("Appointment " + id + " is archived and can no longer be changed")
+                : new ResourceNotFoundException("Appointment not found with id: " + id));
+    }
+
+    private static BookingResult conflict(String message, DoctorCalendar calendar,
+                                          LocalDateTime requested, Duration duration) {
+        return new BookingResult.Conflict(message, calendar.nearestFreeSlots(requested, duration,
+                ScheduleService.SLOT_STEP, ALTERNATIVE_SEARCH_WINDOW, MAX_ALTERNATIVE_SLOTS, LocalDateTime.now()));
     }
 
     private AppointmentResponse convertToResponse(Appointment appointment) {
@@ -108,6 +193,8 @@ public class AppointmentService {
         response.setPatientName(appointment.getPatient().getName());
         response.setDoctorName(appointment.getDoctor().getName());
         response.setAppointmentDate(appointment.getAppointmentDate());
+        response.setDurationMinutes(appointment.getDurationMinutes());
+        response.setEndDate(appointment.getEndDate());
         response.setNotes(appointment.getNotes());
         response.setStatus(appointment.getStatus());
         response.setCreatedAt(appointment.getCreatedAt());
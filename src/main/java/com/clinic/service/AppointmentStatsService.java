@@ -0,0 +1,158 @@
+package com.clinic.service;
+
+import com.clinic.dto.DailyStatsResponse;
+import com.clinic.dto.DoctorStatsReport;
+import com.clinic.dto.SpecializationStatsReport;
+import com.clinic.exception.BusinessException;
+import com.clinic.model.Appointment;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.model.Doctor;
+import com.clinic.model.WorkingHours;
+import com.clinic.repository.DailyDoctorStatsRepository;
+import com.clinic.repository.DailyDoctorStatsRepository.DoctorTotals;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.WorkingHoursRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code daily_doctor_stats} rollup and answers reports from
+ * it.  {@link AppointmentService} calls the {@code record*} methods inside
+ * its own transaction, so a counter change commits or rolls back with the
+ * appointment it describes.  Reports never read the {@code appointments}
+ * table; their cost grows with days × doctors.
+ */
+@Service
+public class AppointmentStatsService {
+
+    private final DailyDoctorStatsRepository statsRepository;
+    private final DoctorRepository doctorRepository;
+    private final WorkingHoursRepository workingHoursRepository;
+
+    public AppointmentStatsService(DailyDoctorStatsRepository statsRepository, DoctorRepository doctorRepository,
+                                   WorkingHoursRepository workingHoursRepository) {
+        this.statsRepository = statsRepository;
+        this.doctorRepository = doctorRepository;
+        this.workingHoursRepository = workingHoursRepository;
+    }
+
+    public void recordCreated(Appointment appointment) {
+        apply(appointment, 1, appointment.getStatus());
+    }
+
+    public void recordStatusChange(Appointment appointment, AppointmentStatus previous) {
+        if (previous != appointment.getStatus()) {
+            apply(appointment, -1, previous);
+            apply(appointment, 1, appointment.getStatus());
+        }
+    }
+
+    public void recordDeleted(Appointment appointment) {
+        apply(appointment, -1, appointment.getStatus());
+    }
+
+    private void apply(Appointment appointment, int sign, AppointmentStatus status) {
+        int minutes = appointment.getDurationMinutes() != null
+                ? appointment.getDurationMinutes() : Appointment.DEFAULT_DURATION_MINUTES;
+        statsRepository.increment(appointment.getDoctor().getId(),
+                appointment.getAppointmentDate().toLocalDate(),
+                sign,
+                status == AppointmentStatus.CANCELLED ? sign : 0,
+                status == AppointmentStatus.COMPLETED ? sign : 0,
+                status == AppointmentStatus.CANCELLED ? 0 : (long) sign * minutes);
+    }
+
+    /**
+     * Recompute the rollup for {@code [from, to]} from raw appointments.
+     * Used to backfill after bulk loads that bypass the service layer.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        statsRepository.deleteByStatDateBetween(from, to);
+        return statsRepository.insertFromAppointments(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    public List<DailyStatsResponse> getDailyStats(LocalDate from, LocalDate to, Long doctorId) {
+        requireRange(from, to);
+        var rows = doctorId != null
+                ? statsRepository.findByDoctorIdAndStatDateBetweenOrderByStatDateAsc(doctorId, from, to)
+                : statsRepository.findByStatDateBetweenOrderByStatDateAscDoctorIdAsc(from, to);
+        return rows.stream().map(DailyStatsResponse::from).toList();
+    }
+
+    public List<DoctorStatsReport> getMonthlyStats(YearMonth month) {
+        return getDoctorStats(month.atDay(1), month.atEndOfMonth());
+    }
+
+    public List<DoctorStatsReport> getDoctorStats(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        List<DoctorTotals> totals = statsRepository.sumByDoctor(from, to);
+        List<Long> doctorIds = totals.stream().map(DoctorTotals::getDoctorId).toList();
+        Map<Long, Doctor> doctors = doctorRepository.findAllById(doctorIds).stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        Map<Long, List<WorkingHours>> templates = workingHoursRepository.findAll().stream()
+                .collect(Collectors.groupingBy(w -> w.getDoctor().getId()));
+        Map<DayOfWeek, Integer> dayCounts = countDaysOfWeek(from, to);
+
+        return totals.stream().map(t -> {
+            Doctor doctor = doctors.get(t.getDoctorId());
+            Long available = availableMinutes(templates.get(t.getDoctorId()), dayCounts);
+            Double utilization = available == null || available == 0
+                    ? null : (double) t.getBookedMinutes() / available;
+            return new DoctorStatsReport(t.getDoctorId(), doctor != null ? doctor.getName() : null, from, to,
+                    t.getBooked(), t.getCancelled(), t.getCompleted(), t.getBookedMinutes(),
+                    available, rate(t.getCancelled(), t.getBooked()), utilization);
+        }).toList();
+    }
+
+    public List<SpecializationStatsReport> getSpecializationStats(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        return statsRepository.sumBySpecialization(from, to).stream()
+                .map(t -> new SpecializationStatsReport(t.getSpecialization(), t.getBooked(), t.getCancelled(),
+                        t.getCompleted(), rate(t.getCancelled(), t.getBooked())))
+                .toList();
+    }
+
+    private static Long availableMinutes(List<WorkingHours> template, Map<DayOfWeek, Integer> dayCounts) {
+        if (template == null) {
+            return null;
+        }
+        long minutes = 0;
+        for (WorkingHours shift : template) {
+            minutes += Duration.between(shift.getStartTime(), shift.getEndTime()).toMinutes()
+                    * dayCounts.getOrDefault(shift.getDayOfWeek(), 0);
+        }
+        return minutes;
+    }
+
+    private static Map<DayOfWeek, Integer> countDaysOfWeek(LocalDate from, LocalDate to) {
+        Map<DayOfWeek, Integer> counts = new EnumMap<>(DayOfWeek.class);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            counts.merge(day.getDayOfWeek(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static double rate(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Report range must not end before it starts");
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.clinic.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.clinic.util.TokenBuckets;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Sheds bookings the application cannot serve promptly, so that a rush of
+ * public bookings neither starves staff work nor slows every endpoint.
+ *
+ * <ul>
+ *   <li>Each client may start {@code clinic.booking-limit.rate} bookings
+ *       a second, in bursts of up to {@code clinic.booking-limit.burst}.
+ *       A client is a known API key, or else the address the request came
+ *       from.  Staff keys are not limited.
+ *   <li>At most {@code clinic.booking-limit.concurrency} bookings run at
+ *       once.  Staff bookings may use a further
+ *       {@code clinic.booking-limit.staff-reserve}, so they still get
+ *       through when public ones are being turned away.
+ * </ul>
+ *
+ * A booking over either limit is rejected at once rather than queued: a
+ * queue would only hold threads and connections that other requests need,
+ * and a client retrying later is served sooner.  Setting
+ * {@code clinic.booking-limit.enabled=false} admits everything.
+ *
+ * <p>All state is atomics, so the checks never block.  Rejections are
+ * counted in {@link LongAdder}s and exported, with the current load, as
+ * {@code clinic_booking_*} metrics.
+ */
+@Component
+public class BookingLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final TokenBuckets clients;
+    private final Set<String> clientApiKeys;
+    private final Set<String> staffApiKeys;
+    private final int concurrency;
+    private final int staffConcurrency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+    private final LongAdder staffOverloaded = new LongAdder();
+
+    public BookingLimiter(@Value("${clinic.booking-limit.enabled:true}") boolean enabled,
+                          @Value("${clinic.booking-limit.rate:2}") double rate,
+                          @Value("${clinic.booking-limit.burst:10}") int burst,
+                          @Value("${clinic.booking-limit.concurrency:10}") int concurrency,
+                          @Value("${clinic.booking-limit.staff-reserve:4}") int staffReserve,
+                          @Value("${clinic.booking-limit.client-api-keys:}") List<String> clientApiKeys,
+                          @Value("${clinic.booking-limit.staff-api-keys:}") List<String> staffApiKeys) {
+        this.enabled = enabled;
+        this.clients = new TokenBuckets(rate, burst);
+        this.concurrency = concurrency;
+        this.staffConcurrency = concurrency + staffReserve;
+        this.clientApiKeys = keys(clientApiKeys);
+        this.staffApiKeys = keys(staffApiKeys);
+    }
+
+    private static Set<String> keys(List<String> keys) {
+        return Set.copyOf(keys.stream().map(String::strip).filter(key -> !key.isEmpty()).toList());
+    }
+
+    /** Whether {@code apiKey} is one of {@code clinic.booking-limit.staff-api-keys}. */
+    public boolean isStaff(String apiKey) {
+        return apiKey != null && staffApiKeys.contains(apiKey);
+    }
+
+    /**
+     * The bucket a request is charged to: its API key if the key is known,
+     * otherwise its address.  Unknown keys are ignored, or a client could
+     * get a fresh bucket for every request by making keys up.
+     */
+    public String client(String apiKey, String address) {
+        return apiKey != null && clientApiKeys.contains(apiKey) ? "key:" + apiKey : "address:" + address;
+    }
+
+    /**
+     * Take one of {@code client}'s bookings for this second.
+     *
+     * @return {@code 0} if the client may book, otherwise the nanoseconds
+     *         until it may
+     */
+    public long tryAcquireRate(String client) {
+        if (!enabled) {
+            return 0;
+        }
+        long wait = clients.tryAcquire(client);
+        if (wait > 0) {
+            rateLimited.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Start a booking if there is room for it.  Every {@code true} must be
+     * followed by {@link #release()} once the booking is done.
+     */
+    public boolean tryAcquire(boolean staff) {
+        int limit = !enabled ? Integer.MAX_VALUE : staff ? staffConcurrency : concurrency;
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                (staff ? staffOverloaded : overloaded).increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("clinic.booking.in_flight", inFlight, AtomicInteger::get)
+                .description("Bookings in progress")
+                .register(registry);
+        Gauge.builder("clinic.booking.concurrency_limit", () -> concurrency)
+                .tag("client", "public")
+                .description("Bookings that may be in progress at once")
+                .register(registry);
+        Gauge.builder("clinic.booking.concurrency_limit", () -> staffConcurrency)
+                .tag("client", "staff")
+                .description("Bookings that may be in progress at once")
+                .register(registry);
+        Gauge.builder("clinic.booking.rate_limit.clients", clients, TokenBuckets::size)
+                .description("Clients with a rate limit bucket")
+                .register(registry);
+        rejected(registry, rateLimited, "rate", "public");
+        rejected(registry, overloaded, "concurrency", "public");
+        rejected(registry, staffOverloaded, "concurrency", "staff");
+    }
+
+    private static void rejected(MeterRegistry registry, LongAdder count, String reason, String client) {
+        FunctionCounter.builder("clinic.booking.rejected", count, LongAdder::sum)
+                .tag("reason", reason)
+                .tag("client", client)
+                .description("Bookings turned away by the booking limits")
+                .register(registry);
+    }
+}
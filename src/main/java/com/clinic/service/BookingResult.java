@@ -0,0 +1,30 @@
+package com.clinic.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.clinic.dto.AppointmentResponse;
+
+/**
+ * Outcome of {@link AppointmentService#bookAppointment}.  A taken slot is an
+ * expected result at peak times, so it is returned rather than thrown.
+ */
+public sealed interface BookingResult {
+
+    /**
+     * The appointment was created.
+     *
+     * @param appointment the saved appointment
+     */
+    record Accepted(AppointmentResponse appointment) implements BookingResult {
+    }
+
+    /**
+     * The doctor is busy at the requested time.
+     *
+     * @param message          reason shown to the client
+     * @param alternativeSlots nearest free start times for the same doctor, earliest first
+     */
+    record Conflict(String message, List<LocalDateTime> alternativeSlots) implements BookingResult {
+    }
+}
@@ -0,0 +1,408 @@
+package com.clinic.service;
+
+import com.clinic.dto.ImportReport;
+import com.clinic.dto.ImportReport.RowError;
+import com.clinic.exception.UniqueConstraints;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.PatientRepository;
+import com.clinic.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of patients and doctors from CSV or NDJSON.
+ *
+ * <p>Input is read in chunks of {@link #CHUNK_SIZE} rows, so memory use is
+ * bounded by the chunk, not the file.  For each chunk:
+ * <ol>
+ *   <li>rows are parsed and bean-validated in parallel;</li>
+ *   <li>unique keys are checked against the database with one
+ *       {@code IN (...)} query per key, and against earlier rows of the
+ *       same import;</li>
+ *   <li>accepted rows are inserted with one JDBC batch in one transaction.</li>
+ * </ol>
+ * A bad row is reported and skipped; it never fails the rest of the import.
+ * Because every chunk is committed before the next one is checked, rows
+ * repeated across chunks are caught by the database lookup.  If a
+ * concurrent writer wins a race for a key, the chunk's batch fails on
+ * the unique constraint and the chunk is retried row by row.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PatientSearchIndex searchIndex;
+    private final SpecializationService specializationService;
+
+    public BulkImportService(PatientRepository patientRepository, DoctorRepository doctorRepository,
+                             JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             Validator validator, ObjectMapper objectMapper, PatientSearchIndex searchIndex,
+                             SpecializationService specializationService) {
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.searchIndex = searchIndex;
+        this.specializationService = specializationService;
+    }
+
+    public ImportReport importPatients(InputStream in, ImportFormat format) {
+        return run(in, format, new Target<>(
+                f -> new Patient(f.get("name"), f.get("email"), f.get("phone"), f.get("medicalhistory")),
+                List.of(new UniqueKey<>("Patient with email", Patient::getEmail, true,
+                                patientRepository::findExistingEmails, Patient.EMAIL_CONSTRAINT),
+                        new UniqueKey<>("Patient with phone", Patient::getPhone, false,
+                                patientRepository::findExistingPhones, Patient.PHONE_CONSTRAINT)),
+                "INSERT INTO patients (name, email, phone, medical_history) VALUES (?, ?, ?, ?)",
+                (ps, p) -> {
+                    ps.setString(1, p.getName());
+                    ps.setString(2, p.getEmail());
+                    ps.setString(3, p.getPhone());
+                    ps.setString(4, p.getMedicalHistory());
+                },
+                accepted -> {
+                },
+                inserted -> searchIndex.indexByEmail(inserted.stream().map(Patient::getEmail).toList())));
+    }
+
+    public ImportReport importDoctors(InputStream in, ImportFormat format) {
+        return run(in, format, new Target<>(
+                f -> new Doctor(f.get("name"), f.get("specialization"), f.get("licensenumber"), f.get("email")),
+                List.of(new UniqueKey<>("Doctor with license number", Doctor::getLicenseNumber, false,
+                        doctorRepository::findExistingLicenseNumbers, null)),
+                "INSERT INTO doctors (name, specialization_id, license_number, email) VALUES (?, ?, ?, ?)",
+                (ps, d) -> {
+                    ps.setString(1, d.getName());
+                    ps.setLong(2, d.getSpecializationRef().getId());
+                    ps.setString(3, d.getLicenseNumber());
+                    ps.setString(4, d.getEmail());
+                },
+                accepted -> accepted.forEach(d ->
+                        d.setSpecializationRef(specializationService.resolve(d.getSpecialization()))),
+                inserted -> inserted.stream().map(d -> d.getSpecializationRef().getId()).distinct()
+                        .forEach(specializationService::evictDoctors)));
+    }
+
+    /**
+     * How one entity type is built, deduplicated and inserted.
+     *
+     * @param prepare  called with each chunk's accepted rows before they are inserted
+     * @param inserted called with each chunk's inserted rows after they commit
+     */
+    private record Target<T>(Function<Map<String, String>, T> mapper, List<UniqueKey<T>> keys, String insertSql,
+                             ParameterizedPreparedStatementSetter<T> setter, Consumer<List<T>> prepare,
+                             Consumer<List<T>> inserted) {
+    }
+
+    /**
+     * A unique column checked before insert.
+     *
+     * @param label      message prefix, matching the single-row create
+     * @param ignoreCase whether values differing only in case collide
+     * @param lookup     returns which of the given values already exist
+     * @param constraint name of the enforcing unique constraint, if it has a stable one
+     */
+    private record UniqueKey<T>(String label, Function<T, String> value, boolean ignoreCase,
+                                Function<Collection<String>, List<String>> lookup, String constraint) {
+
+        String normalize(String raw) {
+            return ignoreCase ? raw.toLowerCase(Locale.ROOT) : raw;
+        }
+    }
+
+    /** One input row before parsing: CSV fields already split, or a raw JSON line. */
+    private record Row(long line, Map<String, String> fields, String json) {
+    }
+
+    /** One row after parsing and validation: either an entity or an error. */
+    private record Parsed<T>(long line, T entity, String error) {
+    }
+
+    private <T> ImportReport run(InputStream in, ImportFormat format, Target<T> target) {
+        long started = System.nanoTime();
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+        List<RowError> errors = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        try (RowSource source = format == ImportFormat.CSV ? new CsvRows(reader) : new JsonRows(reader)) {
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            boolean more = true;
+            while (more) {
+                Row row = source.next();
+                if (row != null) {
+                    chunk.add(row);
+                }
+                more = row != null;
+                if (chunk.size() == CHUNK_SIZE || (!more && !chunk.isEmpty())) {
+                    rowsRead += chunk.size();
+                    List<RowError> chunkErrors = new ArrayList<>();
+                    imported += importChunk(chunk, target, chunkErrors);
+                    rejected += chunkErrors.size();
+                    for (RowError error : chunkErrors) {
+                        if (errors.size() < MAX_REPORTED_ERRORS) {
+                            errors.add(error);
+                        }
+                    }
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        double rowsPerSecond = durationMillis == 0 ? rowsRead : rowsRead * 1000.0 / durationMillis;
+        log.info("Imported {} of {} rows ({} rejected) in {} ms, {} rows/s",
+                imported, rowsRead, rejected, durationMillis, Math.round(rowsPerSecond));
+        return new ImportReport(rowsRead, imported, rejected, durationMillis, rowsPerSecond,
+                errors, rejected > errors.size());
+    }
+
+    private <T> int importChunk(List<Row> chunk, Target<T> target, List<RowError> errors) {
+        List<Parsed<T>> parsed = chunk.parallelStream().map(row -> parse(row, target)).toList();
+
+        List<Set<String>> existing = new ArrayList<>();
+        List<Map<String, Long>> seen = new ArrayList<>();
+        for (UniqueKey<T> key : target.keys()) {
+            Set<String> values = parsed.stream()
+                    .filter(p -> p.entity() != null)
+                    .map(p -> key.value().apply(p.entity()))
+                    .collect(Collectors.toSet());
+            existing.add(values.isEmpty() ? Set.of()
+                    : key.lookup().apply(values).stream().map(key::normalize).collect(Collectors.toSet()));
+            seen.add(new HashMap<>());
+        }
+        List<Parsed<T>> accepted = new ArrayList<>(parsed.size());
+        for (Parsed<T> p : parsed) {
+            String error = p.error() != null ? p.error() : duplicateError(p, target.keys(), existing, seen);
+            if (error != null) {
+                errors.add(new RowError(p.line(), error));
+            } else {
+                accepted.add(p);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        List<T> entities = accepted.stream().map(Parsed::entity).toList();
+        target.prepare().accept(entities);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(target.insertSql(), entities, entities.size(), target.setter()));
+            target.inserted().accept(entities);
+            return entities.size();
+        } catch (DataIntegrityViolationException ex) {
+            // Someone inserted one of these keys after the lookup; the unique
+            // constraints decide, so find the offending rows one at a time.
+            int inserted = insertOneByOne(accepted, target, errors);
+            errors.sort(Comparator.comparingLong(RowError::line));
+            return inserted;
+        }
+    }
+
+    private <T> int insertOneByOne(List<Parsed<T>> rows, Target<T> target, List<RowError> errors) {
+        List<T> inserted = new ArrayList<>(rows.size());
+        for (Parsed<T> row : rows) {
+            try {
+                jdbcTemplate.update(target.insertSql(), ps -> target.setter().setValues(ps, row.entity()));
+                inserted.add(row.entity());
+            } catch (DataIntegrityViolationException ex) {
+                errors.add(new RowError(row.line(), rejection(ex, row.entity(), target.keys())));
+            }
+        }
+        target.inserted().accept(inserted);
+        return inserted.size();
+    }
+
+    private static <T> String rejection(DataIntegrityViolationException ex, T entity, List<UniqueKey<T>> keys) {
+        for (UniqueKey<T> key : keys) {
+            if (key.constraint() != null && UniqueConstraints.isViolated(ex, key.constraint())) {
+                return key.label() + " " + key.value().apply(entity) + " already exists";
+            }
+        }
+        return "Rejected by the database: " + ex.getMostSpecificCause().getMessage();
+    }
+
+    private static <T> String duplicateError(Parsed<T> p, List<UniqueKey<T>> keys, List<Set<String>> existing,
+                                             List<Map<String, Long>> seen) {
+        for (int i = 0; i < keys.size(); i++) {
+            UniqueKey<T> key = keys.get(i);
+            String value = key.value().apply(p.entity());
+            String normalized = key.normalize(value);
+            if (existing.get(i).contains(normalized)) {
+                return key.label() + " " + value + " already exists";
+            }
+            Long firstLine = seen.get(i).get(normalized);
+            if (firstLine != null) {
+                return key.label() + " " + value + " already appears on line " + firstLine;
+            }
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            UniqueKey<T> key = keys.get(i);
+            seen.get(i).put(key.normalize(key.value().apply(p.entity())), p.line());
+        }
+        return null;
+    }
+
+    private <T> Parsed<T> parse(Row row, Target<T> target) {
+        Map<String, String> fields = row.fields();
+        if (fields == null) {
+            try {
+                fields = normalizeKeys(objectMapper.readValue(row.json(), JSON_OBJECT));
+            } catch (JsonProcessingException ex) {
+                return new Parsed<>(row.line(), null, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+        T entity = target.mapper().apply(fields);
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; "));
+            return new Parsed<>(row.line(), null, message);
+        }
+        return new Parsed<>(row.line(), entity, null);
+    }
+
+    /**
+     * Lower-case keys without separators, so {@code medical_history},
+     * {@code medicalHistory} and {@code Medical-History} are the same
+     * column.  Blank values become {@code null}.
+     */
+    private static Map<String, String> normalizeKeys(Map<String, ?> raw) {
+        Map<String, String> fields = new HashMap<>();
+        raw.forEach((key, value) -> {
+            String text = value == null ? null : value.toString().trim();
+            fields.put(normalizeKey(key), text == null || text.isEmpty() ? null : text);
+        });
+        return fields;
+    }
+
+    private static String normalizeKey(String key) {
+        return key.replaceAll("[_\\-\\s]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private interface RowSource extends AutoCloseable {
+
+        /** The next non-blank row, or {@code null} at end of input. */
+        Row next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class CsvRows implements RowSource {
+
+        private final CsvReader csv;
+        private List<String> header;
+
+        CsvRows(BufferedReader reader) {
+            this.csv = new CsvReader(reader);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (header == null) {
+                header = csv.next();
+                if (header == null) {
+                    return null;
+                }
+                header = header.stream().map(BulkImportService::normalizeKey).toList();
+            }
+            List<String> values;
+            while ((values = csv.next()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                Map<String, String> raw = new LinkedHashMap<>();
+                for (int i = 0; i < header.size() && i < values.size(); i++) {
+                    raw.put(header.get(i), values.get(i));
+                }
+                return new Row(csv.recordLine(), normalizeKeys(raw), null);
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            csv.close();
+        }
+    }
+
+    private static final class JsonRows implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        JsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    return new Row(line, null, text);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.clinic.service;
+
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.DeletionStatus.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes doctors and patients together with their appointments, in the
+ * background and in bounded chunks.
+ *
+ * <p>Appointments are deleted {@code chunkSize} rows per transaction with
+ * set-based {@code DELETE ... WHERE id IN (...)} statements; nothing is
+ * loaded into the persistence context, so a doctor with years of history
+ * costs a few thousand short transactions rather than one long one that
+ * holds every row in memory.  The last transaction sweeps appointments
+ * booked while the job ran and deletes the doctor's schedule, rollup rows
+ * and the doctor, or the patient.  If a booking slips in after the sweep,
+ * the foreign key rejects the final delete and the sweep is retried.
+ *
+ * <p>Archived appointments are deleted the same way, after the hot ones.
+ * Deleting a patient takes their appointments out of the
+ * {@code daily_doctor_stats} rollup chunk by chunk.  A deleted doctor's
+ * rollup rows are dropped with the doctor.
+ *
+ * <p>Job progress is kept in memory for the last {@link #MAX_FINISHED_JOBS}
+ * finished jobs and is lost on restart; a deletion interrupted by a
+ * restart can simply be requested again.
+ */
+@Service
+public class DeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletionService.class);
+
+    /** Tables holding appointments, hot first. */
+    private static final List<String> APPOINTMENT_TABLES = List.of("appointments", "appointments_archive");
+
+    static final int MAX_FINISHED_JOBS = 100;
+    static final int FINAL_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final PatientSearchIndex searchIndex;
+    private final SpecializationService specializationService;
+    private final int chunkSize;
+
+    /** Job id to job, oldest first. */
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public DeletionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           TaskExecutor taskExecutor, PatientSearchIndex searchIndex,
+                           SpecializationService specializationService,
+                           @Value("${clinic.deletion.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.searchIndex = searchIndex;
+        this.specializationService = specializationService;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Start deleting a doctor, or return the job already deleting it. */
+    public DeletionStatus deleteDoctor(long doctorId) {
+        return start(Target.DOCTOR, doctorId);
+    }
+
+    /** Start deleting a patient, or return the job already deleting them. */
+    public DeletionStatus deletePatient(long patientId) {
+        return start(Target.PATIENT, patientId);
+    }
+
+    public Optional<DeletionStatus> getStatus(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(Job::status);
+        }
+    }
+
+    private DeletionStatus start(Target target, long targetId) {
+        Job job;
+        synchronized (jobs) {
+            for (Job existing : jobs.values()) {
+                if (existing.target == target && existing.targetId == targetId && existing.state == State.RUNNING) {
+                    return existing.status();
+                }
+            }
+            job = new Job(UUID.randomUUID().toString(), target, targetId);
+            jobs.put(job.id, job);
+            prune();
+        }
+        taskExecutor.execute(() -> run(job));
+        return job.status();
+    }
+
+    private void prune() {
+        long finished = jobs.values().stream().filter(j -> j.state != State.RUNNING).count();
+        var it = jobs.values().iterator();
+        while (finished > MAX_FINISHED_JOBS && it.hasNext()) {
+            if (it.next().state != State.RUNNING) {
+                it.remove();
+                finished--;
+            }
+        }
+    }
+
+    private void run(Job job) {
+        try {
+            job.total = count(job);
+            log.info("Deleting {} {} with {} appointments", job.target.label, job.targetId, job.total);
+            for (String table : APPOINTMENT_TABLES) {
+                int deleted;
+                do {
+                    deleted = transactionTemplate.execute(status -> deleteChunk(job, table));
+                    job.deleted.addAndGet(deleted);
+                } while (deleted == chunkSize);
+            }
+            finish(job);
+            job.complete(State.COMPLETED, null);
+            log.info("Deleted {} {} and {} appointments", job.target.label, job.targetId, job.deleted.get());
+        } catch (RuntimeException ex) {
+            log.error("Deleting {} {} failed after {} appointments", job.target.label, job.targetId,
+                    job.deleted.get(), ex);
+            job.complete(State.FAILED, ex.getMessage());
+        }
+    }
+
+    private long count(Job job) {
+        long total = 0;
+        for (String table : APPOINTMENT_TABLES) {
+            Long count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE " + job.target.column + " = ?", Long.class, job.targetId);
+            total += count != null ? count : 0;
+        }
+        return total;
+    }
+
+    /** Delete up to {@code chunkSize} of the target's appointments in {@code table}; must run in a transaction. */
+    private int deleteChunk(Job job, String table) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE " + job.target.column + " = ? LIMIT ?",
+                Long.class, job.targetId, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = " IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] args = ids.toArray();
+        if (job.target == Target.PATIENT) {
+            subtractFromRollup(table, in, args);
+        }
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE id" + in, args);
+    }
+
+    /** Take the given appointments out of the rollup, one batched update per doctor and day. */
+    private void subtractFromRollup(String table, String in, Object[] ids) {
+        List<Object[]> deltas = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT doctor_id, CAST(appointment_date AS DATE), COUNT(*), " +
+                "SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN status = 'CANCELLED' THEN 0 ELSE COALESCE(duration_minutes, 30) END) " +
+                "FROM " + table + " WHERE id" + in + " GROUP BY doctor_id, CAST(appointment_date AS DATE)",
+                rs -> {
+                    deltas.add(new Object[]{rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6),
+                            rs.getLong(1), rs.getObject(2, Date.class)});
+                }, ids);
+        jdbcTemplate.batchUpdate("UPDATE daily_doctor_stats SET booked = booked - ?, cancelled = cancelled - ?, " +
+                "completed = completed - ?, booked_minutes = booked_minutes - ? " +
+                "WHERE doctor_id = ? AND stat_date = ?", deltas);
+    }
+
+    private void finish(Job job) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (String table : APPOINTMENT_TABLES) {
+                        int swept;
+                        while ((swept = deleteChunk(job, table)) > 0) {
+                            job.deleted.addAndGet(swept);
+                        }
+                    }
+                    if (job.target == Target.DOCTOR) {
+                        deleteDoctorRow(job.targetId);
+                    } else {
+                        jdbcTemplate.update("DELETE FROM patients WHERE id = ?", job.targetId);
+                        searchIndex.remove(job.targetId);
+                    }
+                });
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt == FINAL_ATTEMPTS) {
+                    throw ex;
+                }
+                log.info("Appointment booked for {} {} during deletion; sweeping again", job.target.label,
+                        job.targetId);
+            }
+        }
+    }
+
+    private void deleteDoctorRow(long doctorId) {
+        List<Long> specialization = jdbcTemplate.queryForList(
+                "SELECT specialization_id FROM doctors WHERE id = ?", Long.class, doctorId);
+        jdbcTemplate.update("DELETE FROM daily_doctor_stats WHERE doctor_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM doctor_working_hours WHERE doctor_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM doctor_time_off WHERE doctor_id = ?", doctorId);
+        jdbcTemplate.update("DELETE FROM doctors WHERE id = ?", doctorId);
+        specialization.forEach(specializationService::evictDoctors);
+    }
+
+    private enum Target {
+        DOCTOR("doctor", "doctor_id"), PATIENT("patient", "patient_id");
+
+        final String label;
+        final String column;
+
+        Target(String label, String column) {
+            this.label = label;
+            this.column = column;
+        }
+    }
+
+    private static final class Job {
+        final String id;
+        final Target target;
+        final long targetId;
+        final Instant startedAt = Instant.now();
+        final AtomicLong deleted = new AtomicLong();
+        volatile long total;
+        volatile State state = State.RUNNING;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(String id, Target target, long targetId) {
+            this.id = id;
+            this.target = target;
+            this.targetId = targetId;
+        }
+
+        void complete(State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        DeletionStatus status() {
+            return new DeletionStatus(id, target.label, targetId, state, total, deleted.get(), startedAt,
+                    finishedAt, error);
+        }
+    }
+}
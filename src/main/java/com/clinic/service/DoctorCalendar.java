@@ -0,0 +1,123 @@
+package com.clinic.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinic.model.Appointment;
+import com.clinic.model.TimeOff;
+import com.clinic.model.WorkingHours;
+
+/**
+ * A doctor's open and blocked time over a bounded window, built from a
+ * single load of working hours, time off and non-cancelled appointments.
+ * All availability questions for that window are answered in memory.
+ */
+public final class DoctorCalendar {
+
+    /** Half-open interval {@code [start, end)}. */
+    record Interval(LocalDateTime start, LocalDateTime end) {
+        boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+
+        boolean contains(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return !otherStart.isBefore(start) && !otherEnd.isAfter(end);
+        }
+    }
+
+    private final Interval window;
+    // null when the doctor has no working-hours template: open at any time
+    private final List<Interval> open;
+    private final List<Interval> timeOff;
+    private final List<Interval> booked;
+
+    private DoctorCalendar(Interval window, List<Interval> open, List<Interval> timeOff, List<Interval> booked) {
+        this.window = window;
+        this.open = open;
+        this.timeOff = timeOff;
+        this.booked = booked;
+    }
+
+    static DoctorCalendar of(LocalDateTime from, LocalDateTime to, List<WorkingHours> template,
+                             List<TimeOff> timeOff, List<Appointment> booked) {
+        List<Interval> open = null;
+        if (!template.isEmpty()) {
+            open = new ArrayList<>();
+            for (LocalDate day = from.toLocalDate(); !day.isAfter(to.toLocalDate()); day = day.plusDays(1)) {
+                for (WorkingHours hours : template) {
+                    if (hours.getDayOfWeek() == day.getDayOfWeek()) {
+                        open.add(new Interval(day.atTime(hours.getStartTime()), day.atTime(hours.getEndTime())));
+                    }
+                }
+            }
+        }
+        List<Interval> off = timeOff.stream()
+                .map(t -> new Interval(t.getStartDate(), t.getEndDate()))
+                .toList();
+        List<Interval> busy = booked.stream()
+                .map(a -> new Interval(a.getAppointmentDate(), a.getEndDate()))
+                .toList();
+        return new DoctorCalendar(new Interval(from, to), open, off, busy);
+    }
+
+    /** Whether the doctor works for the whole of {@code [start, end)}: inside one shift and not on leave. */
+    public boolean isWorking(LocalDateTime start, LocalDateTime end) {
+        if (open != null && open.stream().noneMatch(i -> i.contains(start, end))) {
+            return false;
+        }
+        return timeOff.stream().noneMatch(i -> i.overlaps(start, end));
+    }
+
+    /** Whether another appointment overlaps {@code [start, end)}. */
+    public boolean isBooked(LocalDateTime start, LocalDateTime end) {
+        return booked.stream().anyMatch(i -> i.overlaps(start, end));
+    }
+
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        return window.contains(start, end) && isWorking(start, end) && !isBooked(start, end);
+    }
+
+    /**
+     * Free start times nearest to {@code requested}, walking outwards in
+     * {@code step} increments (later before earlier at equal distance).
+     *
+     * @return at most {@code max} slots after {@code notBefore}, earliest first
+     */
+    public List<LocalDateTime> nearestFreeSlots(LocalDateTime requested, Duration duration, Duration step,
+                                                Duration searchWindow, int max, LocalDateTime notBefore) {
+        long maxSteps = searchWindow.dividedBy(step);
+        List<LocalDateTime> slots = new ArrayList<>(max);
+        for (long i = 1; i <= maxSteps && slots.size() < max; i++) {
+            Duration offset = step.multipliedBy(i);
+            for (LocalDateTime candidate : List.of(requested.plus(offset), requested.minus(offset))) {
+                if (slots.size() < max && candidate.isAfter(notBefore)
+                        && isFree(candidate, candidate.plus(duration))) {
+                    slots.add(candidate);
+                }
+            }
+        }
+        slots.sort(null);
+        return slots;
+    }
+
+    /**
+     * Every free start time in the calendar window, stepping from the start
+     * of each shift (or of the window when there is no template).
+     */
+    public List<LocalDateTime> freeSlots(Duration duration, Duration step, LocalDateTime notBefore) {
+        List<Interval> shifts = open != null ? open : List.of(window);
+        List<LocalDateTime> slots = new ArrayList<>();
+        for (Interval shift : shifts) {
+            for (LocalDateTime t = shift.start(); !t.plus(duration).isAfter(shift.end()); t = t.plus(step)) {
+                if (t.isAfter(notBefore) && isFree(t, t.plus(duration))) {
+                    slots.add(t);
+                }
+            }
+        }
+        slots.sort(null);
+        return slots;
+    }
+}
@@ -1,13 +1,25 @@
 package com.clinic.service;
 
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.DoctorResponse;
 import com.clinic.exception.BusinessException;
 import com.clinic.exception.ResourceNotFoundException;
 import com.clinic.model.Doctor;
 import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.FieldProjectionRepository;
+import com.clinic.repository.Projection;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service class for managing doctors.
@@ -15,44 +27,92 @@ import java.util.Optional;
 @Service
 public class DoctorService {
 
+    private static final Map<String, Function<Root<Doctor>, Expression<?>>> RESPONSE_COLUMNS = Map.of(
+            "id", root -> root.get("id"),
+            "name", root -> root.get("name"),
+            "specialization", root -> root.join("specialization", JoinType.LEFT).get("name"),
+            "licenseNumber", root -> root.get("licenseNumber"),
+            "email", root -> root.get("email"));
+
+    static final Projection<Doctor, DoctorResponse> RESPONSE = new Projection<>(Doctor.class, RESPONSE_COLUMNS,
+            row -> new DoctorResponse(row.get("id"), row.get("name"), row.get("specialization"),
+                    row.get("licenseNumber"), row.get("email")));
+
     private final DoctorRepository doctorRepository;
+    private final SpecializationService specializationService;
+    private final FieldProjectionRepository projections;
+    private final DeletionService deletionService;
 
-    public DoctorService(DoctorRepository doctorRepository) {
+    public DoctorService(DoctorRepository doctorRepository, SpecializationService specializationService,
+                         FieldProjectionRepository projections, DeletionService deletionService) {
         this.doctorRepository = doctorRepository;
+        this.specializationService = specializationService;
+        this.projections = projections;
+        this.deletionService = deletionService;
     }
 
-    public List<Doctor> getAllDoctors() {
-        return doctorRepository.findAll();
+    /**
+     * All doctors, selecting only the columns behind {@code fields}; the
+     * specializations table is only joined when its name is selected.
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorResponse> getAllDoctors(Set<String> fields) {
+        return projections.findAll(RESPONSE, fields);
     }
 
-    public Optional<Doctor> getDoctorById(Long id) {
-        return doctorRepository.findById(id);
+    /** One doctor, selecting only the columns behind {@code fields}. */
+    @Transactional(readOnly = true)
+    public Optional<DoctorResponse> getDoctorById(Long id, Set<String> fields) {
+        return projections.findById(RESPONSE, id, fields);
     }
 
+    @Transactional
     public Doctor createDoctor(Doctor doctor) {
         doctorRepository.findByLicenseNumber(doctor.getLicenseNumber()).ifPresent(d -> {
             throw new BusinessException("Doctor with license number " + d.getLicenseNumber() + " already exists");
         });
-        return doctorRepository.save(doctor);
+        doctor.setSpecializationRef(specializationService.resolve(doctor.getSpecialization()));
+        Doctor saved = doctorRepository.save(doctor);
+        specializationService.evictDoctors(specializationId(saved));
+        return saved;
     }
 
+    /**
+     * Doctors of a specialization, matched ignoring case; served from
+     * cache, so no transaction is started unless the list has to be loaded.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<Doctor> getDoctorsBySpecialization(String specialization) {
-        return doctorRepository.findBySpecialization(specialization);
+        return specializationService.getDoctors(specialization);
     }
 
+    @Transactional
     public Doctor updateDoctor(Long id, Doctor doctorDetails) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + id));
+        Long previousSpecializationId = specializationId(doctor);
         doctor.setName(doctorDetails.getName());
-        doctor.setSpecialization(doctorDetails.getSpecialization());
+        doctor.setSpecializationRef(specializationService.resolve(doctorDetails.getSpecialization()));
         doctor.setEmail(doctorDetails.getEmail());
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        specializationService.evictDoctors(previousSpecializationId);
+        specializationService.evictDoctors(specializationId(saved));
+        return saved;
     }
 
-    public void deleteDoctor(Long id) {
+    /**
+     * Start deleting a doctor with their appointments, schedule and rollup
+     * rows in the background; see {@link DeletionService}.
+     */
+    @Transactional
+    public DeletionStatus deleteDoctor(Long id) {
         if (!doctorRepository.existsById(id)) {
             throw new ResourceNotFoundException("Doctor not found with id: " + id);
         }
-        doctorRepository.deleteById(id);
+        return deletionService.deleteDoctor(id);
+    }
+
+    private static Long specializationId(Doctor doctor) {
+        return doctor.getSpecializationRef() != null ? doctor.getSpecializationRef().getId() : null;
     }
 }
@@ -0,0 +1,228 @@
+package com.clinic.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.clinic.dto.AppointmentRequest;
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.exception.BusinessException;
+import com.clinic.exception.IdempotencyKeyReusedException;
+import com.clinic.repository.IdempotencyKeyRepository;
+import com.clinic.repository.IdempotencyKeyRepository.StoredKey;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Books an appointment at most once per {@code Idempotency-Key}, so a
+ * client can safely retry a booking whose response it never received.
+ * A retry gets the original {@link AppointmentResponse} back without any
+ * of the booking's lookups or locks.
+ *
+ * <p>Keys are kept for {@code clinic.idempotency.ttl} (24 hours) in the
+ * {@code idempotency_keys} table, which every instance shares, and the
+ * most recent {@code clinic.idempotency.cache-size} (10,000) of them in
+ * memory as well.  Only bookings are kept: a conflict or an error leaves
+ * no trace, and a retry tries to book again.
+ *
+ * <p>A key is bound to the request it was first sent with.  Reusing it
+ * for a different request is rejected rather than answered with another
+ * booking's response.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    /** Set on a response that repeats an earlier one. */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 128;
+
+    /**
+     * How a booking request was answered.
+     *
+     * @param result   the booking, or the conflict that prevented it
+     * @param replayed whether the booking was made by an earlier request with the same key
+     */
+    public record Outcome(BookingResult result, boolean replayed) {
+    }
+
+    /** A booking held in memory, with the request it answers. */
+    private record Entry(String requestHash, AppointmentResponse response, Instant expiresAt) {
+    }
+
+    private final AppointmentService appointmentService;
+    private final IdempotencyKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final int cacheSize;
+    private final Clock clock;
+
+    /**
+     * Key to booking, least recently stored first.  Bookings made here are
+     * kept for the same time, so the head is usually the next to expire;
+     * expired entries are dropped from the head and ignored elsewhere.
+     */
+    private final Map<String, Entry> cache = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyService(AppointmentService appointmentService, IdempotencyKeyRepository repository,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                              @Value("${clinic.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${clinic.idempotency.cache-size:10000}") int cacheSize) {
+        this(appointmentService, repository, transactionManager, objectMapper, ttl, cacheSize, Clock.systemUTC());
+    }
+
+    IdempotencyService(AppointmentService appointmentService, IdempotencyKeyRepository repository,
+                       PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                       Duration ttl, int cacheSize, Clock clock) {
+        this.appointmentService = appointmentService;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.cacheSize = cacheSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Book the appointment unless {@code key} already booked it, in which
+     * case return that booking.  An attempt still running with the same
+     * key is waited for.
+     *
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     * @throws CannotAcquireLockException    if the database reports the other attempt as
+     *                                       still running rather than waiting for it
+     * @throws ConcurrencyFailureException   if the database gave up on the claim or the
+     *                                       booking, and no other attempt booked the key
+     */
+    public Outcome book(String key, AppointmentRequest request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+        Optional<AppointmentResponse> original = find(key, requestHash);
+        if (original.isPresent()) {
+            return new Outcome(new BookingResult.Accepted(original.get()), true);
+        }
+
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl);
+        BookingResult result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                repository.claim(key, requestHash, now, expiresAt);
+                BookingResult booked = appointmentService.bookAppointment(request);
+                switch (booked) {
+                    case BookingResult.Accepted accepted -> repository.complete(key,
+                            accepted.appointment().getId(), write(accepted.appointment()));
+                    case BookingResult.Conflict conflict -> repository.release(key);
+                }
+                return booked;
+            });
+        } catch (DuplicateKeyException ex) {
+            // Another attempt with this key booked first
+            return find(key, requestHash)
+                    .map(response -> new Outcome(new BookingResult.Accepted(response), true))
+                    .orElseThrow(() -> new CannotAcquireLockException(
+                            "A request with this " + HEADER + " is still in progress", ex));
+        } catch (ConcurrencyFailureException ex) {
+            // Such as a deadlock with another attempt taking over the same expired key
+            return find(key, requestHash)
+                    .map(response -> new Outcome(new BookingResult.Accepted(response), true))
+                    .orElseThrow(() -> ex);
+        }
+        if (result instanceof BookingResult.Accepted accepted) {
+            remember(key, new Entry(requestHash, accepted.appointment(), expiresAt));
+        }
+        return new Outcome(result, false);
+    }
+
+    /**
+     * Delete up to {@code limit} expired keys from the table.  Expired keys
+     * are never used, so this only bounds its size.
+     *
+     * @return number of keys deleted
+     */
+    public int purgeExpired(int limit) {
+        return repository.deleteExpired(clock.instant(), limit);
+    }
+
+    private Optional<AppointmentResponse> find(String key, String requestHash) {
+        Instant now = clock.instant();
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (entry == null || !entry.expiresAt().isAfter(now)) {
+            Optional<StoredKey> stored = repository.find(key, now);
+            if (stored.isEmpty() || stored.get().response() == null) {
+                return Optional.empty();
+            }
+            entry = new Entry(stored.get().requestHash(), read(stored.get().response()), stored.get().expiresAt());
+            remember(key, entry);
+        }
+        if (!entry.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(HEADER + " " + key + " was used for a different request");
+        }
+        return Optional.of(entry.response());
+    }
+
+    private void remember(String key, Entry entry) {
+        Instant now = clock.instant();
+        synchronized (cache) {
+            cache.remove(key);
+            cache.put(key, entry);
+            Iterator<Entry> oldest = cache.values().iterator();
+            while (oldest.hasNext()) {
+                Entry next = oldest.next();
+                if (cache.size() <= cacheSize && next.expiresAt().isAfter(now)) {
+                    break;
+                }
+                oldest.remove();
+            }
+        }
+    }
+
+    /** SHA-256 of the request as JSON, hex. */
+    private String hash(AppointmentRequest request) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String write(AppointmentResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private AppointmentResponse read(String response) {
+        try {
+            return objectMapper.readValue(response, AppointmentResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
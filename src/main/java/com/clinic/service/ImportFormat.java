@@ -0,0 +1,44 @@
+package com.clinic.service;
+
+import com.clinic.exception.BusinessException;
+
+/**
+ * Input formats accepted by {@link BulkImportService}.
+ */
+public enum ImportFormat {
+
+    /** Comma-separated values with a header row. */
+    CSV,
+
+    /** One JSON object per line. */
+    NDJSON;
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase();
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return NDJSON;
+            }
+        }
+        throw new BusinessException("Unsupported import content type: " + contentType
+                + " (use text/csv or application/x-ndjson)");
+    }
+
+    /** Format from a file name, ignoring a trailing {@code .gz}. */
+    public static ImportFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new BusinessException("Cannot tell import format from file name: " + fileName);
+    }
+}
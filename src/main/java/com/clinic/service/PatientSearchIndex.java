@@ -0,0 +1,477 @@
+package com.clinic.service;
+
+import com.clinic.dto.PatientSearchResult.Hit;
+import com.clinic.model.Patient;
+import com.clinic.util.JdbcStreaming;
+import com.clinic.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over patient name, email and phone.
+ *
+ * <p>Every word is lower-cased, stripped of accents and padded as
+ * {@code "  word "} before it is cut into trigrams, so a query word matches
+ * the start of an indexed word ({@code "jo"} finds {@code "Johnson"}) and
+ * a misspelt word still shares most of its trigrams with the right one.
+ * Only the part of an email before {@code @} is indexed; domains are
+ * shared by most patients and would match everyone.  Phones are indexed
+ * as digits, and a query made of digits and phone punctuation matches any
+ * run of those digits.
+ *
+ * <p>A patient matches when it contains at least {@link #MIN_COVERAGE} of
+ * the query's trigrams.  Results are ranked by that share, then by
+ * similarity to the whole entry so that shorter, closer entries come
+ * first.  A search reads one posting list per query trigram, so its cost
+ * follows how common the query's trigrams are, not how many patients
+ * there are.
+ *
+ * <p>{@link PatientService} keeps the index current after each commit.
+ * The whole index is rebuilt from the database at startup; updates made
+ * while it is being rebuilt are applied to both the old and the new copy.
+ */
+@Service
+public class PatientSearchIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientSearchIndex.class);
+
+    /** Share of the query's trigrams a patient must contain to match. */
+    static final double MIN_COVERAGE = 0.6;
+
+    private static final String SELECT = "SELECT id, name, email, phone FROM patients";
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s()+.-]*\\d[\\d\\s()+.-]*");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingDouble(Candidate::coverage).reversed()
+            .thenComparing(Comparator.comparingDouble(Candidate::similarity).reversed())
+            .thenComparingLong(c -> c.doc().id());
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Matches for one query.
+     *
+     * @param total number of patients matching
+     * @param hits  the requested slice of them, best first
+     */
+    public record Result(long total, List<Hit> hits) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean rebuildOnStartup;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Guarded by {@link #lock}. */
+    private Segment segment = new Segment();
+    /** Guarded by {@link #lock}; changes to replay onto the segment being rebuilt, if any. */
+    private List<Consumer<Segment>> pending;
+
+    public PatientSearchIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${clinic.search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replace the index with one streamed from the {@code patients} table.
+     * Searches keep using the old index until the new one is complete.
+     *
+     * @return number of patients indexed
+     */
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        Segment fresh = new Segment();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        boolean loaded = false;
+        try {
+            jdbcTemplate.query(con -> JdbcStreaming.prepare(con, SELECT), (RowCallbackHandler) rs ->
+                    fresh.put(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pending.forEach(change -> change.accept(fresh));
+                    segment = fresh;
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} patients for search in {} ms", fresh.size(), (System.nanoTime() - started) / 1_000_000);
+        return fresh.size();
+    }
+
+    /** Add or replace a patient once the current transaction, if any, commits. */
+    public void index(Patient patient) {
+        long id = patient.getId();
+        String name = patient.getName();
+        String email = patient.getEmail();
+        String phone = patient.getPhone();
+        TransactionCallbacks.afterCommit(() -> apply(s -> s.put(id, name, email, phone)));
+    }
+
+    /** Drop a patient once the current transaction, if any, commits. */
+    public void remove(long id) {
+        TransactionCallbacks.afterCommit(() -> apply(s -> s.remove(id)));
+    }
+
+    /**
+     * Load and index the patients with the given emails; used after inserts
+     * that do not go through JPA and so have no ids at hand.
+     */
+    public void indexByEmail(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(SELECT + " WHERE email IN (:emails)",
+                Map.of("emails", emails), (RowCallbackHandler) rs -> {
+                    long id = rs.getLong(1);
+                    String name = rs.getString(2);
+                    String email = rs.getString(3);
+                    String phone = rs.getString(4);
+                    apply(s -> s.put(id, name, email, phone));
+                });
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find patients matching {@code query}.
+     *
+     * @param offset number of best matches to skip
+     * @param limit  maximum number of hits to return
+     */
+    public Result search(String query, int offset, int limit) {
+        long[] grams = queryGrams(query);
+        if (grams.length == 0) {
+            return new Result(0, List.of());
+        }
+        int required = (int) Math.ceil(grams.length * MIN_COVERAGE - 1e-9);
+        int window = offset + limit;
+        PriorityQueue<Candidate> top = new PriorityQueue<>(window + 1, BEST_FIRST.reversed());
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            Segment s = segment;
+            Scratch scratch = SCRATCH.get();
+            int[] counts = scratch.counts(s.next);
+            Postings[] lists = new Postings[grams.length];
+            for (int g = 0; g < grams.length; g++) {
+                lists[g] = s.postings.getOrDefault(grams[g], Postings.EMPTY);
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            // A match contains at least `required` of the query's trigrams, so it
+            // is in at least one of the rarest `grams.length - required + 1`
+            // lists.  Only those lists add candidates; the common ones are still
+            // read front to back, which beats probing them, but only bump
+            // counters of patients already found.
+            int seeding = grams.length - required + 1;
+            for (int g = 0; g < lists.length; g++) {
+                Postings postings = lists[g];
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.docs[i];
+                    if (counts[doc] > 0) {
+                        counts[doc]++;
+                    } else if (g < seeding) {
+                        counts[doc] = 1;
+                        scratch.touch(doc);
+                    }
+                }
+            }
+            for (int i = 0; i < scratch.touched; i++) {
+                int doc = scratch.docs[i];
+                int matched = counts[doc];
+                counts[doc] = 0;
+                if (matched < required) {
+                    continue;
+                }
+                total++;
+                Doc entry = s.docs[doc];
+                Candidate candidate = new Candidate(entry, (double) matched / grams.length,
+                        (double) matched / (grams.length + entry.grams() - matched));
+                if (top.size() < window) {
+                    top.offer(candidate);
+                } else if (BEST_FIRST.compare(candidate, top.peek()) < 0) {
+                    top.poll();
+                    top.offer(candidate);
+                }
+            }
+            scratch.touched = 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(BEST_FIRST);
+        List<Hit> hits = ranked.stream().skip(offset).map(c -> new Hit(c.doc().id(), c.doc().name(),
+                c.doc().email(), c.doc().phone(), Math.round(c.coverage() * 1000) / 1000.0)).toList();
+        return new Result(total, hits);
+    }
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static long[] docGrams(String name, String email, String phone) {
+        Grams grams = new Grams();
+        for (String word : words(name)) {
+            grams.add("  " + word + " ");
+        }
+        for (String word : words(localPart(email))) {
+            grams.add("  " + word + " ");
+        }
+        String digits = digits(phone);
+        if (!digits.isEmpty()) {
+            grams.add("  " + digits + " ");
+        }
+        return grams.distinct();
+    }
+
+    static long[] queryGrams(String query) {
+        Grams grams = new Grams();
+        if (query == null) {
+            return grams.distinct();
+        }
+        if (PHONE_QUERY.matcher(query).matches()) {
+            String digits = digits(query);
+            grams.add(digits.length() >= 3 ? digits : "  " + digits);
+        } else {
+            for (String word : words(localPart(query))) {
+                grams.add("  " + word);
+            }
+        }
+        return grams.distinct();
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(NON_WORD.split(folded)).filter(w -> !w.isEmpty()).toList();
+    }
+
+    private static String localPart(String text) {
+        if (text == null) {
+            return null;
+        }
+        int at = text.indexOf('@');
+        return at >= 0 ? text.substring(0, at) : text;
+    }
+
+    private static String digits(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /** An indexed patient; {@code grams} is the number of distinct trigrams it was indexed under. */
+    private record Doc(long id, String name, String email, String phone, int grams) {
+    }
+
+    private record Candidate(Doc doc, double coverage, double similarity) {
+    }
+
+    /**
+     * One copy of the index.  Patients are numbered densely in the order
+     * they are added so that posting lists and per-query counters can be
+     * plain {@code int} arrays; a number is not reused after removal.
+     */
+    private static final class Segment {
+
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> docIds = new HashMap<>();
+        private Doc[] docs = new Doc[1024];
+        private int next;
+
+        void put(long id, String name, String email, String phone) {
+            Integer existing = docIds.get(id);
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unpost(doc);
+            } else {
+                doc = next++;
+                if (doc == docs.length) {
+                    docs = Arrays.copyOf(docs, docs.length * 2);
+                }
+                docIds.put(id, doc);
+            }
+            long[] grams = docGrams(name, email, phone);
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+            }
+            docs[doc] = new Doc(id, name, email, phone, grams.length);
+        }
+
+        void remove(long id) {
+            Integer doc = docIds.remove(id);
+            if (doc != null) {
+                unpost(doc);
+                docs[doc] = null;
+            }
+        }
+
+        int size() {
+            return docIds.size();
+        }
+
+        private void unpost(int doc) {
+            Doc old = docs[doc];
+            for (long gram : docGrams(old.name(), old.email(), old.phone())) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(doc)) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /** Sorted document numbers containing one trigram. */
+    private static final class Postings {
+
+        static final Postings EMPTY = new Postings();
+
+        private int[] docs = new int[2];
+        private int size;
+
+
+        void add(int doc) {
+            int at = size;
+            if (size > 0 && docs[size - 1] >= doc) {
+                at = Arrays.binarySearch(docs, 0, size, doc);
+                if (at >= 0) {
+                    return;
+                }
+                at = -at - 1;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            System.arraycopy(docs, at, docs, at + 1, size - at);
+            docs[at] = doc;
+            size++;
+        }
+
+        /** @return whether the list is now empty */
+        boolean remove(int doc) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            if (at >= 0) {
+                System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+                size--;
+            }
+            return size == 0;
+        }
+    }
+
+    /** Trigrams of one entry or query, packed three UTF-16 chars to a {@code long}. */
+    private static final class Grams {
+
+        private long[] grams = new long[32];
+        private int size;
+
+        void add(String text) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                if (size == grams.length) {
+                    grams = Arrays.copyOf(grams, size * 2);
+                }
+                grams[size++] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+            }
+        }
+
+        long[] distinct() {
+            Arrays.sort(grams, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || grams[i] != grams[unique - 1]) {
+                    grams[unique++] = grams[i];
+                }
+            }
+            return Arrays.copyOf(grams, unique);
+        }
+    }
+
+    /** Per-thread match counters, reset after every search. */
+    private static final class Scratch {
+
+        private int[] counts = new int[0];
+        private int[] docs = new int[256];
+        private int touched;
+
+        int[] counts(int capacity) {
+            if (counts.length < capacity) {
+                counts = new int[Math.max(capacity, counts.length * 2)];
+            }
+            return counts;
+        }
+
+        void touch(int doc) {
+            if (touched == docs.length) {
+                docs = Arrays.copyOf(docs, touched * 2);
+            }
+            docs[touched++] = doc;
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.clinic.service;
 
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.PatientResponse;
+import com.clinic.dto.PatientSearchResult;
 import com.clinic.exception.BusinessException;
 import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.exception.UniqueConstraints;
 import com.clinic.model.Patient;
+import com.clinic.repository.FieldProjectionRepository;
 import com.clinic.repository.PatientRepository;
+import com.clinic.repository.Projection;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service class for managing patients.
@@ -15,30 +29,86 @@ import java.util.Optional;
 @Service
 public class PatientService {
 
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_WINDOW = 1000;
+
+    private static final Map<String, Function<Root<Patient>, Expression<?>>> RESPONSE_COLUMNS = Map.of(
+            "id", root -> root.get("id"),
+            "name", root -> root.get("name"),
+            "email", root -> root.get("email"),
+            "phone", root -> root.get("phone"),
+            "medicalHistory", root -> root.get("medicalHistory"));
+
+    static final Projection<Patient, PatientResponse> RESPONSE = new Projection<>(Patient.class, RESPONSE_COLUMNS,
+            row -> new PatientResponse(row.get("id"), row.get("name"), row.get("email"), row.get("phone"),
+                    row.get("medicalHistory")));
+
     private final PatientRepository patientRepository;
+    private final PatientSearchIndex searchIndex;
+    private final FieldProjectionRepository projections;
+    private final DeletionService deletionService;
 
-    public PatientService(PatientRepository patientRepository) {
+    public PatientService(PatientRepository patientRepository, PatientSearchIndex searchIndex,
+                          FieldProjectionRepository projections, DeletionService deletionService) {
         this.patientRepository = patientRepository;
+        this.searchIndex = searchIndex;
+        this.projections = projections;
+        this.deletionService = deletionService;
     }
 
-    public List<Patient> getAllPatients() {
-        return patientRepository.findAll();
+    /** All patients, selecting only the columns behind {@code fields}. */
+    @Transactional(readOnly = true)
+    public List<PatientResponse> getAllPatients(Set<String> fields) {
+        return projections.findAll(RESPONSE, fields);
     }
 
-    public Optional<Patient> getPatientById(Long id) {
-        return patientRepository.findById(id);
+    /** One patient, selecting only the columns behind {@code fields}. */
+    @Transactional(readOnly = true)
+    public Optional<PatientResponse> getPatientById(Long id, Set<String> fields) {
+        return projections.findById(RESPONSE, id, fields);
+    }
+
+    /**
+     * Search patients by partial name, email or phone from the in-memory
+     * index; see {@link PatientSearchIndex}.  Only the first
+     * {@link #MAX_SEARCH_WINDOW} matches can be paged through.  Needs
+     * no connection, so it starts no transaction of its own.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public PatientSearchResult searchPatients(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessException("Search query must not be blank");
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BusinessException("Page must be 0 or more and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if ((long) page * size + size > MAX_SEARCH_WINDOW) {
+            throw new BusinessException("Only the first " + MAX_SEARCH_WINDOW + " matches can be paged through");
+        }
+        PatientSearchIndex.Result result = searchIndex.search(query, page * size, size);
+        return new PatientSearchResult(query, page, size, result.total(), result.hits());
     }
 
+    /**
+     * Create a patient with a single insert.  Duplicate emails and phones
+     * are rejected by the unique constraints, which also hold when two
+     * requests race.  The search index sees the patient once the
+     * transaction commits; {@link PatientSearchIndex#index} waits for that
+     * itself.
+     */
+    @Transactional
     public Patient createPatient(Patient patient) {
-        patientRepository.findByEmail(patient.getEmail()).ifPresent(p -> {
-            throw new BusinessException("Patient with email " + p.getEmail() + " already exists");
-        });
-        patientRepository.findByPhone(patient.getPhone()).ifPresent(p -> {
-            throw new BusinessException("Patient with phone " + p.getPhone() + " already exists");
-        });
-        return patientRepository.save(patient);
+        Patient saved;
+        try {
+            saved = patientRepository.save(patient);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicate(ex, patient);
+        }
+        searchIndex.index(saved);
+        return saved;
     }
 
+    @Transactional
     public Patient updatePatient(Long id, Patient patientDetails) {
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + id));
@@ -46,13 +116,35 @@ public class PatientService {
         patient.setEmail(patientDetails.getEmail());
         patient.setPhone(patientDetails.getPhone());
         patient.setMedicalHistory(patientDetails.getMedicalHistory());
-        return patientRepository.save(patient);
+        Patient saved;
+        try {
+            saved = patientRepository.saveAndFlush(patient);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicate(ex, patient);
+        }
+        searchIndex.index(saved);
+        return saved;
+    }
+
+    private static RuntimeException duplicate(DataIntegrityViolationException ex, Patient patient) {
+        if (UniqueConstraints.isViolated(ex, Patient.EMAIL_CONSTRAINT)) {
+            return new BusinessException("Patient with email " + patient.getEmail() + " already exists");
+        }
+        if (UniqueConstraints.isViolated(ex, Patient.PHONE_CONSTRAINT)) {
+            return new BusinessException("Patient with phone " + patient.getPhone() + " already exists");
+        }
+        return ex;
     }
 
-    public void deletePatient(Long id) {
+    /**
+     * Start deleting a patient with their appointments in the background;
+     * see {@link DeletionService}.
+     */
+    @Transactional
+    public DeletionStatus deletePatient(Long id) {
         if (!patientRepository.existsById(id)) {
             throw new ResourceNotFoundException("Patient not found with id: " + id);
         }
-        patientRepository.deleteById(id);
+        return deletionService.deletePatient(id);
     }
 }
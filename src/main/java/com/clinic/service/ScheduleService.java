@@ -0,0 +1,136 @@
+package com.clinic.service;
+
+import com.clinic.dto.TimeOffDto;
+import com.clinic.dto.WorkingHoursDto;
+import com.clinic.exception.BusinessException;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.model.Appointment;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.model.Doctor;
+import com.clinic.model.TimeOff;
+import com.clinic.model.TimeOffType;
+import com.clinic.model.WorkingHours;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.TimeOffRepository;
+import com.clinic.repository.WorkingHoursRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class for doctors' working hours, time off and availability.
+ */
+@Service
+public class ScheduleService {
+
+    /** Granularity of suggested and listed start times. */
+    static final Duration SLOT_STEP = Duration.ofMinutes(30);
+
+    private final AppointmentRepository appointmentRepository;
+    private final WorkingHoursRepository workingHoursRepository;
+    private final TimeOffRepository timeOffRepository;
+    private final DoctorRepository doctorRepository;
+
+    public ScheduleService(AppointmentRepository appointmentRepository, WorkingHoursRepository workingHoursRepository,
+                           TimeOffRepository timeOffRepository, DoctorRepository doctorRepository) {
+        this.appointmentRepository = appointmentRepository;
+        this.workingHoursRepository = workingHoursRepository;
+        this.timeOffRepository = timeOffRepository;
+        this.doctorRepository = doctorRepository;
+    }
+
+    /**
+     * Load everything that decides a doctor's availability in {@code [from, to)}:
+     * the weekly template, overlapping time off and overlapping non-cancelled
+     * appointments, each with one indexed query.
+     */
+    public DoctorCalendar loadCalendar(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        return DoctorCalendar.of(from, to,
+                workingHoursRepository.findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(doctorId),
+                timeOffRepository.findOverlapping(doctorId, from, to),
+                appointmentRepository.findOverlappingExcludingStatus(doctorId, from, to, AppointmentStatus.CANCELLED));
+    }
+
+    public List<LocalDateTime> getAvailability(Long doctorId, LocalDate date, int durationMinutes) {
+        Duration duration = appointmentDuration(durationMinutes);
+        requireDoctor(doctorId);
+        DoctorCalendar calendar = loadCalendar(doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        return calendar.freeSlots(duration, SLOT_STEP, LocalDateTime.now());
+    }
+
+    /**
+     * The length of an appointment of {@code minutes}, or of the default
+     * length when {@code null}.  Checked here rather than only by the
+     * request's constraints, which nothing enforces on the REST path: a
+     * negative length would overlap no booking, and a huge one overflows.
+     */
+    static Duration appointmentDuration(Integer minutes) {
+        if (minutes == null) {
+            return Duration.ofMinutes(Appointment.DEFAULT_DURATION_MINUTES);
+        }
+        if (minutes < Appointment.MIN_DURATION_MINUTES || minutes > Appointment.MAX_DURATION_MINUTES) {
+            throw new BusinessException("Duration must be between " + Appointment.MIN_DURATION_MINUTES + " and "
+                    + Appointment.MAX_DURATION_MINUTES + " minutes");
+        }
+        return Duration.ofMinutes(minutes);
+    }
+
+    public List<WorkingHoursDto> getWorkingHours(Long doctorId) {
+        requireDoctor(doctorId);
+        return workingHoursRepository.findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(doctorId).stream()
+                .map(WorkingHoursDto::from)
+                .toList();
+    }
+
+    @Transactional
+    public List<WorkingHoursDto> replaceWorkingHours(Long doctorId, List<WorkingHoursDto> template) {
+        Doctor doctor = requireDoctor(doctorId);
+        for (WorkingHoursDto shift : template) {
+            if (shift.dayOfWeek() == null || shift.startTime() == null || shift.endTime() == null) {
+                throw new BusinessException("Working hours require dayOfWeek, startTime and endTime");
+            }
+            if (!shift.startTime().isBefore(shift.endTime())) {
+                throw new BusinessException("Working hours must end after they start: " + shift);
+            }
+        }
+        workingHoursRepository.deleteByDoctorId(doctorId);
+        workingHoursRepository.saveAll(template.stream()
+                .map(shift -> new WorkingHours(doctor, shift.dayOfWeek(), shift.startTime(), shift.endTime()))
+                .toList());
+        return getWorkingHours(doctorId);
+    }
+
+    public List<TimeOffDto> getTimeOff(Long doctorId) {
+        requireDoctor(doctorId);
+        return timeOffRepository.findByDoctorIdOrderByStartDateAsc(doctorId).stream()
+                .map(TimeOffDto::from)
+                .toList();
+    }
+
+    public TimeOffDto addTimeOff(Long doctorId, TimeOffDto request) {
+        Doctor doctor = requireDoctor(doctorId);
+        if (!request.startDate().isBefore(request.endDate())) {
+            throw new BusinessException("Time off must end after it starts");
+        }
+        TimeOffType type = request.type() != null ? request.type() : TimeOffType.LEAVE;
+        TimeOff saved = timeOffRepository.save(
+                new TimeOff(doctor, request.startDate(), request.endDate(), type, request.reason()));
+        return TimeOffDto.from(saved);
+    }
+
+    public void deleteTimeOff(Long doctorId, Long timeOffId) {
+        TimeOff timeOff = timeOffRepository.findByIdAndDoctorId(timeOffId, doctorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Time off not found with id: " + timeOffId));
+        timeOffRepository.delete(timeOff);
+    }
+
+    private Doctor requireDoctor(Long doctorId) {
+        return doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + doctorId));
+    }
+}
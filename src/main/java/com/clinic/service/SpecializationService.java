@@ -0,0 +1,191 @@
+package com.clinic.service;
+
+import com.clinic.datasource.ReadYourWrites;
+import com.clinic.exception.BusinessException;
+import com.clinic.exception.UniqueConstraints;
+import com.clinic.model.Doctor;
+import com.clinic.model.Specialization;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.SpecializationRepository;
+import com.clinic.util.TransactionCallbacks;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Resolves specialization names to rows of the {@code specializations}
+ * table and caches the doctors of each one.
+ *
+ * <p>Names are matched case-insensitively and ignoring surrounding
+ * whitespace, so "cardiology " and "Cardiology" are one specialization.
+ * The whole table is held in memory; it has a few dozen rows and changes
+ * only when a doctor brings a new one.
+ *
+ * <p>Doctor lists are cached per specialization and dropped by
+ * {@link #evictDoctors(Long)} after the transaction that changed them
+ * commits.  A list loaded while an eviction is in flight is not cached,
+ * so a stale list cannot outlive the change that made it stale.  Lists
+ * and the name table are always read from the primary, in a read-only
+ * transaction of their own; a replica that has not caught up with the
+ * eviction's commit would otherwise refill the cache with the old list.
+ * The cache is per instance: changes made through another instance or
+ * directly in the database show up after a restart.
+ */
+@Service
+public class SpecializationService {
+
+    private final SpecializationRepository specializationRepository;
+    private final DoctorRepository doctorRepository;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate primaryRead;
+
+    /** Normalized name to specialization; replaced, never modified. */
+    private volatile Map<String, Specialization> byName;
+
+    private final Map<Long, List<Doctor>> doctorsBySpecialization = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SpecializationService(SpecializationRepository specializationRepository,
+                                 DoctorRepository doctorRepository, PlatformTransactionManager transactionManager) {
+        this.specializationRepository = specializationRepository;
+        this.doctorRepository = doctorRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryRead.setReadOnly(true);
+    }
+
+    public List<Specialization> getAllSpecializations() {
+        return names().values().stream().sorted(Comparator.comparing(Specialization::getName)).toList();
+    }
+
+    /**
+     * Specializations whose name contains {@code query}, ignoring case;
+     * names starting with it come first.
+     */
+    public List<Specialization> searchSpecializations(String query) {
+        String key = normalize(query);
+        return names().values().stream()
+                .filter(s -> normalize(s.getName()).contains(key))
+                .sorted(Comparator.comparing((Specialization s) -> !normalize(s.getName()).startsWith(key))
+                        .thenComparing(Specialization::getName))
+                .toList();
+    }
+
+    public Optional<Specialization> findSpecialization(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        String key = normalize(name);
+        Specialization found = names().get(key);
+        if (found == null) {
+            // May have been added by another instance since the table was loaded.
+            found = reload().get(key);
+        }
+        return Optional.ofNullable(found);
+    }
+
+    /**
+     * The specialization called {@code name}, created if this is the first
+     * doctor to use it.
+     *
+     * <p>A new row is inserted in a transaction of its own.  Losing the
+     * insert to another instance would otherwise mark the caller's
+     * transaction rollback-only, and the caller's snapshot might not see
+     * the winner's row.
+     */
+    public synchronized Specialization resolve(String name) {
+        if (name == null || name.isBlank()) {
+            throw new BusinessException("Specialization is required");
+        }
+        Optional<Specialization> existing = findSpecialization(name);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Specialization created;
+        try {
+            created = newTransaction.execute(status ->
+                    specializationRepository.saveAndFlush(new Specialization(name.strip())));
+        } catch (DataIntegrityViolationException ex) {
+            if (!UniqueConstraints.isViolated(ex, Specialization.NAME_CONSTRAINT)) {
+                throw ex;
+            }
+            // Another instance created it first.
+            return Optional.ofNullable(reload().get(normalize(name)))
+                    .orElseThrow(() -> ex);
+        }
+        add(created);
+        return created;
+    }
+
+    /** Doctors registered under {@code name}, by name; empty if there is no such specialization. */
+    public List<Doctor> getDoctors(String name) {
+        return findSpecialization(name).map(s -> doctorsOf(s.getId())).orElse(List.of());
+    }
+
+    private List<Doctor> doctorsOf(Long specializationId) {
+        List<Doctor> cached = doctorsBySpecialization.get(specializationId);
+        if (cached != null) {
+            return cached;
+        }
+        long before = evictions.get();
+        List<Doctor> loaded = readPrimary(
+                () -> List.copyOf(doctorRepository.findBySpecializationIdOrderByNameAsc(specializationId)));
+        if (evictions.get() == before) {
+            doctorsBySpecialization.putIfAbsent(specializationId, loaded);
+        }
+        return loaded;
+    }
+
+    /** Forget the cached doctors of a specialization once the current transaction commits. */
+    public void evictDoctors(Long specializationId) {
+        if (specializationId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            evictions.incrementAndGet();
+            doctorsBySpecialization.remove(specializationId);
+        });
+    }
+
+    private Map<String, Specialization> names() {
+        Map<String, Specialization> names = byName;
+        return names != null ? names : reload();
+    }
+
+    private synchronized Map<String, Specialization> reload() {
+        Map<String, Specialization> names = new HashMap<>();
+        for (Specialization specialization : readPrimary(specializationRepository::findAll)) {
+            names.putIfAbsent(normalize(specialization.getName()), specialization);
+        }
+        byName = Map.copyOf(names);
+        return byName;
+    }
+
+    private <T> T readPrimary(Supplier<T> read) {
+        return ReadYourWrites.onPrimary(() -> primaryRead.execute(status -> read.get()));
+    }
+
+    private synchronized void add(Specialization specialization) {
+        Map<String, Specialization> names = new HashMap<>(names());
+        names.putIfAbsent(normalize(specialization.getName()), specialization);
+        byName = Map.copyOf(names);
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,64 @@
+package com.clinic.util;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.clinic.exception.BusinessException;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Sparse fieldsets: the {@code ?fields=id,name} parameter of list and
+ * detail endpoints.
+ *
+ * <p>Response types opt in with {@code @JsonFilter(FieldSelection.FILTER)};
+ * {@link #filter(Object, Set)} then writes only the selected properties.
+ * Properties that were selected but are {@code null} are still written.
+ */
+public final class FieldSelection {
+
+    /** Jackson filter id carried by response types that support sparse fieldsets. */
+    public static final String FILTER = "fields";
+
+    private FieldSelection() {
+    }
+
+    /**
+     * The fields named in a comma-separated {@code fields} parameter, or
+     * {@code defaults} if it is absent or blank.
+     *
+     * @throws BusinessException if a name is not one of {@code allowed}
+     */
+    public static Set<String> parse(String fields, List<String> allowed, Collection<String> defaults) {
+        if (fields == null || fields.isBlank()) {
+            return Set.copyOf(defaults);
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.strip();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new BusinessException("Unknown field '" + name + "'; expected any of " + String.join(",", allowed));
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            return Set.copyOf(defaults);
+        }
+        return Set.copyOf(selected);
+    }
+
+    /** Wrap a response body so that only {@code fields} are serialized. */
+    public static MappingJacksonValue filter(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+}
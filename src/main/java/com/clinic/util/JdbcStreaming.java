@@ -0,0 +1,31 @@
+package com.clinic.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepares statements whose results are read once, front to back, without
+ * holding the whole result in memory.  MySQL Connector/J buffers every row
+ * unless the fetch size is {@link Integer#MIN_VALUE}; other drivers take a
+ * positive fetch size as a hint.
+ */
+public final class JdbcStreaming {
+
+    /** Fetch size for drivers that honour a positive hint. */
+    public static final int FETCH_SIZE = 1000;
+
+    private JdbcStreaming() {
+    }
+
+    public static PreparedStatement prepare(Connection con, String sql) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(isMySql(con) ? Integer.MIN_VALUE : FETCH_SIZE);
+        return ps;
+    }
+
+    private static boolean isMySql(Connection con) throws SQLException {
+        return con.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+}
@@ -0,0 +1,66 @@
+package com.clinic.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most one log line per key through in each interval and counts
+ * the ones it swallowed, so a burst of identical warnings costs a map
+ * lookup instead of a formatted log event.
+ */
+public final class LogThrottle {
+    private static final int DEFAULT_MAX_KEYS = 1024;
+
+    private final long intervalNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogThrottle(Duration interval) {
+        this(interval, DEFAULT_MAX_KEYS, System::nanoTime);
+    }
+
+    LogThrottle(Duration interval, int maxKeys, LongSupplier nanoClock) {
+        this.intervalNanos = interval.toNanos();
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Record an occurrence of {@code key}.
+     *
+     * @param key message or category being throttled
+     * @return {@code -1} if the caller should stay silent, otherwise the
+     *         number of occurrences suppressed since the last permitted one
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Window window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxKeys) {
+                // Keys may embed ids; forgetting them is cheaper than an LRU.
+                windows.clear();
+            }
+            window = windows.computeIfAbsent(key, k -> new Window(now));
+        }
+        long next = window.nextPermitted.get();
+        if (now - next >= 0 && window.nextPermitted.compareAndSet(next, now + intervalNanos)) {
+            return window.suppressed.sumThenReset();
+        }
+        window.suppressed.increment();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextPermitted;
+        private final LongAdder suppressed = new LongAdder();
+
+        private Window(long now) {
+            this.nextPermitted = new AtomicLong(now);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.clinic.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per key: a key may take up to {@code burst} tokens at
+ * once, and gets one back every {@code 1 / rate} seconds.
+ *
+ * <p>A bucket is a single {@link AtomicLong}, the time at which it will be
+ * full again, so taking a token is one compare-and-set and never blocks.
+ * Threads contend only when they take from the same bucket.  A full bucket
+ * holds nothing a new one would not, so when the table reaches its size
+ * limit the full ones are dropped; if that is not enough, it is cleared.
+ */
+public final class TokenBuckets {
+    private static final int DEFAULT_MAX_KEYS = 100_000;
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+
+    /**
+     * @param rate  tokens returned to each bucket per second
+     * @param burst tokens a full bucket holds
+     */
+    public TokenBuckets(double rate, int burst) {
+        this(rate, burst, DEFAULT_MAX_KEYS, System::nanoTime);
+    }
+
+    TokenBuckets(double rate, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / rate));
+        this.capacityNanos = intervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take a token from {@code key}'s bucket.
+     *
+     * @return {@code 0} if one was taken, otherwise the nanoseconds until
+     *         the bucket will have one
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = fullAt.get(key);
+        if (bucket == null) {
+            if (fullAt.size() >= maxKeys) {
+                evict(now);
+            }
+            bucket = fullAt.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long full = bucket.get();
+            long next = (full - now > 0 ? full : now) + intervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Number of keys with a bucket. */
+    public int size() {
+        return fullAt.size();
+    }
+
+    private void evict(long now) {
+        fullAt.values().removeIf(bucket -> bucket.get() - now <= 0);
+        if (fullAt.size() >= maxKeys) {
+            // Every key is mid-burst; forgetting them all is cheaper than an LRU.
+            fullAt.clear();
+        }
+    }
+}
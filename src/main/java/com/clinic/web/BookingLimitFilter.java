@@ -0,0 +1,86 @@
+package com.clinic.web;
+
+import java.io.IOException;
+import java.time.Clock;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.clinic.exception.ErrorResponse;
+import com.clinic.service.BookingLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the {@link BookingLimiter} to {@code POST /api/appointments}
+ * before the request body is even read.  A client over its rate gets
+ * {@code 429 Too Many Requests}, and a booking when too many are in
+ * progress {@code 503 Service Unavailable}, both with {@code Retry-After}.
+ *
+ * <p>Clients identify themselves with the {@value #API_KEY_HEADER}
+ * header; without a known key, the client is the request's remote
+ * address.
+ */
+public class BookingLimitFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-Api-Key";
+    static final String BOOKING_PATH = "/api/appointments";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final BookingLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public BookingLimitFilter(BookingLimiter limiter, ObjectMapper objectMapper, Clock clock) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !BOOKING_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        boolean staff = limiter.isStaff(apiKey);
+        if (!staff) {
+            long wait = limiter.tryAcquireRate(limiter.client(apiKey, request.getRemoteAddr()));
+            if (wait > 0) {
+                long seconds = (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, seconds,
+                        "Too many bookings from this client, please retry in " + seconds + " s");
+                return;
+            }
+        }
+        if (!limiter.tryAcquire(staff)) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Too many bookings in progress, please retry");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(clock.instant(), status.value(), status.getReasonPhrase(), message));
+    }
+}
@@ -0,0 +1,84 @@
+package com.clinic.web;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.clinic.datasource.ReadYourWrites;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a client's reads on the primary for a while after it writes, so
+ * that, for example, the appointment list it fetches right after booking
+ * includes the booking.
+ *
+ * <p>When a request commits a write, the response sets the
+ * {@value #COOKIE} cookie to the time until which the client's requests
+ * are pinned to the primary.  The cookie carries the state, so it holds
+ * whichever instance serves the next request.  Clients that drop cookies
+ * read from replicas and may briefly miss their own writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "clinic-primary-until";
+
+    private final Duration window;
+    private final Clock clock;
+
+    /**
+     * @param window how long after a write the client's reads stay on the
+     *               primary; at least the longest lag a replica may have
+     *               and still serve reads
+     */
+    public ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (ReadYourWrites.Scope scope = ReadYourWrites.open(pinned(request), () -> pin(response))) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private boolean pinned(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > clock.millis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void pin(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, String.valueOf(clock.millis() + window.toMillis()))
+                .path("/")
+                .maxAge(window.plusSeconds(1))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
@@ -11,29 +11,61 @@ INSERT IGNORE INTO patients (id, name, email, phone, medical_history) VALUES
 (9, 'George Lucas', 'george.lucas@example.com', '7777777777', 'High cholesterol'),
 (10, 'Hannah Montana', 'hannah.montana@example.com', '8888888888', 'No known allergies');
 
+-- Insert sample specializations - use INSERT IGNORE to be idempotent
+INSERT IGNORE INTO specializations (id, name) VALUES
+(1, 'Cardiology'),
+(2, 'Dermatology'),
+(3, 'Pediatrics'),
+(4, 'Orthopedics'),
+(5, 'Neurology'),
+(6, 'General Practice'),
+(7, 'Ophthalmology'),
+(8, 'ENT');
+
 -- Insert sample doctors (8 doctors) - use INSERT IGNORE to be idempotent
-INSERT IGNORE INTO doctors (id, name, specialization, license_number, email) VALUES 
-(1, 'Dr. Sarah Williams', 'Cardiology', 'CARD001', 'sarah.williams@clinic.com'),
-(2, 'Dr. Michael Brown', 'Dermatology', 'DERM001', 'michael.brown@clinic.com'),
-(3, 'Dr. Emily Davis', 'Pediatrics', 'PEDI001', 'emily.davis@clinic.com'),
-(4, 'Dr. James Wilson', 'Orthopedics', 'ORTH001', 'james.wilson@clinic.com'),
-(5, 'Dr. Lisa Anderson', 'Neurology', 'NEUR001', 'lisa.anderson@clinic.com'),
-(6, 'Dr. Robert Taylor', 'General Practice', 'GP001', 'robert.taylor@clinic.com'),
-(7, 'Dr. Patricia White', 'Ophthalmology', 'OPTH001', 'patricia.white@clinic.com'),
-(8, 'Dr. Christopher Lee', 'ENT', 'ENT001', 'christopher.lee@clinic.com');
+INSERT IGNORE INTO doctors (id, name, specialization_id, license_number, email) VALUES 
+(1, 'Dr. Sarah Williams', 1, 'CARD001', 'sarah.williams@clinic.com'),
+(2, 'Dr. Michael Brown', 2, 'DERM001', 'michael.brown@clinic.com'),
+(3, 'Dr. Emily Davis', 3, 'PEDI001', 'emily.davis@clinic.com'),
+(4, 'Dr. James Wilson', 4, 'ORTH001', 'james.wilson@clinic.com'),
+(5, 'Dr. Lisa Anderson', 5, 'NEUR001', 'lisa.anderson@clinic.com'),
+(6, 'Dr. Robert Taylor', 6, 'GP001', 'robert.taylor@clinic.com'),
+(7, 'Dr. Patricia White', 7, 'OPTH001', 'patricia.white@clinic.com'),
+(8, 'Dr. Christopher Lee', 8, 'ENT001', 'christopher.lee@clinic.com');
 
 -- Insert sample appointments (12 appointments with different statuses)
--- Use INSERT IGNORE and MySQL-compatible timestamp expressions (relative to now)
-INSERT IGNORE INTO appointments (id, patient_id, doctor_id, appointment_date, notes, status, created_at, updated_at) VALUES 
-(1, 1, 1, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 2 DAY), 'Regular checkup for heart condition', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(2, 2, 6, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 3 DAY), 'Annual diabetes screening', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(3, 3, 1, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 4 DAY), 'Blood pressure follow-up', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(4, 4, 2, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 5 DAY), 'Skin rash consultation', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(5, 5, 3, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 1 DAY), 'Pediatric wellness visit', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(6, 6, 5, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 6 DAY), 'Thyroid check', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(7, 7, 2, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 7 DAY), 'Migraine treatment plan', 'CANCELLED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(8, 8, 4, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 8 DAY), 'Orthopedic consultation', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(9, 9, 6, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 9 DAY), 'Cholesterol management', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(10, 10, 7, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 10 DAY), 'Eye examination', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(11, 1, 8, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 11 DAY), 'ENT consultation', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(12, 2, 3, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 12 DAY), 'Child immunization', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
\ No newline at end of file
+-- Use INSERT IGNORE and MySQL-compatible timestamp expressions (relative to now).  Seed rows
+-- the archiver has moved are not created again: the id would then be in both tables, and
+-- archiving the new copy would fail on the archive's primary key.  The VALUES table's
+-- columns are column_0 (id), column_1 and so on.
+INSERT IGNORE INTO appointments (id, patient_id, doctor_id, appointment_date, duration_minutes, appointment_end, notes, status, created_at, updated_at)
+SELECT * FROM (VALUES
+ROW(1, 1, 1, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 2 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 2 DAY), INTERVAL 30 MINUTE), 'Regular checkup for heart condition', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(2, 2, 6, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 3 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 3 DAY), INTERVAL 30 MINUTE), 'Annual diabetes screening', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(3, 3, 1, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 4 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 4 DAY), INTERVAL 30 MINUTE), 'Blood pressure follow-up', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(4, 4, 2, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 5 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 5 DAY), INTERVAL 30 MINUTE), 'Skin rash consultation', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(5, 5, 3, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 1 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 1 DAY), INTERVAL 30 MINUTE), 'Pediatric wellness visit', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(6, 6, 5, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 6 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 6 DAY), INTERVAL 30 MINUTE), 'Thyroid check', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(7, 7, 2, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 7 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 7 DAY), INTERVAL 30 MINUTE), 'Migraine treatment plan', 'CANCELLED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(8, 8, 4, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 8 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 8 DAY), INTERVAL 30 MINUTE), 'Orthopedic consultation', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(9, 9, 6, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 9 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 9 DAY), INTERVAL 30 MINUTE), 'Cholesterol management', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(10, 10, 7, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 10 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 10 DAY), INTERVAL 30 MINUTE), 'Eye examination', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(11, 1, 8, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 11 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 11 DAY), INTERVAL 30 MINUTE), 'ENT consultation', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+ROW(12, 2, 3, DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 12 DAY), 30, DATE_ADD(DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 12 DAY), INTERVAL 30 MINUTE), 'Child immunization', 'SCHEDULED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS seed
+WHERE NOT EXISTS (SELECT 1 FROM appointments_archive x WHERE x.id = seed.column_0);
+
+-- Count the seeded appointments in the daily rollup.  Only seeded ids are read, and only
+-- doctor/day pairs with no rollup row yet are written: later restarts, where the seed rows
+-- were skipped as already present or archived, change nothing.  Use POST /api/reports/rollups/rebuild to recompute
+-- the rollup after loading other data.
+INSERT INTO daily_doctor_stats (doctor_id, stat_date, booked, cancelled, completed, booked_minutes)
+SELECT a.doctor_id, CAST(a.appointment_date AS DATE), COUNT(*),
+       SUM(CASE WHEN a.status = 'CANCELLED' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN a.status = 'COMPLETED' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN a.status = 'CANCELLED' THEN 0 ELSE COALESCE(a.duration_minutes, 30) END)
+FROM appointments a
+WHERE a.id BETWEEN 1 AND 12
+  AND NOT EXISTS (SELECT 1 FROM appointments_archive x WHERE x.id = a.id)
+  AND NOT EXISTS (SELECT 1 FROM daily_doctor_stats s
+                  WHERE s.doctor_id = a.doctor_id AND s.stat_date = CAST(a.appointment_date AS DATE))
+GROUP BY a.doctor_id, CAST(a.appointment_date AS DATE);
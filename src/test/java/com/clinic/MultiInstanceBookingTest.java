@@ -0,0 +1,135 @@
+package com.clinic;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.clinic.dto.AppointmentRequest;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.service.AppointmentService;
+import com.clinic.service.BookingResult;
+import com.clinic.service.DoctorService;
+import com.clinic.service.PatientService;
+
+/**
+ * Several application contexts in one JVM, each standing in for a
+ * replica of the service, booking the same doctors' slots concurrently
+ * against one shared H2 database in MySQL mode.  Every booking must be
+ * accepted or rejected cleanly and no doctor may end up double-booked.
+ */
+class MultiInstanceBookingTest {
+
+    private static final int INSTANCES = 3;
+    private static final int THREADS_PER_INSTANCE = 4;
+    private static final int DOCTORS = 2;
+    private static final int SLOTS = 12;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2031, 3, 3, 9, 0);
+
+    private static final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+    private static final List<Long> doctorIds = new ArrayList<>();
+    private static long patientId;
+
+    @BeforeAll
+    static void startInstances() {
+        for (int i = 0; i < INSTANCES; i++) {
+            instances.add(new SpringApplicationBuilder(ClinicApplication.class)
+                    .web(WebApplicationType.NONE)
+                    // Arguments, so they override application.properties.
+                    .run("--spring.datasource.url=jdbc:h2:mem:multi-instance-booking;DB_CLOSE_DELAY=-1;"
+                                    + "MODE=MySQL;LOCK_TIMEOUT=10000",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                            "--spring.jpa.hibernate.ddl-auto=update",
+                            "--spring.jpa.show-sql=false",
+                            "--spring.sql.init.mode=never",
+                            "--clinic.search.rebuild-on-startup=false",
+                            "--clinic.archive.enabled=false",
+                            "--logging.level.com.clinic=INFO"));
+        }
+        ConfigurableApplicationContext first = instances.get(0);
+        patientId = first.getBean(PatientService.class)
+                .createPatient(new Patient("Jane Roe", "jane@example.com", "5550100100", null)).getId();
+        for (int d = 0; d < DOCTORS; d++) {
+            doctorIds.add(first.getBean(DoctorService.class)
+                    .createDoctor(new Doctor("Dr. " + d, "Cardiology", "LIC-" + d, "dr" + d + "@example.com")).getId());
+        }
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        instances.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void testConcurrentBookingsAcrossInstancesNeverOverlap() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES * THREADS_PER_INSTANCE);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        for (int worker = 0; worker < INSTANCES * THREADS_PER_INSTANCE; worker++) {
+            AppointmentService service = instances.get(worker % INSTANCES).getBean(AppointmentService.class);
+            // Half the workers ask for an hour, so their requests overlap two half-hour slots.
+            int duration = worker % 2 == 0 ? 30 : 60;
+            List<AppointmentRequest> requests = requests(duration, new Random(worker));
+            accepted.add(executor.submit(() -> {
+                start.await();
+                int booked = 0;
+                for (AppointmentRequest request : requests) {
+                    if (service.bookAppointment(request) instanceof BookingResult.Accepted) {
+                        booked++;
+                    }
+                }
+                return booked;
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> result : accepted) {
+            total += result.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        JdbcTemplate jdbcTemplate = instances.get(0).getBean(JdbcTemplate.class);
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM appointments a JOIN appointments b
+                  ON a.doctor_id = b.doctor_id AND a.id < b.id
+                 AND a.appointment_date < b.appointment_end AND b.appointment_date < a.appointment_end""",
+                Integer.class));
+        assertEquals(total, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Integer.class));
+        assertTrue(total >= DOCTORS * SLOTS / 2, "booked " + total);
+    }
+
+    /** Every slot of every doctor, in a worker-specific order. */
+    private static List<AppointmentRequest> requests(int durationMinutes, Random random) {
+        List<AppointmentRequest> requests = new ArrayList<>();
+        for (long doctorId : doctorIds) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                AppointmentRequest request = new AppointmentRequest(patientId, doctorId,
+                        FIRST_SLOT.plusMinutes(30L * slot), null);
+                request.setDurationMinutes(durationMinutes);
+                requests.add(request);
+            }
+        }
+        Collections.shuffle(requests, random);
+        return requests;
+    }
+}
@@ -0,0 +1,108 @@
+package com.clinic;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.clinic.grpc.GrpcServer;
+import com.clinic.grpc.v1.Appointment;
+import com.clinic.grpc.v1.AppointmentSchedulingGrpc;
+import com.clinic.grpc.v1.BookingResult;
+import com.clinic.grpc.v1.CreateAppointmentRequest;
+import com.clinic.grpc.v1.DoctorScheduleRequest;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+
+/**
+ * Books an appointment through the patient, doctor and appointment
+ * endpoints over HTTP, and reads it back, compressed as well and over
+ * gRPC.  It runs with the other tests
+ * on the JVM and, with {@code -PnativeTest}, as a native image; see
+ * docs/PERFORMANCE.md.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:native-smoke;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "clinic.archive.enabled=false",
+        "clinic.grpc.port=0"})
+class NativeSmokeTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private GrpcServer grpcServer;
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void testBookAndReadBackOverHttp() {
+        ResponseEntity<Map> patient = rest.postForEntity("/api/patients",
+                Map.of("name", "Jane Roe", "email", "jane@example.com", "phone", "5550100100"), Map.class);
+        assertEquals(HttpStatus.CREATED, patient.getStatusCode());
+        ResponseEntity<Map> doctor = rest.postForEntity("/api/doctors", Map.of("name", "Dr. Smith",
+                "specialization", "Cardiology", "licenseNumber", "CARD123", "email", "smith@clinic.com"), Map.class);
+        assertEquals(HttpStatus.CREATED, doctor.getStatusCode());
+        Object patientId = patient.getBody().get("id");
+        Object doctorId = doctor.getBody().get("id");
+
+        ResponseEntity<Map> booked = rest.postForEntity("/api/appointments", Map.of("patientId", patientId,
+                "doctorId", doctorId, "appointmentDate", "2031-03-03T10:00:00"), Map.class);
+        assertEquals(HttpStatus.CREATED, booked.getStatusCode());
+        ResponseEntity<Map> conflict = rest.postForEntity("/api/appointments", Map.of("patientId", patientId,
+                "doctorId", doctorId, "appointmentDate", "2031-03-03T10:00:00"), Map.class);
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+
+        List<?> appointments = rest.getForObject("/api/appointments/doctor/" + doctorId, List.class);
+        assertEquals("Jane Roe", ((Map<?, ?>) appointments.get(0)).get("patientName"));
+        assertEquals("Cardiology", rest.getForObject("/api/doctors/" + doctorId, Map.class).get("specialization"));
+        assertEquals("jane@example.com",
+                rest.getForObject("/api/patients/" + patientId + "?fields=email", Map.class).get("email"));
+        assertEquals(HttpStatus.NOT_FOUND, rest.getForEntity("/api/patients/999", Map.class).getStatusCode());
+
+        assertEquals(1, rest.getForObject("/api/appointments", List.class).size());
+        HttpHeaders gzip = new HttpHeaders();
+        gzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        assertNull(rest.exchange("/api/appointments", HttpMethod.GET, new HttpEntity<>(gzip), byte[].class)
+                .getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), "below the size threshold");
+        assertEquals("gzip", rest.exchange("/v3/api-docs", HttpMethod.GET, new HttpEntity<>(gzip), byte[].class)
+                .getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", grpcServer.getPort(),
+                InsecureChannelCredentials.create()).build();
+        try {
+            AppointmentSchedulingGrpc.AppointmentSchedulingBlockingStub grpc =
+                    AppointmentSchedulingGrpc.newBlockingStub(channel).withDeadlineAfter(10, TimeUnit.SECONDS);
+            BookingResult taken = grpc.createAppointment(CreateAppointmentRequest.newBuilder()
+                    .setPatientId(((Number) patientId).longValue())
+                    .setDoctorId(((Number) doctorId).longValue())
+                    .setAppointmentDate("2031-03-03T10:00:00")
+                    .build());
+            assertEquals(BookingResult.ResultCase.CONFLICT, taken.getResultCase());
+            Appointment scheduled = grpc.streamDoctorSchedule(DoctorScheduleRequest.newBuilder()
+                    .setDoctorId(((Number) doctorId).longValue())
+                    .build()).next().getAppointments(0);
+            assertEquals("2031-03-03T10:00:00", scheduled.getAppointmentDate());
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.clinic.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.clinic.config.JacksonConfig;
+import com.clinic.dto.AppointmentRequest;
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.model.AppointmentStatus;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Encoding and decoding an appointment request, a response, and a
+ * doctor's list of {@link #LIST_SIZE} responses in JSON, CBOR and Smile,
+ * each with the mapper {@link JacksonConfig} gives that format.
+ *
+ * <p>Payload sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx512m")
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+
+    private AppointmentRequest request;
+    private AppointmentResponse response;
+    private List<AppointmentResponse> responses;
+    private byte[] encodedRequest;
+    private byte[] encodedResponse;
+    private byte[] encodedList;
+
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfig config = new JacksonConfig();
+        ObjectMapper mapper = switch (format) {
+            case "json" -> config.objectMapper(Jackson2ObjectMapperBuilder.json());
+            case "cbor" -> config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            case "smile" -> config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        requestWriter = mapper.writerFor(AppointmentRequest.class);
+        requestReader = mapper.readerFor(AppointmentRequest.class);
+        responseWriter = mapper.writerFor(AppointmentResponse.class);
+        responseReader = mapper.readerFor(AppointmentResponse.class);
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, AppointmentResponse.class);
+        listWriter = mapper.writerFor(listType);
+        listReader = mapper.readerFor(listType);
+
+        LocalDateTime start = LocalDateTime.of(2031, 3, 3, 9, 0);
+        request = new AppointmentRequest();
+        request.setPatientId(4182L);
+        request.setDoctorId(37L);
+        request.setAppointmentDate(start);
+        request.setDurationMinutes(30);
+        request.setNotes("Follow-up visit");
+        responses = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            responses.add(response(i + 1, start.plusMinutes(30L * i)));
+        }
+        response = responses.get(0);
+
+        encodedRequest = encodeRequest();
+        encodedResponse = encodeResponse();
+        encodedList = encodeList();
+        System.out.printf("%n%s: request %d bytes, response %d bytes, %d responses %d bytes%n", format,
+                encodedRequest.length, encodedResponse.length, LIST_SIZE, encodedList.length);
+    }
+
+    private static AppointmentResponse response(long id, LocalDateTime start) {
+        AppointmentResponse response = new AppointmentResponse();
+        response.setId(id);
+        response.setPatientName("Patient " + id);
+        response.setDoctorName("Dr. Smith");
+        response.setAppointmentDate(start);
+        response.setDurationMinutes(30);
+        response.setEndDate(start.plusMinutes(30));
+        response.setNotes(id % 3 == 0 ? "Follow-up visit" : null);
+        response.setStatus(AppointmentStatus.SCHEDULED);
+        response.setCreatedAt(start.minusDays(14));
+        return response;
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public AppointmentRequest decodeRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public AppointmentResponse decodeResponse() throws IOException {
+        return responseReader.readValue(encodedResponse);
+    }
+
+    @Benchmark
+    public byte[] encodeList() throws IOException {
+        return listWriter.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public List<AppointmentResponse> decodeList() throws IOException {
+        return listReader.readValue(encodedList);
+    }
+}
@@ -0,0 +1,56 @@
+package com.clinic.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clinic.service.BookingLimiter;
+
+/**
+ * Measures what the booking limits add to each booking: a token from the
+ * client's bucket and a place among the bookings in progress, taken and
+ * given back.  Clients are drawn from 10,000 addresses.  The rate is high
+ * enough that no booking is turned away, so every call takes the full path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BookingLimitBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private final BookingLimiter limiter = new BookingLimiter(true, 1_000_000, 1_000, 1_000, 0,
+            List.of(), List.of());
+    private final String[] clients = new String[CLIENTS];
+
+    public BookingLimitBenchmark() {
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = limiter.client(null, "10.0." + (i / 256) + "." + (i % 256));
+        }
+    }
+
+    @Benchmark
+    public boolean admit() {
+        String client = clients[ThreadLocalRandom.current().nextInt(CLIENTS)];
+        if (limiter.tryAcquireRate(client) > 0 || !limiter.tryAcquire(false)) {
+            return false;
+        }
+        limiter.release();
+        return true;
+    }
+}
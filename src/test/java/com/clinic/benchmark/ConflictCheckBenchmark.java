@@ -0,0 +1,138 @@
+package com.clinic.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the booking conflict check as appointment history grows,
+ * with the history left in {@code appointments} ({@code HOT}) or moved to
+ * {@code appointments_archive} ({@code ARCHIVED}), on an in-memory H2
+ * database.
+ *
+ * <p>The check is the overlap query behind
+ * {@code AppointmentRepository.findOverlappingExcludingStatus}.  Its
+ * {@code appointment_date < :end} bound is open towards the past, so the
+ * index range it walks holds every earlier appointment of the doctor; that
+ * is the cost archiving takes away.  {@link #UPCOMING} booked slots over
+ * the next ten days are the same in every run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ConflictCheckBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final int UPCOMING = 24_000;
+    private static final int SLOT_MINUTES = 30;
+    private static final LocalDateTime TODAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private static final String COLUMNS = """
+            id BIGINT PRIMARY KEY, patient_id BIGINT NOT NULL, doctor_id BIGINT NOT NULL,
+            appointment_date TIMESTAMP, appointment_end TIMESTAMP, duration_minutes INT,
+            notes VARCHAR(500), status VARCHAR(20), created_at TIMESTAMP, updated_at TIMESTAMP""";
+
+    /** Appointments spread evenly over the doctors, back-to-back, ending 90 days ago. */
+    private static final String HISTORY = """
+            SELECT X, MOD(X, 1000) + 1, MOD(X, %1$d) + 1,
+                   DATEADD(MINUTE, -%2$d * (X / %1$d) - 129600, TIMESTAMP '2030-01-01 00:00:00'),
+                   DATEADD(MINUTE, -%2$d * (X / %1$d) - 129600 + %2$d, TIMESTAMP '2030-01-01 00:00:00'),
+                   %2$d, NULL, 'COMPLETED', NULL, NULL%3$s
+            FROM SYSTEM_RANGE(1, ?)""";
+
+    private static final String OVERLAP = """
+            SELECT id FROM appointments
+            WHERE doctor_id = ? AND appointment_date < ? AND appointment_end > ? AND status <> 'CANCELLED'
+            ORDER BY appointment_date""";
+
+    public enum Layout { HOT, ARCHIVED }
+
+    @Param({"0", "1000000", "3000000"})
+    public int history;
+
+    @Param({"HOT", "ARCHIVED"})
+    public Layout layout;
+
+    private Connection connection;
+    private PreparedStatement overlap;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:conflict-" + layout + "-" + history, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE appointments (" + COLUMNS + ")");
+            statement.execute("CREATE TABLE appointments_archive (" + COLUMNS + ", archived_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_appointments_doctor_interval "
+                    + "ON appointments (doctor_id, appointment_date, appointment_end)");
+            statement.execute("CREATE INDEX idx_appointments_archive_doctor "
+                    + "ON appointments_archive (doctor_id, appointment_date)");
+        }
+        String historyInsert = layout == Layout.HOT
+                ? "INSERT INTO appointments " + HISTORY.formatted(DOCTORS, SLOT_MINUTES, "")
+                : "INSERT INTO appointments_archive " + HISTORY.formatted(DOCTORS, SLOT_MINUTES, ", CURRENT_TIMESTAMP");
+        try (PreparedStatement insert = connection.prepareStatement(historyInsert)) {
+            insert.setInt(1, history);
+            insert.executeUpdate();
+        }
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO appointments
+                SELECT ? + X, MOD(X, 1000) + 1, MOD(X, %1$d) + 1,
+                       DATEADD(MINUTE, %2$d * ((X - 1) / %1$d), TIMESTAMP '2030-01-01 00:00:00'),
+                       DATEADD(MINUTE, %2$d * ((X - 1) / %1$d) + %2$d, TIMESTAMP '2030-01-01 00:00:00'),
+                       %2$d, NULL, 'SCHEDULED', NULL, NULL
+                FROM SYSTEM_RANGE(1, ?)""".formatted(DOCTORS, SLOT_MINUTES))) {
+            insert.setLong(1, history);
+            insert.setInt(2, UPCOMING);
+            insert.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        overlap = connection.prepareStatement(OVERLAP);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /** Rows overlapping a random upcoming slot of a random doctor; one, since every slot is booked. */
+    @Benchmark
+    public int conflictCheck() throws SQLException {
+        LocalDateTime start = TODAY.plusMinutes((long) SLOT_MINUTES * random.nextInt(UPCOMING / DOCTORS));
+        overlap.setLong(1, random.nextInt(DOCTORS) + 1);
+        overlap.setTimestamp(2, Timestamp.valueOf(start.plusMinutes(SLOT_MINUTES)));
+        overlap.setTimestamp(3, Timestamp.valueOf(start));
+        int rows = 0;
+        try (ResultSet resultSet = overlap.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,141 @@
+package com.clinic.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.clinic.ClinicApplication;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.service.DoctorService;
+import com.clinic.service.PatientService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@code GET /api/appointments/doctor/{id}} through the whole application
+ * on an in-memory H2 database, with open-session-in-view on and off.
+ * Each doctor has {@link #APPOINTMENTS_PER_DOCTOR} appointments.
+ *
+ * <p>The score is the request latency.  How long each request held a
+ * pooled connection is read from Hikari's
+ * {@code hikaricp.connections.usage} timer and printed at the end of
+ * each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class ConnectionHoldBenchmark {
+
+    private static final int DOCTORS = 20;
+    private static final int PATIENTS = 200;
+    private static final int APPOINTMENTS_PER_DOCTOR = 250;
+
+    @Param({"true", "false"})
+    public boolean openInView;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private final List<Long> doctorIds = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private Timer usage;
+    private long seedCount;
+    private double seedMillis;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ClinicApplication.class)
+                .run("--server.port=0",
+                        "--clinic.grpc.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:connection-hold-" + openInView + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.open-in-view=" + openInView,
+                        "--spring.sql.init.mode=never",
+                        "--clinic.search.rebuild-on-startup=false",
+                        "--clinic.archive.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.clinic=WARN");
+        seed();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+        usage = context.getBean(MeterRegistry.class).find("hikaricp.connections.usage").timer();
+        seedCount = usage.count();
+        seedMillis = usage.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        long borrowed = usage.count() - seedCount;
+        System.out.printf("%nopenInView=%s: %d connections borrowed, held %.3f ms on average%n",
+                openInView, borrowed, (usage.totalTime(TimeUnit.MILLISECONDS) - seedMillis) / borrowed);
+        context.close();
+    }
+
+    @Benchmark
+    public int appointmentsOfDoctor() throws Exception {
+        long doctorId = doctorIds.get(random.nextInt(doctorIds.size()));
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/appointments/doctor/" + doctorId)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return response.body().length;
+    }
+
+    private void seed() {
+        PatientService patients = context.getBean(PatientService.class);
+        List<Long> patientIds = new ArrayList<>();
+        for (int i = 0; i < PATIENTS; i++) {
+            patientIds.add(patients.createPatient(new Patient("Patient " + i, "patient" + i + "@example.com",
+                    String.valueOf(5_550_000_000L + i), null)).getId());
+        }
+        DoctorService doctors = context.getBean(DoctorService.class);
+        for (int i = 0; i < DOCTORS; i++) {
+            doctorIds.add(doctors.createDoctor(new Doctor("Dr. " + i, i % 2 == 0 ? "Cardiology" : "Neurology",
+                    "LIC-" + i, "doctor" + i + "@example.com")).getId());
+        }
+        LocalDateTime first = LocalDateTime.of(2031, 1, 6, 9, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (long doctorId : doctorIds) {
+            for (int i = 0; i < APPOINTMENTS_PER_DOCTOR; i++) {
+                LocalDateTime start = first.plusDays(i / 8).plusMinutes(30L * (i % 8));
+                rows.add(new Object[] {patientIds.get(random.nextInt(patientIds.size())), doctorId, start,
+                        start.plusMinutes(30), "Follow-up visit " + i, start.minusDays(30)});
+            }
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("""
+                INSERT INTO appointments (patient_id, doctor_id, appointment_date, appointment_end,
+                                          duration_minutes, notes, status, created_at)
+                VALUES (?, ?, ?, ?, 30, ?, 'SCHEDULED', ?)""", rows);
+    }
+}
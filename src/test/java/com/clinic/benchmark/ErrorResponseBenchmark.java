@@ -0,0 +1,87 @@
+package com.clinic.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.clinic.config.JacksonConfig;
+import com.clinic.exception.BusinessException;
+import com.clinic.exception.ErrorResponse;
+import com.clinic.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of one rejected booking from the point the rule fails to the
+ * serialized response body: the previous stack-capturing exception plus
+ * {@code HashMap} body against the stackless exception and
+ * {@link ErrorResponse} record.
+ *
+ * <p>The exception is created {@link #DEPTH} frames down to approximate
+ * the Spring MVC call stack a real request throws through.  Run with
+ * {@code -prof gc} to see bytes allocated per rejection
+ * ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private static final int DEPTH = 120;
+    private static final String MESSAGE = "Doctor is not available at the requested time";
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+        handler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public byte[] legacyMapWithStackTrace() throws JsonProcessingException {
+        RuntimeException ex = throwAt(DEPTH, true);
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return objectMapper.writeValueAsBytes(new ResponseEntity<>(body, HttpStatus.BAD_REQUEST).getBody());
+    }
+
+    @Benchmark
+    public byte[] stacklessRecord() throws JsonProcessingException {
+        BusinessException ex = (BusinessException) throwAt(DEPTH, false);
+        return objectMapper.writeValueAsBytes(handler.handleBusinessException(ex).getBody());
+    }
+
+    private static RuntimeException throwAt(int depth, boolean withStack) {
+        if (depth > 0) {
+            return throwAt(depth - 1, withStack);
+        }
+        try {
+            throw withStack ? new RuntimeException(MESSAGE) : new BusinessException(MESSAGE);
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.clinic.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.clinic.ClinicApplication;
+import com.clinic.grpc.GrpcServer;
+import com.clinic.grpc.v1.AppointmentSchedulingGrpc;
+import com.clinic.grpc.v1.BatchCreateReply;
+import com.clinic.grpc.v1.BookingResult;
+import com.clinic.grpc.v1.CreateAppointmentRequest;
+import com.clinic.grpc.v1.DoctorScheduleRequest;
+import com.clinic.grpc.v1.SchedulePage;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.service.DoctorService;
+import com.clinic.service.PatientService;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Booking {@link #BATCH} appointments and reading a doctor's schedule of
+ * {@link #APPOINTMENTS_PER_DOCTOR} appointments through the whole
+ * application on an in-memory H2 database: over REST, one HTTP/1.1 call
+ * per appointment on a kept-alive connection, and over gRPC, one unary
+ * call per appointment or one client stream for the batch, on a single
+ * HTTP/2 channel.
+ *
+ * <p>Booking scores are per appointment.  Every booking takes a new slot,
+ * so all are accepted and do the same work.  Warm-up is long because the
+ * whole server, Netty included, has to be compiled before the scores
+ * settle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class GrpcBenchmark {
+
+    private static final int DOCTORS = 20;
+    private static final int PATIENTS = 200;
+    private static final int APPOINTMENTS_PER_DOCTOR = 250;
+    private static final int BATCH = 20;
+    private static final LocalDateTime FIRST = LocalDateTime.of(2031, 1, 6, 9, 0);
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private ManagedChannel channel;
+    private AppointmentSchedulingGrpc.AppointmentSchedulingBlockingStub blocking;
+    private AppointmentSchedulingGrpc.AppointmentSchedulingStub async;
+    private final List<Long> patientIds = new ArrayList<>();
+    private final List<Long> doctorIds = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+    /** Bookings so far; each takes the next free half hour of the next doctor. */
+    private long booked;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ClinicApplication.class)
+                .run("--server.port=0",
+                        "--clinic.grpc.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:grpc-benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--clinic.search.rebuild-on-startup=false",
+                        "--clinic.archive.enabled=false",
+                        // One client books as fast as it can, far over the per-client rate
+                        "--clinic.booking-limit.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.clinic=WARN");
+        seed();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        channel = Grpc.newChannelBuilderForAddress("localhost", context.getBean(GrpcServer.class).getPort(),
+                InsecureChannelCredentials.create()).build();
+        blocking = AppointmentSchedulingGrpc.newBlockingStub(channel);
+        async = AppointmentSchedulingGrpc.newStub(channel);
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int bookRest() throws Exception {
+        int created = 0;
+        for (int i = 0; i < BATCH; i++) {
+            CreateAppointmentRequest next = nextBooking();
+            String body = """
+                    {"patientId":%d,"doctorId":%d,"appointmentDate":"%s"}""".formatted(
+                    next.getPatientId(), next.getDoctorId(), next.getAppointmentDate());
+            HttpResponse<byte[]> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/appointments"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            created += response.statusCode() == 201 ? 1 : 0;
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int bookGrpcUnary() {
+        int created = 0;
+        for (int i = 0; i < BATCH; i++) {
+            BookingResult result = blocking.createAppointment(nextBooking());
+            created += result.hasAppointment() ? 1 : 0;
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int bookGrpcBatch() throws Exception {
+        CompletableFuture<BatchCreateReply> reply = new CompletableFuture<>();
+        StreamObserver<CreateAppointmentRequest> requests = async.batchCreateAppointments(new StreamObserver<>() {
+            @Override
+            public void onNext(BatchCreateReply value) {
+                reply.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                reply.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        for (int i = 0; i < BATCH; i++) {
+            requests.onNext(nextBooking());
+        }
+        requests.onCompleted();
+        return reply.get(30, TimeUnit.SECONDS).getBooked();
+    }
+
+    @Benchmark
+    public int scheduleRest() throws Exception {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/appointments/doctor/" + randomDoctor())).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return response.body().length;
+    }
+
+    @Benchmark
+    public int scheduleGrpc() {
+        Iterator<SchedulePage> schedule = blocking.streamDoctorSchedule(
+                DoctorScheduleRequest.newBuilder().setDoctorId(randomDoctor()).build());
+        int count = 0;
+        while (schedule.hasNext()) {
+            count += schedule.next().getAppointmentsCount();
+        }
+        return count;
+    }
+
+    private long randomDoctor() {
+        return doctorIds.get(random.nextInt(doctorIds.size()));
+    }
+
+    /** Slots after the seeded ones, so none is ever taken. */
+    private CreateAppointmentRequest nextBooking() {
+        long n = booked++;
+        LocalDateTime start = FIRST.plusYears(1).plusMinutes(30 * (n / DOCTORS));
+        return CreateAppointmentRequest.newBuilder()
+                .setPatientId(patientIds.get(random.nextInt(patientIds.size())))
+                .setDoctorId(doctorIds.get((int) (n % DOCTORS)))
+                .setAppointmentDate(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start))
+                .build();
+    }
+
+    private void seed() {
+        PatientService patients = context.getBean(PatientService.class);
+        for (int i = 0; i < PATIENTS; i++) {
+            patientIds.add(patients.createPatient(new Patient("Patient " + i, "patient" + i + "@example.com",
+                    String.valueOf(5_550_000_000L + i), null)).getId());
+        }
+        DoctorService doctors = context.getBean(DoctorService.class);
+        for (int i = 0; i < DOCTORS; i++) {
+            doctorIds.add(doctors.createDoctor(new Doctor("Dr. " + i, i % 2 == 0 ? "Cardiology" : "Neurology",
+                    "LIC-" + i, "doctor" + i + "@example.com")).getId());
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (long doctorId : doctorIds) {
+            for (int i = 0; i < APPOINTMENTS_PER_DOCTOR; i++) {
+                LocalDateTime start = FIRST.plusDays(i / 8).plusMinutes(30L * (i % 8));
+                rows.add(new Object[] {patientIds.get(random.nextInt(patientIds.size())), doctorId, start,
+                        start.plusMinutes(30), "Follow-up visit " + i, start.minusDays(30)});
+            }
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("""
+                INSERT INTO appointments (patient_id, doctor_id, appointment_date, appointment_end,
+                                          duration_minutes, notes, status, created_at)
+                VALUES (?, ?, ?, ?, 30, ?, 'SCHEDULED', ?)""", rows);
+    }
+}
@@ -0,0 +1,131 @@
+package com.clinic.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.clinic.config.JacksonConfig;
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.model.AppointmentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Writing {@link #ITEMS} appointments as a JSON array: the whole list
+ * through the previous mapper configuration and through
+ * {@link JacksonConfig}'s, and element by element through a
+ * {@link SequenceWriter} as {@code GET /api/appointments} now does.
+ *
+ * <p>Output goes to a stream that only counts bytes.  Run with
+ * {@code -prof gc} to see bytes allocated per array
+ * ({@code gc.alloc.rate.norm}).  The body size, plain and gzipped, is
+ * printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class JsonListBenchmark {
+
+    private static final int ITEMS = 10_000;
+
+    private List<AppointmentResponse> appointments;
+    private ObjectMapper previousMapper;
+    private ObjectMapper tunedMapper;
+    private ObjectWriter elementWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        previousMapper = Jackson2ObjectMapperBuilder.json().build();
+        previousMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        previousMapper.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+        tunedMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+        elementWriter = tunedMapper.writerFor(AppointmentResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        appointments = new ArrayList<>(ITEMS);
+        LocalDateTime first = LocalDateTime.of(2031, 1, 6, 9, 0);
+        for (int i = 0; i < ITEMS; i++) {
+            AppointmentResponse response = new AppointmentResponse();
+            response.setId((long) i + 1);
+            response.setPatientName("Patient " + (i % 500));
+            response.setDoctorName("Dr. " + (i % 40));
+            response.setAppointmentDate(first.plusMinutes(30L * i));
+            response.setDurationMinutes(30);
+            response.setEndDate(first.plusMinutes(30L * i + 30));
+            response.setNotes(i % 3 == 0 ? "Follow-up visit " + i : null);
+            response.setStatus(AppointmentStatus.values()[i % AppointmentStatus.values().length]);
+            response.setCreatedAt(first.minusDays(30).plusSeconds(i));
+            appointments.add(response);
+        }
+
+        byte[] plain = tunedMapper.writeValueAsBytes(appointments);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(plain);
+        }
+        System.out.printf("%n%d appointments: %d bytes, %d gzipped%n", ITEMS, plain.length, gzipped.size());
+    }
+
+    @Benchmark
+    public long listPreviousMapper() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        previousMapper.writeValue(out, appointments);
+        return out.count;
+    }
+
+    @Benchmark
+    public long listTunedMapper() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        tunedMapper.writeValue(out, appointments);
+        return out.count;
+    }
+
+    @Benchmark
+    public long streamTunedMapper() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (SequenceWriter array = elementWriter.writeValuesAsArray(out)) {
+            for (AppointmentResponse appointment : appointments) {
+                array.write(appointment);
+            }
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.clinic.benchmark;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.clinic.util.LogThrottle;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import net.logstash.logback.encoder.LogstashEncoder;
+
+/**
+ * Measures what logging costs a request thread: the old synchronous pattern
+ * output against the prod/docker async JSON pipeline from
+ * {@code logback-spring.xml}. Output goes to a null stream so only the
+ * encoding and hand-off are measured, not the terminal.
+ *
+ * <p>Run {@link #main} to fail the build when the async pipeline exceeds
+ * {@link #BUDGET_NANOS} per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingOverheadBenchmark {
+
+    /** Logging budget per request on the calling thread. */
+    static final double BUDGET_NANOS = 5_000;
+
+    @Param({"sync-pattern", "async-json"})
+    public String pipeline;
+
+    private LoggerContext context;
+    private Logger logger;
+    private final LogThrottle throttle = new LogThrottle(Duration.ofSeconds(10));
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        Appender<ILoggingEvent> appender = "async-json".equals(pipeline) ? asyncJson() : syncPattern();
+        logger = context.getLogger("com.clinic.service.AppointmentService");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    /** A typical request: one INFO line plus a rejected booking that hits the throttle. */
+    @Benchmark
+    public void request() {
+        logger.info("Booked appointment {} for doctor {}", 42L, 7L);
+        String message = "Doctor is not available at the requested time";
+        long suppressed = throttle.tryAcquire(message);
+        if (suppressed >= 0) {
+            logger.warn("Business rule violation: {} ({} similar suppressed)", message, suppressed);
+        }
+    }
+
+    private Appender<ILoggingEvent> syncPattern() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %t --- %logger{39} : %m%n");
+        encoder.start();
+        return nullSink(encoder);
+    }
+
+    private Appender<ILoggingEvent> asyncJson() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setIncludeCallerData(false);
+        encoder.setIncludeContext(false);
+        encoder.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(20);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(nullSink(encoder));
+        async.start();
+        return async;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> nullSink(Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+        return sink;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(LoggingOverheadBenchmark.class.getSimpleName())
+                .param("pipeline", "async-json")
+                .build()).run();
+        for (RunResult result : results) {
+            double score = result.getPrimaryResult().getScore();
+            System.out.printf("async-json logging: %.0f ns/request (budget %.0f ns)%n", score, BUDGET_NANOS);
+            if (score > BUDGET_NANOS) {
+                throw new IllegalStateException("Logging overhead " + score + " ns exceeds budget of "
+                        + BUDGET_NANOS + " ns per request");
+            }
+        }
+    }
+}
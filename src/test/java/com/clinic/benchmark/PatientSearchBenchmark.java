@@ -0,0 +1,72 @@
+package com.clinic.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.clinic.model.Patient;
+import com.clinic.service.PatientSearchIndex;
+
+/**
+ * Latency of one page of patient search over {@link #PATIENTS} patients
+ * shaped like the synthetic data set: 30 first names × 30 last names, so
+ * a common name or two-letter prefix matches tens of thousands of rows,
+ * which is the worst case for the index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PatientSearchBenchmark {
+
+    private static final int PATIENTS = 500_000;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Sandra", "Paul", "Ashley"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson"
+    };
+
+    @Param({"jo", "john smith", "jonh smiht", "martinez", "2000123"})
+    public String query;
+
+    private PatientSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new PatientSearchIndex(null, false);
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= PATIENTS; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Patient patient = new Patient(first + " " + last,
+                    (first + "." + last + "." + id + "@example.com").toLowerCase(),
+                    String.valueOf(2_000_000_000L + id), null);
+            patient.setId(id);
+            index.index(patient);
+        }
+    }
+
+    @Benchmark
+    public PatientSearchIndex.Result firstPage() {
+        return index.search(query, 0, 20);
+    }
+}
@@ -0,0 +1,83 @@
+package com.clinic.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import com.clinic.ClinicApplication;
+
+/**
+ * Time from {@code SpringApplication.run} to ready, with the web server
+ * up and startup runners done, in a fresh JVM each time, with and
+ * without the {@code fast-start} profile.  Both start against an H2
+ * database that already has the schema, as a restarted pod would.
+ *
+ * <p>This measures the configuration only; the AOT and CDS gains in the
+ * Docker image are measured from the packaged jar, see
+ * docs/PERFORMANCE.md.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, jvmArgs = "-Xmx512m")
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @Param({"default", "fast-start"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup
+    public void createSchema() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("test-schema.sql"));
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext timeToReady() {
+        context = new SpringApplicationBuilder(ClinicApplication.class)
+                .profiles(profile)
+                .run("--server.port=0",
+                        "--clinic.grpc.port=0",
+                        "--spring.datasource.url=" + URL,
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        // data.sql is written for MySQL
+                        "--spring.sql.init.mode=never",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.clinic=WARN");
+        return context;
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() {
+        context.close();
+    }
+}
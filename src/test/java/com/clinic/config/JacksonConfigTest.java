@@ -0,0 +1,73 @@
+package com.clinic.config;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.clinic.dto.AppointmentRequest;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests for {@link JacksonConfig}.
+ */
+class JacksonConfigTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2031, 3, 3, 9, 0);
+
+    private final JacksonConfig config = new JacksonConfig();
+
+    @Test
+    void testJsonWritesIsoDates() throws Exception {
+        ObjectMapper json = config.objectMapper(Jackson2ObjectMapperBuilder.json());
+        assertEquals("2031-03-03T09:00:00", json.readTree(json.writeValueAsBytes(request())).get("appointmentDate")
+                .asText());
+        assertTrue(json.getRegisteredModuleIds().contains("com.fasterxml.jackson.module.blackbird.BlackbirdModule"));
+    }
+
+    @Test
+    void testDoublesUseFastAlgorithms() throws Exception {
+        ObjectMapper json = config.objectMapper(Jackson2ObjectMapperBuilder.json());
+        assertTrue(json.getFactory().isEnabled(StreamWriteFeature.USE_FAST_DOUBLE_WRITER));
+        assertTrue(json.getFactory().isEnabled(StreamReadFeature.USE_FAST_DOUBLE_PARSER));
+        assertEquals(0.1, json.readTree(json.writeValueAsBytes(Map.of("value", 0.1))).get("value").asDouble());
+
+        ObjectMapper cbor = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+        assertTrue(cbor.getFactory().isEnabled(StreamWriteFeature.USE_FAST_DOUBLE_WRITER));
+    }
+
+    @Test
+    void testCborWritesNumericDatesAndReadsBothForms() throws Exception {
+        ObjectMapper cbor = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+        JsonNode date = cbor.readTree(cbor.writeValueAsBytes(request())).get("appointmentDate");
+        assertTrue(date.isArray());
+        assertEquals(List.of(2031, 3, 3, 9, 0), cbor.convertValue(date, List.class));
+
+        byte[] isoDate = cbor.writeValueAsBytes(Map.of("appointmentDate", "2031-03-03T09:00:00"));
+        assertEquals(START, cbor.readValue(isoDate, AppointmentRequest.class).getAppointmentDate());
+    }
+
+    @Test
+    void testSmileRoundTrip() throws Exception {
+        ObjectMapper smile = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+        AppointmentRequest read = smile.readValue(smile.writeValueAsBytes(request()), AppointmentRequest.class);
+        assertEquals(START, read.getAppointmentDate());
+        assertEquals("Checkup", read.getNotes());
+    }
+
+    private static AppointmentRequest request() {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientId(1L);
+        request.setDoctorId(2L);
+        request.setAppointmentDate(START);
+        request.setNotes("Checkup");
+        return request;
+    }
+}
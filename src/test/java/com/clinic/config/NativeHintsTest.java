@@ -0,0 +1,43 @@
+package com.clinic.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.clinic.dto.PatientResponse;
+import com.clinic.model.Appointment;
+import com.clinic.service.BookingResult;
+
+/**
+ * Tests for {@link NativeHints}.
+ */
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsTest() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testJsonTypesCanBeWrittenByJackson() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PatientResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(BookingResult.Conflict.class, "alternativeSlots")
+                .test(hints));
+    }
+
+    @Test
+    void testEntitiesCanBeBuiltByHibernate() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Appointment.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+    }
+
+    @Test
+    void testSwaggerUiFilesAreIncluded() {
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/resources/webjars/swagger-ui/index.html").test(hints));
+    }
+}
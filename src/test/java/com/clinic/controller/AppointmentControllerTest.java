@@ -3,32 +3,49 @@ package com.clinic.controller;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.clinic.config.JacksonConfig;
 import com.clinic.dto.AppointmentRequest;
 import com.clinic.dto.AppointmentResponse;
+import com.clinic.exception.IdempotencyKeyReusedException;
 import com.clinic.model.AppointmentStatus;
 import com.clinic.service.AppointmentService;
+import com.clinic.service.BookingResult;
+import com.clinic.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Web layer tests for {@link AppointmentController} using MockMvc.
  */
 @WebMvcTest(AppointmentController.class)
+@Import(JacksonConfig.class)
 class AppointmentControllerTest {
 
     @Autowired
@@ -37,9 +54,18 @@ class AppointmentControllerTest {
     @MockBean
     private AppointmentService appointmentService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cbor;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smile;
+
     private AppointmentResponse testResponse;
     private AppointmentRequest testRequest;
 
@@ -60,17 +86,66 @@ class AppointmentControllerTest {
 
     @Test
     void testGetAllAppointments() throws Exception {
-        List<AppointmentResponse> list = Arrays.asList(testResponse);
-        when(appointmentService.getAllAppointments()).thenReturn(list);
+        streamAppointments(testResponse);
         mockMvc.perform(get("/api/appointments"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$[0].patientName").value("John Doe"))
                 .andExpect(jsonPath("$[0].doctorName").value("Dr. Smith"));
     }
 
+    @Test
+    void testGetAllAppointmentsStreamsSameJsonAsList() throws Exception {
+        AppointmentResponse second = new AppointmentResponse();
+        second.setId(2L);
+        second.setPatientName("Jane \"JJ\" Roe");
+        second.setAppointmentDate(LocalDateTime.of(2031, 3, 3, 10, 0));
+        streamAppointments(testResponse, second);
+        mockMvc.perform(get("/api/appointments"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(testResponse, second)), true));
+    }
+
+    @Test
+    void testGetAllAppointmentsAsCbor() throws Exception {
+        streamAppointments(testResponse);
+        byte[] body = mockMvc.perform(get("/api/appointments").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        AppointmentResponse[] appointments = cbor.getObjectMapper().readValue(body, AppointmentResponse[].class);
+        assertEquals("John Doe", appointments[0].getPatientName());
+        assertEquals(testResponse.getAppointmentDate(), appointments[0].getAppointmentDate());
+    }
+
+    @Test
+    void testGetAllAppointmentsPrefersHigherQuality() throws Exception {
+        streamAppointments(testResponse);
+        mockMvc.perform(get("/api/appointments").header(HttpHeaders.ACCEPT,
+                        "application/json;q=0.5, " + JacksonConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(JacksonConfig.APPLICATION_SMILE));
+    }
+
+    @Test
+    void testGetAllAppointmentsNotAcceptable() throws Exception {
+        mockMvc.perform(get("/api/appointments").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+        verifyNoInteractions(appointmentService);
+    }
+
+    @Test
+    void testGetAllAppointmentsEmpty() throws Exception {
+        streamAppointments();
+        mockMvc.perform(get("/api/appointments"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+    }
+
     @Test
     void testCreateAppointment() throws Exception {
-        when(appointmentService.createAppointment(any(AppointmentRequest.class))).thenReturn(testResponse);
+        when(appointmentService.bookAppointment(any(AppointmentRequest.class)))
+                .thenReturn(new BookingResult.Accepted(testResponse));
         mockMvc.perform(post("/api/appointments")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testRequest)))
@@ -79,6 +154,86 @@ class AppointmentControllerTest {
                 .andExpect(jsonPath("$.doctorName").value("Dr. Smith"));
     }
 
+    @Test
+    void testCreateAppointmentWithIdempotencyKey() throws Exception {
+        when(idempotencyService.book(eq("retry-1"), any(AppointmentRequest.class)))
+                .thenReturn(new IdempotencyService.Outcome(new BookingResult.Accepted(testResponse), false));
+        mockMvc.perform(post("/api/appointments")
+                .header(IdempotencyService.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.id").value(1));
+        verifyNoInteractions(appointmentService);
+    }
+
+    @Test
+    void testRetryWithIdempotencyKeyIsMarkedReplayed() throws Exception {
+        when(idempotencyService.book(eq("retry-1"), any(AppointmentRequest.class)))
+                .thenReturn(new IdempotencyService.Outcome(new BookingResult.Accepted(testResponse), true));
+        mockMvc.perform(post("/api/appointments")
+                .header(IdempotencyService.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.patientName").value("John Doe"));
+    }
+
+    @Test
+    void testReusedIdempotencyKeyIsUnprocessable() throws Exception {
+        when(idempotencyService.book(eq("retry-1"), any(AppointmentRequest.class)))
+                .thenThrow(new IdempotencyKeyReusedException("Idempotency-Key retry-1 was used for a different request"));
+        mockMvc.perform(post("/api/appointments")
+                .header(IdempotencyService.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key retry-1 was used for a different request"));
+    }
+
+    @Test
+    void testCreateAppointmentInCbor() throws Exception {
+        when(appointmentService.bookAppointment(any(AppointmentRequest.class)))
+                .thenReturn(new BookingResult.Accepted(testResponse));
+        byte[] body = mockMvc.perform(post("/api/appointments")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.getObjectMapper().writeValueAsBytes(testRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("John Doe", cbor.getObjectMapper().readValue(body, AppointmentResponse.class).getPatientName());
+    }
+
+    @Test
+    void testGetAppointmentByIdAsSmile() throws Exception {
+        when(appointmentService.getAppointmentById(1L)).thenReturn(Optional.of(testResponse));
+        byte[] body = mockMvc.perform(get("/api/appointments/1").accept(JacksonConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(JacksonConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(AppointmentStatus.SCHEDULED,
+                smile.getObjectMapper().readValue(body, AppointmentResponse.class).getStatus());
+    }
+
+    @Test
+    void testCreateAppointmentConflictSuggestsAlternatives() throws Exception {
+        LocalDateTime alternative = LocalDateTime.of(2030, 1, 15, 10, 30);
+        when(appointmentService.bookAppointment(any(AppointmentRequest.class)))
+                .thenReturn(new BookingResult.Conflict("Doctor is not available at the requested time",
+                        List.of(alternative)));
+        mockMvc.perform(post("/api/appointments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.error").value("Conflict"))
+                .andExpect(jsonPath("$.message").value("Doctor is not available at the requested time"))
+                .andExpect(jsonPath("$.alternativeSlots[0]").value("2030-01-15T10:30:00"));
+    }
+
     @Test
     void testUpdateAppointmentStatus() throws Exception {
         when(appointmentService.updateAppointmentStatus(1L, AppointmentStatus.CONFIRMED))
@@ -88,4 +243,12 @@ class AppointmentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.patientName").value("John Doe"));
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private void streamAppointments(AppointmentResponse... appointments) {
+        doAnswer(invocation -> {
+            Arrays.stream(appointments).forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(appointmentService).forEachAppointment(any());
+    }
+}
@@ -0,0 +1,99 @@
+package com.clinic.controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.clinic.service.AppointmentExportService;
+
+/**
+ * Web layer tests for {@link AppointmentExportController} using MockMvc.
+ */
+@WebMvcTest(AppointmentExportController.class)
+class AppointmentExportControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 6, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AppointmentExportService exportService;
+
+    @Test
+    void testExportStreamsCsv() throws Exception {
+        writesCsv("id\r\n1\r\n");
+        mockMvc.perform(get("/api/appointments/export?from=2026-06-01&to=2026-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"appointments-2026-06-01-2026-06-30.csv\""))
+                .andExpect(content().string("id\r\n1\r\n"));
+    }
+
+    @Test
+    void testExportGzip() throws Exception {
+        writesCsv("id\r\n1\r\n");
+        byte[] body = mockMvc.perform(get("/api/appointments/export?from=2026-06-01&to=2026-06-30&gzip=true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("id\r\n1\r\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testExportResumesWithoutHeader() throws Exception {
+        writesCsv("");
+        mockMvc.perform(get("/api/appointments/export?from=2026-06-01&to=2026-06-30"
+                        + "&afterDate=2026-06-02T09:00:00&afterId=42"))
+                .andExpect(status().isOk());
+        verify(exportService).exportCsv(eq(FROM), eq(TO),
+                eq(new AppointmentExportService.Cursor(LocalDateTime.of(2026, 6, 2, 9, 0), 42)),
+                eq(0), eq(false), any());
+    }
+
+    @Test
+    void testPartialCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/appointments/export?from=2026-06-01&to=2026-06-30&afterId=42"))
+                .andExpect(status().isBadRequest());
+        verify(exportService, never()).exportCsv(any(), any(), any(), anyInt(), anyBoolean(), any());
+    }
+
+    private void writesCsv(String csv) {
+        doAnswer(invocation -> {
+            Writer writer = invocation.getArgument(5);
+            try {
+                writer.write(csv);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return new AppointmentExportService.Result(0, null);
+        }).when(exportService).exportCsv(any(), any(), any(), anyInt(), anyBoolean(), any());
+    }
+}
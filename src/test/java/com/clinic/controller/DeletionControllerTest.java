@@ -0,0 +1,47 @@
+package com.clinic.controller;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.clinic.dto.DeletionStatus;
+import com.clinic.service.DeletionService;
+
+/**
+ * Web layer tests for {@link DeletionController} using MockMvc.
+ */
+@WebMvcTest(DeletionController.class)
+class DeletionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeletionService deletionService;
+
+    @Test
+    void testGetStatus() throws Exception {
+        when(deletionService.getStatus("job-1")).thenReturn(Optional.of(new DeletionStatus("job-1", "doctor", 3L,
+                DeletionStatus.State.RUNNING, 5000, 2000, Instant.now(), null, null)));
+        mockMvc.perform(get("/api/deletions/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.appointmentsDeleted").value(2000));
+    }
+
+    @Test
+    void testGetStatusUnknownJob() throws Exception {
+        when(deletionService.getStatus("nope")).thenReturn(Optional.empty());
+        mockMvc.perform(get("/api/deletions/nope"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,32 +1,41 @@
 package com.clinic.controller;
 
-import java.util.Arrays;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.clinic.config.JacksonConfig;
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.DoctorResponse;
 import com.clinic.model.Doctor;
 import com.clinic.service.DoctorService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(DoctorController.class)
+@Import(JacksonConfig.class)
 class DoctorControllerTest {
 
     @Autowired
@@ -38,6 +47,9 @@ class DoctorControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cbor;
+
     private Doctor testDoctor;
 
     @BeforeEach
@@ -48,17 +60,28 @@ class DoctorControllerTest {
 
     @Test
     void testGetAllDoctors() throws Exception {
-        List<Doctor> doctors = Arrays.asList(testDoctor);
-        when(doctorService.getAllDoctors()).thenReturn(doctors);
+        when(doctorService.getAllDoctors(Set.copyOf(DoctorResponse.FIELDS)))
+                .thenReturn(List.of(DoctorResponse.from(testDoctor)));
         mockMvc.perform(get("/api/doctors"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Dr. Smith"))
                 .andExpect(jsonPath("$[0].specialization").value("Cardiology"));
     }
 
+    @Test
+    void testGetAllDoctorsWithSparseFields() throws Exception {
+        when(doctorService.getAllDoctors(Set.of("id", "name")))
+                .thenReturn(List.of(new DoctorResponse(1L, "Dr. Smith", null, null, null)));
+        mockMvc.perform(get("/api/doctors").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Dr. Smith"))
+                .andExpect(jsonPath("$[0].specialization").doesNotExist());
+    }
+
     @Test
     void testGetDoctorById() throws Exception {
-        when(doctorService.getDoctorById(1L)).thenReturn(Optional.of(testDoctor));
+        when(doctorService.getDoctorById(1L, Set.copyOf(DoctorResponse.FIELDS)))
+                .thenReturn(Optional.of(DoctorResponse.from(testDoctor)));
         mockMvc.perform(get("/api/doctors/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Dr. Smith"))
@@ -67,18 +90,18 @@ class DoctorControllerTest {
 
     @Test
     void testGetDoctorByIdNotFound() throws Exception {
-        when(doctorService.getDoctorById(1L)).thenReturn(Optional.empty());
+        when(doctorService.getDoctorById(1L, Set.copyOf(DoctorResponse.FIELDS))).thenReturn(Optional.empty());
         mockMvc.perform(get("/api/doctors/1"))
                 .andExpect(status().isNotFound());
     }
 
     @Test
     void testGetDoctorsBySpecialization() throws Exception {
-        List<Doctor> doctors = Arrays.asList(testDoctor);
-        when(doctorService.getDoctorsBySpecialization("Cardiology")).thenReturn(doctors);
-        mockMvc.perform(get("/api/doctors/specialization/Cardiology"))
+        when(doctorService.getDoctorsBySpecialization("Cardiology")).thenReturn(List.of(testDoctor));
+        mockMvc.perform(get("/api/doctors/specialization/Cardiology").param("fields", "name,specialization"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].specialization").value("Cardiology"));
+                .andExpect(jsonPath("$[0].specialization").value("Cardiology"))
+                .andExpect(jsonPath("$[0].licenseNumber").doesNotExist());
     }
 
     @Test
@@ -91,6 +114,18 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$.name").value("Dr. Smith"));
     }
 
+    @Test
+    void testCreateDoctorInCbor() throws Exception {
+        when(doctorService.createDoctor(any(Doctor.class))).thenReturn(testDoctor);
+        byte[] body = mockMvc.perform(post("/api/doctors")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.getObjectMapper().writeValueAsBytes(testDoctor)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Dr. Smith", cbor.getObjectMapper().readValue(body, Map.class).get("name"));
+    }
+
     @Test
     void testUpdateDoctor() throws Exception {
         when(doctorService.updateDoctor(eq(1L), any(Doctor.class))).thenReturn(testDoctor);
@@ -103,8 +138,11 @@ class DoctorControllerTest {
 
     @Test
     void testDeleteDoctor() throws Exception {
-        doNothing().when(doctorService).deleteDoctor(1L);
+        when(doctorService.deleteDoctor(1L)).thenReturn(new DeletionStatus("job-1", "doctor", 1L,
+                DeletionStatus.State.RUNNING, 120, 0, Instant.now(), null, null));
         mockMvc.perform(delete("/api/doctors/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/deletions/job-1"))
+                .andExpect(jsonPath("$.appointmentsTotal").value(120));
     }
 }
\ No newline at end of file
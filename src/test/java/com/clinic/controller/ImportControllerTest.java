@@ -0,0 +1,65 @@
+package com.clinic.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.clinic.dto.ImportReport;
+import com.clinic.service.BulkImportService;
+import com.clinic.service.ImportFormat;
+
+/**
+ * Web layer tests for {@link ImportController} using MockMvc.
+ */
+@WebMvcTest(ImportController.class)
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BulkImportService importService;
+
+    @Test
+    void testImportPatientsCsv() throws Exception {
+        when(importService.importPatients(any(), eq(ImportFormat.CSV))).thenReturn(new ImportReport(2, 1, 1, 5, 400.0,
+                List.of(new ImportReport.RowError(3, "email: Email should be valid")), false));
+        mockMvc.perform(post("/api/import/patients").contentType("text/csv").content("name,email,phone\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void testImportDoctorsGzipNdjson() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            gzip.write("{}\n".getBytes(StandardCharsets.UTF_8));
+        }
+        when(importService.importDoctors(any(), eq(ImportFormat.NDJSON)))
+                .thenReturn(new ImportReport(1, 0, 1, 1, 1000.0, List.of(), false));
+        mockMvc.perform(post("/api/import/doctors").contentType("application/x-ndjson")
+                        .header("Content-Encoding", "gzip").content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(1));
+    }
+
+    @Test
+    void testUnsupportedContentTypeIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/import/patients").contentType("application/xml").content("<x/>"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,32 +1,47 @@
 package com.clinic.controller;
 
-import java.util.Arrays;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.clinic.config.JacksonConfig;
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.PatientResponse;
+import com.clinic.dto.PatientSearchResult;
+import com.clinic.dto.PatientSearchResult.Hit;
 import com.clinic.model.Patient;
 import com.clinic.service.PatientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(PatientController.class)
+@Import(JacksonConfig.class)
 class PatientControllerTest {
 
     @Autowired
@@ -38,6 +53,9 @@ class PatientControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smile;
+
     private Patient testPatient;
 
     @BeforeEach
@@ -47,27 +65,80 @@ class PatientControllerTest {
     }
 
     @Test
-    void testGetAllPatients() throws Exception {
-        List<Patient> patients = Arrays.asList(testPatient);
-        when(patientService.getAllPatients()).thenReturn(patients);
+    void testGetAllPatientsLeavesOutMedicalHistory() throws Exception {
+        Set<String> fields = Set.copyOf(PatientResponse.LIST_FIELDS);
+        when(patientService.getAllPatients(fields))
+                .thenReturn(List.of(new PatientResponse(1L, "John Doe", "john@example.com", "1234567890", null)));
         mockMvc.perform(get("/api/patients"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("John Doe"))
-                .andExpect(jsonPath("$[0].email").value("john@example.com"));
+                .andExpect(jsonPath("$[0].email").value("john@example.com"))
+                .andExpect(jsonPath("$[0].medicalHistory").doesNotExist());
+    }
+
+    @Test
+    void testGetAllPatientsWithSparseFields() throws Exception {
+        when(patientService.getAllPatients(Set.of("id", "name")))
+                .thenReturn(List.of(new PatientResponse(1L, "John Doe", null, null, null)));
+        mockMvc.perform(get("/api/patients").param("fields", "id, name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("John Doe"))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+
+    @Test
+    void testGetAllPatientsRejectsUnknownField() throws Exception {
+        mockMvc.perform(get("/api/patients").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(patientService);
     }
 
     @Test
     void testGetPatientById() throws Exception {
-        when(patientService.getPatientById(1L)).thenReturn(Optional.of(testPatient));
+        when(patientService.getPatientById(1L, Set.copyOf(PatientResponse.FIELDS)))
+                .thenReturn(Optional.of(PatientResponse.from(testPatient)));
         mockMvc.perform(get("/api/patients/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("John Doe"))
-                .andExpect(jsonPath("$.email").value("john@example.com"));
+                .andExpect(jsonPath("$.email").value("john@example.com"))
+                .andExpect(jsonPath("$.medicalHistory").value("No allergies"));
+    }
+
+    @Test
+    void testGetPatientByIdKeepsSelectedNulls() throws Exception {
+        when(patientService.getPatientById(1L, Set.of("medicalHistory")))
+                .thenReturn(Optional.of(new PatientResponse(null, null, null, null, null)));
+        mockMvc.perform(get("/api/patients/1").param("fields", "medicalHistory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.medicalHistory").value(nullValue()))
+                .andExpect(jsonPath("$.name").doesNotExist());
+    }
+
+    @Test
+    void testGetPatientByIdAsSmileWithSparseFields() throws Exception {
+        when(patientService.getPatientById(1L, Set.of("id", "name")))
+                .thenReturn(Optional.of(new PatientResponse(1L, "John Doe", null, null, null)));
+        byte[] body = mockMvc.perform(get("/api/patients/1").param("fields", "id,name")
+                        .accept(JacksonConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(Map.of("id", 1, "name", "John Doe"), smile.getObjectMapper().readValue(body, Map.class));
+    }
+
+    @Test
+    void testCreatePatientInSmile() throws Exception {
+        when(patientService.createPatient(any(Patient.class))).thenReturn(testPatient);
+        mockMvc.perform(post("/api/patients")
+                        .contentType(JacksonConfig.APPLICATION_SMILE)
+                        .content(smile.getObjectMapper().writeValueAsBytes(testPatient)))
+                .andExpect(status().isCreated());
+        verify(patientService).createPatient(argThat(patient -> "john@example.com".equals(patient.getEmail())));
     }
 
     @Test
     void testGetPatientByIdNotFound() throws Exception {
-        when(patientService.getPatientById(1L)).thenReturn(Optional.empty());
+        when(patientService.getPatientById(1L, Set.copyOf(PatientResponse.FIELDS))).thenReturn(Optional.empty());
         mockMvc.perform(get("/api/patients/1"))
                 .andExpect(status().isNotFound());
     }
@@ -94,8 +165,23 @@ class PatientControllerTest {
 
     @Test
     void testDeletePatient() throws Exception {
-        doNothing().when(patientService).deletePatient(1L);
+        when(patientService.deletePatient(1L)).thenReturn(new DeletionStatus("job-1", "patient", 1L,
+                DeletionStatus.State.RUNNING, 120, 0, Instant.now(), null, null));
         mockMvc.perform(delete("/api/patients/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/deletions/job-1"))
+                .andExpect(jsonPath("$.appointmentsTotal").value(120));
+    }
+
+    @Test
+    void testSearchPatients() throws Exception {
+        Hit hit = new Hit(1L, "John Doe", "john@example.com", "1234567890", 0.8);
+        when(patientService.searchPatients("jo", 0, 20))
+                .thenReturn(new PatientSearchResult("jo", 0, 20, 1, List.of(hit)));
+        mockMvc.perform(get("/api/patients/search").param("q", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.hits[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.hits[0].score").value(0.8));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package com.clinic.controller;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.clinic.dto.DailyStatsResponse;
+import com.clinic.dto.DoctorStatsReport;
+import com.clinic.exception.BusinessException;
+import com.clinic.service.AppointmentStatsService;
+
+/**
+ * Web layer tests for {@link ReportController} using MockMvc.
+ */
+@WebMvcTest(ReportController.class)
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AppointmentStatsService statsService;
+
+    @Test
+    void testGetDailyStats() throws Exception {
+        LocalDate day = LocalDate.of(2026, 6, 1);
+        when(statsService.getDailyStats(day, day, 1L))
+                .thenReturn(List.of(new DailyStatsResponse(1L, day, 8, 1, 5, 210)));
+        mockMvc.perform(get("/api/reports/daily?from=2026-06-01&to=2026-06-01&doctorId=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].date").value("2026-06-01"))
+                .andExpect(jsonPath("$[0].bookedMinutes").value(210));
+    }
+
+    @Test
+    void testGetMonthlyStats() throws Exception {
+        when(statsService.getMonthlyStats(YearMonth.of(2026, 6))).thenReturn(List.of(new DoctorStatsReport(
+                1L, "Dr. Smith", LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 30),
+                20, 4, 10, 600, 2400L, 0.2, 0.25)));
+        mockMvc.perform(get("/api/reports/monthly?month=2026-06"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].doctorName").value("Dr. Smith"))
+                .andExpect(jsonPath("$[0].utilization").value(0.25));
+    }
+
+    @Test
+    void testReversedRangeIsBadRequest() throws Exception {
+        LocalDate from = LocalDate.of(2026, 6, 2);
+        LocalDate to = LocalDate.of(2026, 6, 1);
+        when(statsService.getSpecializationStats(from, to))
+                .thenThrow(new BusinessException("Report range must not end before it starts"));
+        mockMvc.perform(get("/api/reports/specializations?from=2026-06-02&to=2026-06-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRebuildRollups() throws Exception {
+        when(statsService.rebuild(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 30))).thenReturn(42);
+        mockMvc.perform(post("/api/reports/rollups/rebuild?from=2026-06-01&to=2026-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(42));
+    }
+}
@@ -0,0 +1,53 @@
+package com.clinic.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.clinic.model.Specialization;
+import com.clinic.service.SpecializationService;
+
+/**
+ * Web layer tests for {@link SpecializationController} using MockMvc.
+ */
+@WebMvcTest(SpecializationController.class)
+class SpecializationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SpecializationService specializationService;
+
+    @Test
+    void testGetAllSpecializations() throws Exception {
+        when(specializationService.getAllSpecializations()).thenReturn(List.of(specialization(1L, "Cardiology")));
+        mockMvc.perform(get("/api/specializations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Cardiology"));
+    }
+
+    @Test
+    void testSearchSpecializations() throws Exception {
+        when(specializationService.searchSpecializations("CARD"))
+                .thenReturn(List.of(specialization(1L, "Cardiology")));
+        mockMvc.perform(get("/api/specializations").param("q", "CARD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Cardiology"));
+    }
+
+    private static Specialization specialization(Long id, String name) {
+        Specialization specialization = new Specialization(name);
+        specialization.setId(id);
+        return specialization;
+    }
+}
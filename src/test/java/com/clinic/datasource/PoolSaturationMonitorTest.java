@@ -0,0 +1,112 @@
+package com.clinic.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link PoolSaturationMonitor} with a one-connection Hikari
+ * pool over H2, behind a proxy as the application's pool may be.
+ */
+class PoolSaturationMonitorTest {
+
+    private HikariDataSource pool;
+    private SimpleMeterRegistry meterRegistry;
+    private PoolSaturationMonitor monitor;
+    private ExecutorService waiters;
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:pool-saturation;DB_CLOSE_DELAY=-1");
+        pool.setPoolName("test");
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(10_000);
+
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("dataSource", new LazyConnectionDataSourceProxy(pool));
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new PoolSaturationMonitor(beans.getBeanProvider(DataSource.class),
+                beans.getBeanProvider(ReplicaSet.class), meterRegistry, 1);
+        waiters = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        waiters.shutdownNow();
+        pool.close();
+    }
+
+    @Test
+    void testQuietWhilePendingAtThreshold() throws Exception {
+        try (Connection held = pool.getConnection()) {
+            Future<?> waiter = waitForConnection();
+            awaitPending(1);
+
+            monitor.check();
+
+            assertNull(saturated());
+            held.close();
+            waiter.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testCountsSamplesAbovePendingThreshold() throws Exception {
+        try (Connection held = pool.getConnection()) {
+            Future<?> first = waitForConnection();
+            Future<?> second = waitForConnection();
+            awaitPending(2);
+
+            monitor.check();
+            monitor.check();
+
+            assertEquals(2, saturated().count());
+            held.close();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Future<?> waitForConnection() {
+        return waiters.submit(() -> {
+            try (Connection connection = pool.getConnection()) {
+                return null;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void awaitPending(int threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getHikariPoolMXBean().getThreadsAwaitingConnection() < threads) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("waiters never queued");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private Counter saturated() {
+        return meterRegistry.find("clinic.datasource.pool.saturated").tag("pool", "test").counter();
+    }
+}
@@ -0,0 +1,181 @@
+package com.clinic.datasource;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for {@link ReplicaRoutingDataSource} with {@link ReplicaSet} over
+ * two embedded H2 databases: the primary has a patient the replica has
+ * not received yet, so the patient count shows where a query ran.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+    private static final String COUNT = "SELECT COUNT(*) FROM patients";
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaSet replicaSet;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database();
+        replica = database();
+        new JdbcTemplate(primary).update(
+                "INSERT INTO patients (name, email, phone) VALUES ('Jane Roe', 'jane@example.com', '555')");
+
+        replicaSet = new ReplicaSet(primary, List.of(replica), Duration.ofSeconds(2), Clock.fixed(NOW, ZoneOffset.UTC));
+        LazyConnectionDataSourceProxy routed = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicaSet));
+        jdbcTemplate = new JdbcTemplate(routed);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routed);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void testOnlyReadOnlyTransactionsGoToFreshReplica() {
+        replicated(NOW.minusMillis(1500));
+
+        assertEquals(1, readOnlyCount());
+        assertEquals(2, readWriteCount());
+        assertEquals(2, count());
+    }
+
+    @Test
+    void testUncheckedOrLaggingReplicaFallsBackToPrimary() {
+        assertEquals(2, readOnlyCount());
+
+        replicated(NOW.minusSeconds(5));
+        assertEquals(2, readOnlyCount());
+
+        replicated(NOW.minusSeconds(1));
+        assertEquals(1, readOnlyCount());
+    }
+
+    @Test
+    void testUnreadableReplicaFallsBackToPrimary() {
+        replicated(NOW.minusSeconds(1));
+        new JdbcTemplate(replica).execute("DROP TABLE replication_heartbeat");
+
+        replicaSet.heartbeat();
+
+        assertFalse(replicaSet.isFresh(0));
+        assertEquals(ReplicaSet.UNKNOWN, replicaSet.lagMillis(0));
+        assertEquals(2, readOnlyCount());
+    }
+
+    @Test
+    void testHeartbeatWritesBeatToPrimary() {
+        replicaSet.heartbeat();
+        replicaSet.heartbeat();
+
+        assertEquals(List.of(Timestamp.from(NOW)), new JdbcTemplate(primary)
+                .queryForList("SELECT beat_at FROM replication_heartbeat", Timestamp.class));
+    }
+
+    @Test
+    void testCommittedWritePinsRestOfScope() {
+        replicated(NOW.minusSeconds(1));
+        AtomicInteger writes = new AtomicInteger();
+
+        try (ReadYourWrites.Scope scope = ReadYourWrites.open(false, writes::incrementAndGet)) {
+            assertEquals(1, readOnlyCount());
+
+            readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE patients SET phone = '556' WHERE id = 1"));
+            readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE patients SET phone = '557' WHERE id = 1"));
+
+            assertTrue(scope.wrote());
+            assertEquals(1, writes.get());
+            assertEquals(2, readOnlyCount());
+        }
+        assertEquals(1, readOnlyCount());
+    }
+
+    @Test
+    void testRolledBackWriteDoesNotPin() {
+        replicated(NOW.minusSeconds(1));
+
+        try (ReadYourWrites.Scope scope = ReadYourWrites.open(false, () -> { })) {
+            readWrite.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE patients SET phone = '556' WHERE id = 1");
+                status.setRollbackOnly();
+            });
+
+            assertFalse(scope.wrote());
+            assertEquals(1, readOnlyCount());
+        }
+    }
+
+    @Test
+    void testPinnedScopeReadsPrimary() {
+        replicated(NOW.minusSeconds(1));
+
+        try (ReadYourWrites.Scope scope = ReadYourWrites.open(true, () -> { })) {
+            assertEquals(2, readOnlyCount());
+        }
+    }
+
+    @Test
+    void testOnPrimaryReadsPrimaryOutsideAnyScope() {
+        replicated(NOW.minusSeconds(1));
+
+        assertEquals(2, ReadYourWrites.onPrimary(this::readOnlyCount));
+        assertFalse(ReadYourWrites.isPinned());
+        assertEquals(1, readOnlyCount());
+    }
+
+    /** The replica has caught up to a beat written at {@code beatAt}; measure it. */
+    private void replicated(Instant beatAt) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM replication_heartbeat");
+        replicaJdbc.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", Timestamp.from(beatAt));
+        replicaSet.heartbeat();
+    }
+
+    private int readOnlyCount() {
+        return readOnly.execute(status -> count());
+    }
+
+    private int readWriteCount() {
+        return readWrite.execute(status -> count());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject(COUNT, Integer.class);
+    }
+
+    private static EmbeddedDatabase database() {
+        return new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+    }
+}
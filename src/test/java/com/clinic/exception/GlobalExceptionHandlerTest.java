@@ -1,11 +1,16 @@
 package com.clinic.exception;
 
-import java.util.Map;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -14,35 +19,39 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 
 class GlobalExceptionHandlerTest {
 
+    private static final Instant NOW = Instant.parse("2026-10-19T09:00:00Z");
+
     private GlobalExceptionHandler exceptionHandler;
 
     @BeforeEach
     void setUp() {
-        exceptionHandler = new GlobalExceptionHandler();
+        exceptionHandler = new GlobalExceptionHandler(Clock.fixed(NOW, ZoneOffset.UTC));
     }
 
     @Test
     void testHandleResourceNotFoundException() {
         ResourceNotFoundException ex = new ResourceNotFoundException("Resource not found");
-        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleNotFound(ex);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleNotFound(ex);
         
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ErrorResponse body = response.getBody();
         assertNotNull(body);
-        assertEquals(404, body.get("status"));
-        assertEquals("Resource not found", body.get("message"));
+        assertEquals(404, body.status());
+        assertEquals(NOW, body.timestamp());
+        assertEquals("Resource not found", body.message());
     }
 
     @Test
     void testHandleBusinessException() {
         BusinessException ex = new BusinessException("Business rule violation");
-        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleBusinessException(ex);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleBusinessException(ex);
         
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ErrorResponse body = response.getBody();
         assertNotNull(body);
-        assertEquals(400, body.get("status"));
-        assertEquals("Business rule violation", body.get("message"));
+        assertEquals(400, body.status());
+        assertEquals("Business rule violation", body.message());
+        assertNull(body.fields());
     }
 
     @Test
@@ -52,23 +61,51 @@ class GlobalExceptionHandlerTest {
         bindingResult.addError(new FieldError("testObject", "name", "Name is required"));
         
         MethodArgumentNotValidException ex = new MethodArgumentNotValidException(null, bindingResult);
-        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleValidationException(ex);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleValidationException(ex);
         
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ErrorResponse body = response.getBody();
         assertNotNull(body);
-        assertEquals(400, body.get("status"));
+        assertEquals(400, body.status());
+        assertEquals("Name is required", body.fields().get("name"));
+    }
+
+    @Test
+    void testReusedIdempotencyKeyIsUnprocessable() {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleIdempotencyKeyReused(
+                new IdempotencyKeyReusedException("Idempotency-Key was used for a different request"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(422, response.getBody().status());
+        assertEquals("Idempotency-Key was used for a different request", response.getBody().message());
+    }
+
+    @Test
+    void testLockTimeoutAsksClientToRetry() {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleConcurrencyFailure(
+                new PessimisticLockingFailureException("Lock wait timeout exceeded"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(503, response.getBody().status());
     }
 
     @Test
     void testHandleGenericException() {
         Exception ex = new Exception("Unexpected error");
-        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleGenericException(ex);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleGenericException(ex);
         
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ErrorResponse body = response.getBody();
         assertNotNull(body);
-        assertEquals(500, body.get("status"));
-        assertEquals("Unexpected error", body.get("message"));
+        assertEquals(500, body.status());
+        assertEquals("Unexpected error", body.message());
+    }
+
+    @Test
+    void testDomainExceptionsAreStackless() {
+        assertEquals(0, new BusinessException("Doctor is not available").getStackTrace().length);
+        assertEquals(0, new ResourceNotFoundException("Doctor not found").getStackTrace().length);
+        assertEquals(0, new IdempotencyKeyReusedException("Key reused").getStackTrace().length);
     }
-}
\ No newline at end of file
+}
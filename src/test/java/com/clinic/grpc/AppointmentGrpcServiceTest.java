@@ -0,0 +1,283 @@
+package com.clinic.grpc;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.grpc.v1.Appointment;
+import com.clinic.grpc.v1.AppointmentSchedulingGrpc;
+import com.clinic.grpc.v1.BatchCreateReply;
+import com.clinic.grpc.v1.BookingResult;
+import com.clinic.grpc.v1.CreateAppointmentRequest;
+import com.clinic.grpc.v1.DoctorScheduleRequest;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.service.AppointmentService;
+import com.clinic.service.BookingLimiter;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+
+/**
+ * Tests for {@link AppointmentGrpcService} through an in-process gRPC
+ * server and channel, with a mocked {@link AppointmentService}.
+ */
+class AppointmentGrpcServiceTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2031, 3, 3, 9, 0);
+
+    private AppointmentService appointmentService;
+    private BookingLimiter bookingLimiter;
+    private Server server;
+    private ManagedChannel channel;
+    private AppointmentSchedulingGrpc.AppointmentSchedulingBlockingStub blocking;
+    private AppointmentSchedulingGrpc.AppointmentSchedulingStub async;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        appointmentService = mock(AppointmentService.class);
+        bookingLimiter = new BookingLimiter(true, 2, 10, 1, 0, List.of(), List.of());
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new AppointmentGrpcService(appointmentService, bookingLimiter,
+                        Validation.buildDefaultValidatorFactory().getValidator()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blocking = AppointmentSchedulingGrpc.newBlockingStub(channel);
+        async = AppointmentSchedulingGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    private static CreateAppointmentRequest request(long patientId, String date) {
+        return CreateAppointmentRequest.newBuilder()
+                .setPatientId(patientId)
+                .setDoctorId(1L)
+                .setAppointmentDate(date)
+                .build();
+    }
+
+    private static AppointmentResponse response(long id, LocalDateTime start) {
+        AppointmentResponse response = new AppointmentResponse();
+        response.setId(id);
+        response.setPatientName("John Doe");
+        response.setDoctorName("Dr. Smith");
+        response.setAppointmentDate(start);
+        response.setDurationMinutes(30);
+        response.setEndDate(start.plusMinutes(30));
+        response.setStatus(AppointmentStatus.SCHEDULED);
+        return response;
+    }
+
+    @Test
+    void testCreateAppointmentReturnsTheBooking() {
+        when(appointmentService.bookAppointment(any()))
+                .thenReturn(new com.clinic.service.BookingResult.Accepted(response(7L, NINE)));
+
+        BookingResult result = blocking.createAppointment(request(1L, "2031-03-03T09:00"));
+
+        assertEquals(BookingResult.ResultCase.APPOINTMENT, result.getResultCase());
+        Appointment appointment = result.getAppointment();
+        assertEquals(7L, appointment.getId());
+        assertEquals("2031-03-03T09:00:00", appointment.getAppointmentDate());
+        assertEquals("2031-03-03T09:30:00", appointment.getEndDate());
+        assertEquals("SCHEDULED", appointment.getStatus());
+        assertEquals("", appointment.getNotes());
+        verify(appointmentService).bookAppointment(argThat(request -> request.getPatientId() == 1L
+                && NINE.equals(request.getAppointmentDate())
+                && request.getDurationMinutes() == null
+                && request.getNotes() == null));
+    }
+
+    @Test
+    void testCreateAppointmentReturnsAConflictWithAlternatives() {
+        when(appointmentService.bookAppointment(any())).thenReturn(new com.clinic.service.BookingResult.Conflict(
+                "Doctor is not available at the requested time", List.of(NINE.plusMinutes(30), NINE.plusHours(1))));
+
+        BookingResult result = blocking.createAppointment(request(1L, "2031-03-03T09:00:00"));
+
+        assertEquals(BookingResult.ResultCase.CONFLICT, result.getResultCase());
+        assertEquals(List.of("2031-03-03T09:30:00", "2031-03-03T10:00:00"),
+                result.getConflict().getAlternativeSlotsList());
+    }
+
+    @Test
+    void testCreateAppointmentForUnknownDoctorIsNotFound() {
+        when(appointmentService.bookAppointment(any()))
+                .thenThrow(new ResourceNotFoundException("Doctor not found with id: 1"));
+
+        StatusRuntimeException ex = assertThrows(StatusRuntimeException.class,
+                () -> blocking.createAppointment(request(1L, "2031-03-03T09:00:00")));
+
+        assertEquals(Status.Code.NOT_FOUND, ex.getStatus().getCode());
+        assertEquals("Doctor not found with id: 1", ex.getStatus().getDescription());
+    }
+
+    @Test
+    void testCreateAppointmentOverTheConcurrencyLimitIsUnavailable() {
+        when(appointmentService.bookAppointment(any()))
+                .thenReturn(new com.clinic.service.BookingResult.Accepted(response(7L, NINE)));
+        assertTrue(bookingLimiter.tryAcquire(false));
+
+        StatusRuntimeException ex = assertThrows(StatusRuntimeException.class,
+                () -> blocking.createAppointment(request(1L, "2031-03-03T09:00:00")));
+
+        assertEquals(Status.Code.UNAVAILABLE, ex.getStatus().getCode());
+        verify(appointmentService, never()).bookAppointment(any());
+        bookingLimiter.release();
+        assertEquals(BookingResult.ResultCase.APPOINTMENT,
+                blocking.createAppointment(request(1L, "2031-03-03T09:00:00")).getResultCase());
+        // The booking gave its place back
+        assertTrue(bookingLimiter.tryAcquire(false));
+    }
+
+    @Test
+    void testInvalidRequestIsRejectedBeforeBooking() {
+        StatusRuntimeException missing = assertThrows(StatusRuntimeException.class,
+                () -> blocking.createAppointment(CreateAppointmentRequest.newBuilder()
+                        .setDoctorId(1L)
+                        .setAppointmentDate("2031-03-03T09:00:00")
+                        .setDurationMinutes(600)
+                        .build()));
+        StatusRuntimeException past = assertThrows(StatusRuntimeException.class,
+                () -> blocking.createAppointment(request(1L, "2001-03-03T09:00:00")));
+        StatusRuntimeException malformed = assertThrows(StatusRuntimeException.class,
+                () -> blocking.createAppointment(request(1L, "03/03/2031 09:00")));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, missing.getStatus().getCode());
+        assertEquals("durationMinutes: Duration cannot exceed 480 minutes; patientId: Patient ID is required",
+                missing.getStatus().getDescription());
+        assertEquals("appointmentDate: Appointment date must be in the future", past.getStatus().getDescription());
+        assertTrue(malformed.getStatus().getDescription().startsWith("appointment_date: not an ISO-8601"));
+        verify(appointmentService, never()).bookAppointment(any());
+    }
+
+    @Test
+    void testStreamDoctorScheduleWithinBounds() {
+        when(appointmentService.getAppointmentsByDoctor(1L)).thenReturn(List.of(
+                response(1L, NINE.minusDays(1)), response(2L, NINE), response(3L, NINE.plusHours(1)),
+                response(4L, NINE.plusDays(1))));
+
+        List<Long> ids = new ArrayList<>();
+        blocking.streamDoctorSchedule(DoctorScheduleRequest.newBuilder()
+                        .setDoctorId(1L)
+                        .setFrom("2031-03-03T09:00:00")
+                        .setTo("2031-03-04T09:00:00")
+                        .build())
+                .forEachRemaining(page -> page.getAppointmentsList().forEach(a -> ids.add(a.getId())));
+
+        assertEquals(List.of(2L, 3L), ids);
+    }
+
+    @Test
+    void testStreamDoctorScheduleInPages() {
+        List<AppointmentResponse> schedule = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            schedule.add(response(i + 1, NINE.plusMinutes(30L * i)));
+        }
+        when(appointmentService.getAppointmentsByDoctor(1L)).thenReturn(schedule);
+
+        List<Integer> pageSizes = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        blocking.streamDoctorSchedule(DoctorScheduleRequest.newBuilder().setDoctorId(1L).build())
+                .forEachRemaining(page -> {
+                    pageSizes.add(page.getAppointmentsCount());
+                    page.getAppointmentsList().forEach(a -> ids.add(a.getId()));
+                });
+
+        assertEquals(List.of(100, 100, 50), pageSizes);
+        assertEquals(schedule.stream().map(AppointmentResponse::getId).toList(), ids);
+    }
+
+    @Test
+    void testStreamEmptyScheduleSendsNoPages() {
+        when(appointmentService.getAppointmentsByDoctor(1L)).thenReturn(List.of());
+
+        assertFalse(blocking.streamDoctorSchedule(DoctorScheduleRequest.newBuilder().setDoctorId(1L).build())
+                .hasNext());
+    }
+
+    @Test
+    void testStreamDoctorScheduleRejectsMalformedBound() {
+        StatusRuntimeException ex = assertThrows(StatusRuntimeException.class,
+                () -> blocking.streamDoctorSchedule(DoctorScheduleRequest.newBuilder()
+                        .setDoctorId(1L)
+                        .setFrom("tomorrow")
+                        .build()).hasNext());
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, ex.getStatus().getCode());
+        verify(appointmentService, never()).getAppointmentsByDoctor(any());
+    }
+
+    @Test
+    void testBatchCreateReportsEachRequestInOrder() throws Exception {
+        when(appointmentService.bookAppointment(argThat(request -> request != null && request.getPatientId() == 1L)))
+                .thenReturn(new com.clinic.service.BookingResult.Accepted(response(7L, NINE)));
+        when(appointmentService.bookAppointment(argThat(request -> request != null && request.getPatientId() == 2L)))
+                .thenReturn(new com.clinic.service.BookingResult.Conflict("Doctor is not available", List.of()));
+        when(appointmentService.bookAppointment(argThat(request -> request != null && request.getPatientId() == 3L)))
+                .thenThrow(new ResourceNotFoundException("Patient not found with id: 3"));
+
+        CompletableFuture<BatchCreateReply> reply = new CompletableFuture<>();
+        StreamObserver<CreateAppointmentRequest> requests = async.batchCreateAppointments(new StreamObserver<>() {
+            @Override
+            public void onNext(BatchCreateReply value) {
+                reply.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                reply.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        requests.onNext(request(1L, "2031-03-03T09:00:00"));
+        requests.onNext(request(2L, "2031-03-03T09:00:00"));
+        requests.onNext(request(3L, "2031-03-03T10:00:00"));
+        requests.onNext(request(4L, "not a date"));
+        requests.onCompleted();
+        BatchCreateReply result = reply.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, result.getBooked());
+        assertEquals(1, result.getConflicts());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(BookingResult.ResultCase.APPOINTMENT, BookingResult.ResultCase.CONFLICT,
+                        BookingResult.ResultCase.FAILURE, BookingResult.ResultCase.FAILURE),
+                result.getResultsList().stream().map(BookingResult::getResultCase).toList());
+        assertEquals("NOT_FOUND", result.getResults(2).getFailure().getCode());
+        assertEquals("INVALID_ARGUMENT", result.getResults(3).getFailure().getCode());
+    }
+}
@@ -0,0 +1,108 @@
+package com.clinic.job;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.repository.JobLockRepository;
+import com.clinic.service.AppointmentArchiveService;
+
+/**
+ * Tests for {@link AppointmentArchiveJob} on two simulated instances
+ * sharing the {@code job_locks} table of an embedded H2 database.
+ */
+class AppointmentArchiveJobTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T03:30:00Z");
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AppointmentArchiveService archiveService;
+    private AppointmentArchiveJob first;
+    private AppointmentArchiveJob second;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+        JobLockRepository jobLocks = new JobLockRepository(jdbcTemplate);
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        archiveService = mock(AppointmentArchiveService.class);
+        first = new AppointmentArchiveJob(archiveService, jobLocks, clock);
+        second = new AppointmentArchiveJob(archiveService, jobLocks, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testSpringCanConstructJob() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(AppointmentArchiveService.class, () -> archiveService);
+            context.registerBean(JobLockRepository.class, () -> new JobLockRepository(jdbcTemplate));
+            context.register(AppointmentArchiveJob.class);
+            context.refresh();
+
+            assertNotNull(context.getBean(AppointmentArchiveJob.class));
+        }
+    }
+
+    @Test
+    void testOnlyOneInstanceRunsAtATime() {
+        doAnswer(inv -> {
+            // The other instance fires while this one is archiving.
+            second.run();
+            return 0L;
+        }).doReturn(0L).when(archiveService).archive();
+
+        first.run();
+        verify(archiveService, times(1)).archive();
+
+        second.run();
+        verify(archiveService, times(2)).archive();
+    }
+
+    @Test
+    void testFailedRunReleasesLease() {
+        when(archiveService.archive()).thenThrow(new IllegalStateException("boom")).thenReturn(0L);
+
+        first.run();
+        second.run();
+
+        verify(archiveService, times(2)).archive();
+    }
+
+    @Test
+    void testLeaseOfDeadInstanceIsTakenOverOnceExpired() {
+        jdbcTemplate.update("INSERT INTO job_locks (name, locked_by, locked_until) VALUES (?, 'dead', ?)",
+                AppointmentArchiveJob.LOCK, Timestamp.from(NOW.plusSeconds(60)));
+        first.run();
+        verify(archiveService, never()).archive();
+
+        jdbcTemplate.update("UPDATE job_locks SET locked_until = ?", Timestamp.from(NOW.minusSeconds(1)));
+        first.run();
+        verify(archiveService).archive();
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM job_locks", Integer.class));
+    }
+}
@@ -0,0 +1,109 @@
+package com.clinic.job;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.spy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.service.AppointmentExportService;
+
+/**
+ * Tests for {@link AppointmentExportJob} writing to a temporary directory
+ * from an embedded H2 database.
+ */
+class AppointmentExportJobTest {
+
+    private static final YearMonth JUNE = YearMonth.of(2026, 6);
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private AppointmentExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, status) "
+                    + "VALUES (?, 1, 1, ?, 'SCHEDULED')", i, JUNE.atDay(i).atTime(9, 0));
+        }
+        exportService = new AppointmentExportService(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testExportsMonthInGzipChunks() throws IOException {
+        long rows = job(exportService).exportMonth(JUNE);
+
+        assertEquals(5, rows);
+        assertEquals(List.of("id", "1", "2", "3", "4", "5"), ids(directory.resolve("appointments-2026-06.csv.gz")));
+        assertFalse(Files.exists(directory.resolve("appointments-2026-06.offset")));
+    }
+
+    @Test
+    void testCompletedMonthIsSkipped() throws IOException {
+        AppointmentExportJob job = job(exportService);
+        job.exportMonth(JUNE);
+        assertEquals(0, job.exportMonth(JUNE));
+    }
+
+    @Test
+    void testResumesFromCheckpointAfterFailure() throws IOException {
+        AppointmentExportService failing = spy(exportService);
+        doCallRealMethod()
+                .doThrow(new UncheckedIOException(new IOException("disk full")))
+                .when(failing).exportCsv(any(), any(), any(), anyInt(), anyBoolean(), any());
+        assertThrows(UncheckedIOException.class, () -> job(failing).exportMonth(JUNE));
+        Path file = directory.resolve("appointments-2026-06.csv.gz");
+        assertTrue(Files.exists(directory.resolve("appointments-2026-06.offset")));
+        Files.write(file, "partial chunk".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        long rows = job(exportService).exportMonth(JUNE);
+
+        assertEquals(3, rows);
+        assertEquals(List.of("id", "1", "2", "3", "4", "5"), ids(file));
+    }
+
+    private AppointmentExportJob job(AppointmentExportService service) {
+        return new AppointmentExportJob(service, directory, JUNE, JUNE, true, 2);
+    }
+
+    private static List<String> ids(Path gzipFile) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzipFile))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .map(line -> line.substring(0, line.indexOf(',')))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.clinic.job;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import com.clinic.config.SchedulingConfig;
+import com.clinic.datasource.PoolSaturationMonitor;
+import com.clinic.datasource.ReplicaSet;
+import com.clinic.repository.JobLockRepository;
+import com.clinic.service.IdempotencyService;
+
+/**
+ * Checks which jobs are scheduled with and without a web application.
+ * The export, import and generate runs have none, and any scheduled job
+ * would keep the scheduler thread, and so the process, alive.
+ */
+class ScheduledJobsTest {
+
+    private static final String REPLICAS = "clinic.datasource.replica.urls=jdbc:h2:mem:replica";
+    private static final Class<?>[] JOBS =
+            {SchedulingConfig.class, PoolSaturationJob.class, IdempotencyKeyPurgeJob.class, ReplicationHeartbeatJob.class};
+
+    @Test
+    void testServerSchedulesJobs() {
+        new WebApplicationContextRunner()
+                .withPropertyValues(REPLICAS)
+                .withUserConfiguration(JOBS)
+                .withBean(PoolSaturationMonitor.class, () -> mock(PoolSaturationMonitor.class))
+                .withBean(IdempotencyService.class, () -> mock(IdempotencyService.class))
+                .withBean(JobLockRepository.class, () -> mock(JobLockRepository.class))
+                .withBean(ReplicaSet.class, () -> mock(ReplicaSet.class))
+                .run(context -> assertEquals(
+                        Set.of(PoolSaturationJob.class, IdempotencyKeyPurgeJob.class, ReplicationHeartbeatJob.class),
+                        scheduledJobs(context)));
+    }
+
+    @Test
+    void testCommandLineRunSchedulesNothing() {
+        new ApplicationContextRunner()
+                .withPropertyValues(REPLICAS)
+                .withUserConfiguration(JOBS)
+                .withBean(PoolSaturationMonitor.class, () -> mock(PoolSaturationMonitor.class))
+                .withBean(IdempotencyService.class, () -> mock(IdempotencyService.class))
+                .withBean(JobLockRepository.class, () -> mock(JobLockRepository.class))
+                .withBean(ReplicaSet.class, () -> mock(ReplicaSet.class))
+                .run(context -> assertEquals(Set.of(), scheduledJobs(context)));
+    }
+
+    private static Set<Class<?>> scheduledJobs(ApplicationContext context) {
+        return context.getBeansOfType(ScheduledTaskHolder.class).values().stream()
+                .flatMap(holder -> holder.getScheduledTasks().stream())
+                .map(task -> task.getTask().getRunnable())
+                .filter(ScheduledMethodRunnable.class::isInstance)
+                .map(runnable -> ((ScheduledMethodRunnable) runnable).getTarget().getClass())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,113 @@
+package com.clinic.job;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.service.AppointmentStatsService;
+
+/**
+ * Tests for {@link SyntheticDataJob} generating into an embedded H2 database.
+ */
+class SyntheticDataJobTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 5);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testGeneratesRequestedRowsAfterExistingIds() {
+        job(300, 20, 2000).generate();
+
+        assertEquals(301, count("patients"));
+        assertEquals(21, count("doctors"));
+        assertEquals(2000, count("appointments"));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT MIN(id) FROM patients WHERE id > 1", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT phone FROM patients GROUP BY phone HAVING COUNT(*) > 1)", Integer.class));
+    }
+
+    @Test
+    void testNeverDoubleBooksADoctor() {
+        job(300, 20, 2000).generate();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointments a JOIN appointments b ON a.doctor_id = b.doctor_id "
+                        + "AND a.id < b.id AND a.appointment_date < b.appointment_end "
+                        + "AND b.appointment_date < a.appointment_end", Integer.class));
+    }
+
+    @Test
+    void testDistributionIsSkewed() {
+        job(300, 20, 2000).generate();
+
+        List<Integer> perDoctor = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM appointments GROUP BY doctor_id ORDER BY COUNT(*) DESC", Integer.class);
+        assertTrue(perDoctor.get(0) > 3 * perDoctor.get(perDoctor.size() / 2),
+                "busiest doctor should have well over the median: " + perDoctor);
+
+        List<LocalDateTime> starts = jdbcTemplate.queryForList(
+                "SELECT appointment_date FROM appointments", LocalDateTime.class);
+        assertFalse(starts.stream().anyMatch(s -> s.getDayOfWeek() == DayOfWeek.SUNDAY));
+        long peak = starts.stream().filter(s -> s.getHour() == 10).count();
+        long evening = starts.stream().filter(s -> s.getHour() == 17).count();
+        assertTrue(peak > 3 * evening, "10:00 should be far busier than 17:00: " + peak + " vs " + evening);
+    }
+
+    @Test
+    void testSameSeedGivesSameData() {
+        job(50, 5, 200).generate();
+        List<Map<String, Object>> first = jdbcTemplate.queryForList(
+                "SELECT doctor_id, patient_id, appointment_date FROM appointments ORDER BY id");
+        jdbcTemplate.update("DELETE FROM appointments");
+        jdbcTemplate.update("DELETE FROM patients WHERE id > 1");
+        jdbcTemplate.update("DELETE FROM doctors WHERE id > 1");
+
+        job(50, 5, 200).generate();
+
+        assertEquals(first, jdbcTemplate.queryForList(
+                "SELECT doctor_id, patient_id, appointment_date FROM appointments ORDER BY id"));
+    }
+
+    @Test
+    void testRejectsMoreAppointmentsThanFit() {
+        assertThrows(IllegalArgumentException.class, () -> job(10, 1, 10_000).generate());
+    }
+
+    private SyntheticDataJob job(int patients, int doctors, int appointments) {
+        return new SyntheticDataJob(jdbcTemplate, mock(AppointmentStatsService.class),
+                patients, doctors, appointments, FIRST_DAY, 60, 42, 64);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -43,6 +43,31 @@ class AppointmentTest {
         assertEquals(AppointmentStatus.COMPLETED, appointment.getStatus());
     }
 
+    @Test
+    void testEndDateFollowsStartAndDuration() {
+        LocalDateTime dateTime = LocalDateTime.of(2024, 12, 25, 10, 0);
+        Appointment appointment = new Appointment(new Patient(), new Doctor(), dateTime, "Checkup");
+        assertEquals(30, appointment.getDurationMinutes());
+        assertEquals(dateTime.plusMinutes(30), appointment.getEndDate());
+
+        appointment.setDurationMinutes(45);
+        assertEquals(dateTime.plusMinutes(45), appointment.getEndDate());
+
+        appointment.setAppointmentDate(dateTime.plusHours(1));
+        assertEquals(dateTime.plusMinutes(105), appointment.getEndDate());
+    }
+
+    @Test
+    void testRowWithoutDurationReadsAsDefaultLength() {
+        LocalDateTime dateTime = LocalDateTime.of(2024, 12, 25, 10, 0);
+        Appointment appointment = new Appointment(new Patient(), new Doctor(), dateTime, "Checkup");
+        // As loaded from a row booked before durations were stored
+        appointment.setDurationMinutes(null);
+
+        assertEquals(Appointment.DEFAULT_DURATION_MINUTES, appointment.getDurationMinutes());
+        assertEquals(dateTime.plusMinutes(30), appointment.getEndDate());
+    }
+
     @Test
     void testAppointmentStatusEnum() {
         assertEquals("SCHEDULED", AppointmentStatus.SCHEDULED.toString());
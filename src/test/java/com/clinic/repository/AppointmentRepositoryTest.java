@@ -0,0 +1,86 @@
+package com.clinic.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.clinic.model.Appointment;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.model.Specialization;
+
+/**
+ * Tests for the overlap query of {@link AppointmentRepository} against an
+ * embedded H2 schema generated from the entities.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class AppointmentRepositoryTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Patient patient;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        patient = entityManager.persist(new Patient("Ann Lee", "ann@example.com", "5550000001", null));
+        doctor = new Doctor("Dr. Smith", null, "CARD123", null);
+        doctor.setSpecializationRef(entityManager.persist(new Specialization("Cardiology")));
+        entityManager.persist(doctor);
+    }
+
+    @Test
+    void testFindsAppointmentsOverlappingTheRange() {
+        Appointment booked = book(NINE, 45);
+        book(NINE.plusHours(2), 30).setStatus(AppointmentStatus.CANCELLED);
+        entityManager.flush();
+
+        assertEquals(List.of(booked.getId()), overlapping(NINE.plusMinutes(30), NINE.plusHours(3)));
+        assertEquals(List.of(), overlapping(NINE.plusMinutes(45), NINE.plusHours(3)));
+        assertEquals(List.of(), overlapping(NINE.minusMinutes(30), NINE));
+    }
+
+    @Test
+    void testRowWithoutEndCountsAsDefaultLength() {
+        Long legacy = book(NINE, 30).getId();
+        entityManager.flush();
+        // Booked before durations and ends were stored, and never backfilled
+        entityManager.getEntityManager().createNativeQuery(
+                "UPDATE appointments SET duration_minutes = NULL, appointment_end = NULL WHERE id = " + legacy)
+                .executeUpdate();
+        entityManager.clear();
+
+        assertEquals(List.of(legacy), overlapping(NINE.plusMinutes(15), NINE.plusMinutes(45)));
+        assertEquals(List.of(legacy), overlapping(NINE.minusMinutes(15), NINE.plusMinutes(15)));
+        assertEquals(List.of(), overlapping(NINE.plusMinutes(30), NINE.plusMinutes(60)));
+        assertEquals(NINE.plusMinutes(30), appointmentRepository.findById(legacy).orElseThrow().getEndDate());
+    }
+
+    private Appointment book(LocalDateTime start, int minutes) {
+        Appointment appointment = new Appointment(patient, doctor, start, null);
+        appointment.setDurationMinutes(minutes);
+        return entityManager.persist(appointment);
+    }
+
+    private List<Long> overlapping(LocalDateTime start, LocalDateTime end) {
+        return appointmentRepository.findOverlappingExcludingStatus(doctor.getId(), start, end,
+                AppointmentStatus.CANCELLED).stream().map(Appointment::getId).toList();
+    }
+}
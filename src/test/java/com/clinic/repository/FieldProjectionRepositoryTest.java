@@ -0,0 +1,118 @@
+package com.clinic.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.clinic.dto.DoctorResponse;
+import com.clinic.dto.PatientResponse;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.model.Specialization;
+
+import jakarta.persistence.criteria.JoinType;
+
+/**
+ * Tests for {@link FieldProjectionRepository} against an embedded H2
+ * schema generated from the entities, checking the SQL it runs.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.clinic.repository.FieldProjectionRepositoryTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(FieldProjectionRepository.class)
+class FieldProjectionRepositoryTest {
+
+    private static final Projection<Patient, PatientResponse> PATIENT = new Projection<>(Patient.class,
+            Map.of(
+                    "id", root -> root.get("id"),
+                    "name", root -> root.get("name"),
+                    "medicalHistory", root -> root.get("medicalHistory")),
+            row -> new PatientResponse(row.get("id"), row.get("name"), null, null, row.get("medicalHistory")));
+
+    private static final Projection<Doctor, DoctorResponse> DOCTOR = new Projection<>(Doctor.class,
+            Map.of(
+                    "name", root -> root.get("name"),
+                    "specialization", root -> root.join("specialization", JoinType.LEFT).get("name")),
+            row -> new DoctorResponse(null, row.get("name"), row.get("specialization"), null, null));
+
+    @Autowired
+    private FieldProjectionRepository repository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long annId;
+
+    @BeforeEach
+    void setUp() {
+        annId = entityManager.persistAndGetId(new Patient("Ann Lee", "ann@example.com", "5550000001", "Asthma"),
+                Long.class);
+        entityManager.persist(new Patient("Bob Ray", "bob@example.com", "5550000002", null));
+        Specialization cardiology = entityManager.persist(new Specialization("Cardiology"));
+        Doctor doctor = new Doctor("Dr. Smith", null, "CARD123", null);
+        doctor.setSpecializationRef(cardiology);
+        entityManager.persist(doctor);
+        entityManager.flush();
+        entityManager.clear();
+        RecordingInspector.SQL.clear();
+    }
+
+    @Test
+    void testFindAllSelectsOnlyRequestedColumns() {
+        List<PatientResponse> patients = repository.findAll(PATIENT, Set.of("id", "name"));
+
+        assertEquals(List.of("Ann Lee", "Bob Ray"), patients.stream().map(PatientResponse::name).toList());
+        assertNull(patients.get(0).medicalHistory());
+        assertEquals(1, RecordingInspector.SQL.size());
+        assertFalse(RecordingInspector.SQL.get(0).contains("medical_history"));
+        assertFalse(RecordingInspector.SQL.get(0).contains("email"));
+    }
+
+    @Test
+    void testFindByIdReadsSelectedColumns() {
+        PatientResponse ann = repository.findById(PATIENT, annId, Set.of("medicalHistory")).orElseThrow();
+
+        assertEquals("Asthma", ann.medicalHistory());
+        assertNull(ann.name());
+        assertTrue(repository.findById(PATIENT, -1L, Set.of("name")).isEmpty());
+    }
+
+    @Test
+    void testJoinIsOnlyMadeWhenItsFieldIsSelected() {
+        assertEquals("Cardiology", repository.findAll(DOCTOR, Set.of("name", "specialization")).get(0).specialization());
+        assertTrue(RecordingInspector.SQL.get(0).contains("join"));
+
+        RecordingInspector.SQL.clear();
+        assertEquals("Dr. Smith", repository.findAll(DOCTOR, Set.of("name")).get(0).name());
+        assertFalse(RecordingInspector.SQL.get(0).contains("join"));
+    }
+
+    /** Records every statement Hibernate prepares. */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+}
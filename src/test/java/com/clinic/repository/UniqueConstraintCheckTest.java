@@ -0,0 +1,105 @@
+package com.clinic.repository;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Tests for {@link UniqueConstraintCheck} against an embedded H2 database
+ * built from test-schema.sql, which has every constraint.
+ */
+class UniqueConstraintCheckTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private UniqueConstraintCheck check;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+        check = new UniqueConstraintCheck(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testCompleteSchemaPasses() {
+        check.verify();
+    }
+
+    @Test
+    void testMissingConstraintFailsNamingIt() {
+        jdbcTemplate.execute("ALTER TABLE patients DROP CONSTRAINT uk_patients_phone");
+        jdbcTemplate.execute("ALTER TABLE specializations DROP CONSTRAINT uk_specializations_name");
+
+        String message = assertThrows(IllegalStateException.class, check::verify).getMessage();
+
+        assertTrue(message.contains("patients.uk_patients_phone"));
+        assertTrue(message.contains("specializations.uk_specializations_name"));
+        assertFalse(message.contains("uk_patients_email"));
+    }
+
+    @Test
+    void testMissingConstraintFailsStartupBeforeServersStart() {
+        jdbcTemplate.execute("ALTER TABLE patients DROP CONSTRAINT uk_patients_email");
+        AtomicBoolean serverStarted = new AtomicBoolean();
+
+        new ApplicationContextRunner()
+                .withBean(JdbcTemplate.class, () -> jdbcTemplate)
+                .withBean(UniqueConstraintCheck.class)
+                // Stands in for the web and gRPC servers, which are lifecycle beans
+                .withBean(SmartLifecycle.class, () -> new SmartLifecycle() {
+                    @Override
+                    public void start() {
+                        serverStarted.set(true);
+                    }
+
+                    @Override
+                    public void stop() {
+                    }
+
+                    @Override
+                    public boolean isRunning() {
+                        return serverStarted.get();
+                    }
+                })
+                .run(context -> assertInstanceOf(IllegalStateException.class,
+                        context.getStartupFailure()));
+
+        assertFalse(serverStarted.get());
+    }
+
+    @Test
+    void testUniqueIndexUnderAnotherNameDoesNotCount() {
+        // Its violations would not be recognised as duplicate phones
+        jdbcTemplate.execute("ALTER TABLE patients DROP CONSTRAINT uk_patients_phone");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_patients_phone ON patients (phone)");
+
+        assertThrows(IllegalStateException.class, check::verify);
+    }
+
+    @Test
+    void testWiderUniqueIndexDoesNotCount() {
+        jdbcTemplate.execute("ALTER TABLE patients DROP CONSTRAINT uk_patients_email");
+        jdbcTemplate.execute("ALTER TABLE patients ADD CONSTRAINT uk_patients_email UNIQUE (email, phone)");
+
+        assertThrows(IllegalStateException.class, check::verify);
+    }
+}
@@ -0,0 +1,129 @@
+package com.clinic.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.repository.AppointmentArchiveRepository;
+
+/**
+ * Tests for {@link AppointmentArchiveService} and
+ * {@link AppointmentArchiveRepository} against an embedded H2 database.
+ */
+class AppointmentArchiveServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AppointmentArchiveRepository archiveRepository;
+    private AppointmentArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+        archiveRepository = new AppointmentArchiveRepository(jdbcTemplate);
+        archiveService = new AppointmentArchiveService(archiveRepository,
+                new DataSourceTransactionManager(database), 90, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testMovesAppointmentsBeforeCutoffInChunks() {
+        for (long id = 1; id <= 5; id++) {
+            insert(id, CUTOFF.minusDays(id), "COMPLETED");
+        }
+        insert(6, CUTOFF, "SCHEDULED");
+        insert(7, CUTOFF.plusDays(3), "SCHEDULED");
+
+        assertEquals(5, archiveService.archiveBefore(CUTOFF));
+
+        assertEquals(List.of(6L, 7L), jdbcTemplate.queryForList("SELECT id FROM appointments ORDER BY id", Long.class));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                jdbcTemplate.queryForList("SELECT id FROM appointments_archive ORDER BY id", Long.class));
+        assertEquals(0, archiveService.archiveBefore(CUTOFF));
+    }
+
+    @Test
+    void testArchivedAppointmentsReadBackWithNames() {
+        insert(1, CUTOFF.minusDays(10), "COMPLETED");
+        insert(2, CUTOFF.minusDays(20), "CANCELLED");
+        archiveService.archiveBefore(CUTOFF);
+
+        AppointmentResponse one = archiveRepository.findById(1).orElseThrow();
+        assertEquals("John Doe", one.getPatientName());
+        assertEquals("Dr. Smith", one.getDoctorName());
+        assertEquals(AppointmentStatus.COMPLETED, one.getStatus());
+        assertEquals(CUTOFF.minusDays(10).plusMinutes(30), one.getEndDate());
+        assertEquals(List.of(2L, 1L), archiveRepository.findByDoctorId(1).stream()
+                .map(AppointmentResponse::getId).toList());
+        assertEquals(2, archiveRepository.findByPatientId(1).size());
+        assertTrue(archiveRepository.existsById(2));
+        assertTrue(archiveRepository.findById(3).isEmpty());
+    }
+
+    @Test
+    void testReadsHotAndArchivedTogetherByStartTime() {
+        insert(1, CUTOFF.minusDays(10), "COMPLETED");
+        insert(2, CUTOFF.plusDays(1), "SCHEDULED");
+        insert(3, CUTOFF.minusDays(30), "COMPLETED");
+        archiveService.archiveBefore(CUTOFF);
+        insert(4, CUTOFF.minusDays(20), "CANCELLED");
+
+        List<AppointmentResponse> all = new ArrayList<>();
+        archiveRepository.forEachIncludingHot(all::add);
+
+        assertEquals(List.of(3L, 4L, 1L, 2L), all.stream().map(AppointmentResponse::getId).toList());
+        assertEquals("John Doe", all.get(1).getPatientName());
+        assertEquals(AppointmentStatus.CANCELLED, all.get(1).getStatus());
+    }
+
+    @Test
+    void testAppointmentAlreadyArchivedIsLeftInPlace() {
+        insert(1, CUTOFF.minusDays(10), "COMPLETED");
+        insert(2, CUTOFF.minusDays(9), "COMPLETED");
+        archiveService.archiveBefore(CUTOFF);
+        // After a restart, a seed row with an archived id is back in the hot table
+        insert(1, CUTOFF.minusDays(5), "SCHEDULED");
+        insert(3, CUTOFF.minusDays(4), "COMPLETED");
+
+        assertEquals(1, archiveService.archiveBefore(CUTOFF));
+
+        assertEquals(List.of(1L), jdbcTemplate.queryForList("SELECT id FROM appointments", Long.class));
+        assertEquals(List.of(1L, 2L, 3L),
+                jdbcTemplate.queryForList("SELECT id FROM appointments_archive ORDER BY id", Long.class));
+        assertEquals(CUTOFF.minusDays(10), archiveRepository.findById(1).orElseThrow().getAppointmentDate());
+        assertEquals(0, archiveService.archiveBefore(CUTOFF));
+    }
+
+    @Test
+    void testRetentionMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentArchiveService(archiveRepository,
+                new DataSourceTransactionManager(database), 0, 100));
+    }
+
+    private void insert(long id, LocalDateTime start, String status) {
+        jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, appointment_end, "
+                + "duration_minutes, status) VALUES (?, 1, 1, ?, ?, 30, ?)", id, start, start.plusMinutes(30), status);
+    }
+}
@@ -0,0 +1,125 @@
+package com.clinic.service;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.exception.BusinessException;
+
+/**
+ * Tests for {@link AppointmentExportService} against an embedded H2 database.
+ */
+class AppointmentExportServiceTest {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2026, 6, 1);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AppointmentExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+        exportService = new AppointmentExportService(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testExportOrdersByDateThenIdWithinRange() {
+        insert(3, JUNE_1.atTime(9, 0), "third");
+        insert(1, JUNE_1.atTime(10, 0), "fourth");
+        insert(2, JUNE_1.atTime(9, 0), "second");
+        insert(4, JUNE_1.minusDays(1).atTime(9, 0), "outside");
+        insert(5, JUNE_1.plusDays(1).atTime(8, 0), "fifth");
+
+        StringWriter out = new StringWriter();
+        AppointmentExportService.Result result = exportService.exportCsv(JUNE_1, JUNE_1.plusDays(1), null, 0, true, out);
+
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(String.join(",", AppointmentExportService.HEADER), lines.get(0));
+        assertEquals(List.of("2", "3", "1", "5"), lines.stream().skip(1).map(l -> l.split(",")[0]).toList());
+        assertEquals("2,2026-06-01T09:00:00,2026-06-01T09:30:00,30,SCHEDULED,second,,,"
+                + "1,John Doe,john@example.com,1234567890,1,Dr. Smith,Cardiology,CARD123", lines.get(1));
+        assertEquals(4, result.rows());
+        assertEquals(new AppointmentExportService.Cursor(JUNE_1.plusDays(1).atTime(8, 0), 5), result.last());
+    }
+
+    @Test
+    void testExportResumesAfterCursor() {
+        insert(1, JUNE_1.atTime(9, 0), "a");
+        insert(2, JUNE_1.atTime(9, 0), "b");
+        insert(3, JUNE_1.atTime(9, 30), "c");
+
+        StringWriter first = new StringWriter();
+        AppointmentExportService.Result chunk = exportService.exportCsv(JUNE_1, JUNE_1, null, 1, false, first);
+        StringWriter rest = new StringWriter();
+        AppointmentExportService.Result remainder = exportService.exportCsv(JUNE_1, JUNE_1, chunk.last(), 0, false, rest);
+
+        assertEquals(1, chunk.rows());
+        assertEquals(2, remainder.rows());
+        assertEquals(List.of("2", "3"), rest.toString().lines().map(l -> l.split(",")[0]).toList());
+    }
+
+    @Test
+    void testExportMergesArchivedAppointmentsInOrder() {
+        insert(1, JUNE_1.atTime(9, 0), "hot");
+        insert(4, JUNE_1.atTime(11, 0), "hot");
+        jdbcTemplate.update("INSERT INTO appointments_archive (id, patient_id, doctor_id, appointment_date, "
+                + "appointment_end, duration_minutes, status, archived_at) VALUES (?, 1, 1, ?, ?, 30, 'COMPLETED', ?)",
+                2, JUNE_1.atTime(10, 0), JUNE_1.atTime(10, 30), JUNE_1.atTime(12, 0));
+
+        StringWriter first = new StringWriter();
+        AppointmentExportService.Result chunk = exportService.exportCsv(JUNE_1, JUNE_1, null, 2, false, first);
+        StringWriter rest = new StringWriter();
+        exportService.exportCsv(JUNE_1, JUNE_1, chunk.last(), 0, false, rest);
+
+        assertEquals(List.of("1", "2"), first.toString().lines().map(l -> l.split(",")[0]).toList());
+        assertEquals(List.of("4"), rest.toString().lines().map(l -> l.split(",")[0]).toList());
+    }
+
+    @Test
+    void testExportWithNoRowsReturnsNoCursor() {
+        AppointmentExportService.Result result =
+                exportService.exportCsv(JUNE_1, JUNE_1, null, 0, false, new StringWriter());
+        assertEquals(0, result.rows());
+        assertNull(result.last());
+    }
+
+    @Test
+    void testExportQuotesNotes() {
+        insert(1, JUNE_1.atTime(9, 0), "Follow-up, \"urgent\"");
+        StringWriter out = new StringWriter();
+        exportService.exportCsv(JUNE_1, JUNE_1, null, 0, false, out);
+        assertEquals("\"Follow-up, \"\"urgent\"\"\"", out.toString().split(",SCHEDULED,")[1].split(",,,")[0]);
+    }
+
+    @Test
+    void testReversedRangeIsRejected() {
+        assertThrows(BusinessException.class,
+                () -> exportService.exportCsv(JUNE_1, JUNE_1.minusDays(1), null, 0, true, new StringWriter()));
+    }
+
+    private void insert(long id, LocalDateTime start, String notes) {
+        jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, appointment_end, "
+                + "duration_minutes, notes, status) VALUES (?, 1, 1, ?, ?, 30, ?, 'SCHEDULED')",
+                id, start, start.plusMinutes(30), notes);
+    }
+}
@@ -1,11 +1,13 @@
 package com.clinic.service;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -13,7 +15,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -24,11 +25,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.clinic.dto.AppointmentRequest;
 import com.clinic.dto.AppointmentResponse;
 import com.clinic.model.Appointment;
+import com.clinic.model.AppointmentStatus;
 import com.clinic.model.Doctor;
 import com.clinic.model.Patient;
+import com.clinic.model.WorkingHours;
+import com.clinic.exception.BusinessException;
+import com.clinic.repository.AppointmentArchiveRepository;
 import com.clinic.repository.AppointmentRepository;
 import com.clinic.repository.DoctorRepository;
 import com.clinic.repository.PatientRepository;
+import com.clinic.repository.TimeOffRepository;
+import com.clinic.repository.WorkingHoursRepository;
 
 /**
  * Unit tests for {@link AppointmentService} using Mockito.
@@ -42,7 +49,15 @@ class AppointmentServiceTest {
     private PatientRepository patientRepository;
     @Mock
     private DoctorRepository doctorRepository;
-    @InjectMocks
+    @Mock
+    private WorkingHoursRepository workingHoursRepository;
+    @Mock
+    private TimeOffRepository timeOffRepository;
+    @Mock
+    private AppointmentStatsService statsService;
+    @Mock
+    private AppointmentArchiveRepository archiveRepository;
+
     private AppointmentService appointmentService;
 
     private Patient testPatient;
@@ -52,6 +67,10 @@ class AppointmentServiceTest {
 
     @BeforeEach
     void setUp() {
+        ScheduleService scheduleService = new ScheduleService(appointmentRepository, workingHoursRepository,
+                timeOffRepository, doctorRepository);
+        appointmentService = new AppointmentService(appointmentRepository, patientRepository, doctorRepository,
+                scheduleService, statsService, archiveRepository);
         testPatient = new Patient("John Doe", "john@example.com", "1234567890", "No allergies");
         testPatient.setId(1L);
         testDoctor = new Doctor("Dr. Smith", "Cardiology", "CARD123", "smith@clinic.com");
@@ -78,18 +97,20 @@ class AppointmentServiceTest {
     @Test
     void testCreateAppointmentSuccess() {
         when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(appointmentRepository.findByDoctorAndDateRange(any(), any(), any())).thenReturn(Arrays.asList());
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findOverlappingExcludingStatus(any(), any(), any(), any())).thenReturn(Arrays.asList());
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
         AppointmentResponse result = appointmentService.createAppointment(testRequest);
         assertNotNull(result);
         assertEquals("John Doe", result.getPatientName());
         assertEquals("Dr. Smith", result.getDoctorName());
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(statsService).recordCreated(testAppointment);
     }
 
     @Test
     void testCreateAppointmentPatientNotFound() {
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testDoctor));
         when(patientRepository.findById(1L)).thenReturn(Optional.empty());
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> appointmentService.createAppointment(testRequest));
@@ -100,11 +121,152 @@ class AppointmentServiceTest {
     @Test
     void testCreateAppointmentDoctorNotAvailable() {
         when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(appointmentRepository.findByDoctorAndDateRange(any(), any(), any())).thenReturn(Arrays.asList(testAppointment));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findOverlappingExcludingStatus(any(), any(), any(), any())).thenReturn(Arrays.asList(testAppointment));
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> appointmentService.createAppointment(testRequest));
         assertTrue(ex.getMessage().contains("not available"));
         verify(appointmentRepository, never()).save(any(Appointment.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBookAppointmentRejectsDurationOutOfRange() {
+        for (int minutes : new int[] {-30, 0, 4, 481, Integer.MAX_VALUE}) {
+            testRequest.setDurationMinutes(minutes);
+            BusinessException ex = assertThrows(BusinessException.class,
+                    () -> appointmentService.bookAppointment(testRequest));
+            assertEquals("Duration must be between 5 and 480 minutes", ex.getMessage());
+        }
+        verify(doctorRepository, never()).findByIdForUpdate(any());
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void testBookAppointmentConflictSuggestsNearestFreeSlots() {
+        LocalDateTime requested = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        testRequest.setAppointmentDate(requested);
+        Appointment taken = new Appointment(testPatient, testDoctor, requested, "Taken");
+        Appointment takenLater = new Appointment(testPatient, testDoctor, requested.plusMinutes(30), "Taken");
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findOverlappingExcludingStatus(any(), any(), any(), any()))
+                .thenReturn(Arrays.asList(taken, takenLater));
+
+        BookingResult result = appointmentService.bookAppointment(testRequest);
+
+        BookingResult.Conflict conflict = assertInstanceOf(BookingResult.Conflict.class, result);
+        assertEquals(List.of(requested.minusMinutes(60), requested.minusMinutes(30), requested.plusMinutes(60)),
+                conflict.alternativeSlots());
+        verify(appointmentRepository, times(1)).findOverlappingExcludingStatus(any(), any(), any(), any());
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void testBookAppointmentIgnoresAppointmentEndingAtRequestedStart() {
+        LocalDateTime requested = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        testRequest.setAppointmentDate(requested);
+        Appointment before = new Appointment(testPatient, testDoctor, requested.minusMinutes(30), "Earlier");
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findOverlappingExcludingStatus(any(), any(), any(), any())).thenReturn(Arrays.asList(before));
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+
+        assertInstanceOf(BookingResult.Accepted.class, appointmentService.bookAppointment(testRequest));
+    }
+
+    @Test
+    void testBookAppointmentOutsideWorkingHoursIsConflict() {
+        LocalDateTime requested = LocalDateTime.now().plusDays(1).withHour(18).withMinute(0).withSecond(0).withNano(0);
+        testRequest.setAppointmentDate(requested);
+        testRequest.setDurationMinutes(45);
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testDoctor));
+        when(workingHoursRepository.findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(1L)).thenReturn(List.of(
+                new WorkingHours(testDoctor, requested.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(17, 0))));
+
+        BookingResult.Conflict conflict = assertInstanceOf(BookingResult.Conflict.class,
+                appointmentService.bookAppointment(testRequest));
+
+        assertTrue(conflict.message().contains("not working"));
+        // Latest 45-minute start that still ends by 17:00 on the 30-minute grid is 16:00.
+        assertEquals(List.of(requested.minusMinutes(180), requested.minusMinutes(150), requested.minusMinutes(120)),
+                conflict.alternativeSlots());
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void testBookAppointmentStoresRequestedDuration() {
+        testRequest.setDurationMinutes(45);
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        AppointmentResponse response = appointmentService.createAppointment(testRequest);
+
+        assertEquals(45, response.getDurationMinutes());
+        assertEquals(testRequest.getAppointmentDate().plusMinutes(45), response.getEndDate());
+    }
+
+    @Test
+    void testUpdateAppointmentStatusRecordsPreviousStatus() {
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(appointmentRepository.save(testAppointment)).thenReturn(testAppointment);
+
+        appointmentService.updateAppointmentStatus(1L, AppointmentStatus.COMPLETED);
+
+        verify(statsService).recordStatusChange(testAppointment, AppointmentStatus.SCHEDULED);
+    }
+
+    @Test
+    void testDeleteAppointmentRecordsDeletion() {
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+
+        appointmentService.deleteAppointment(1L);
+
+        verify(appointmentRepository).delete(testAppointment);
+        verify(statsService).recordDeleted(testAppointment);
+    }
+
+    @Test
+    void testDeleteAppointmentNotFound() {
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> appointmentService.deleteAppointment(1L));
+
+        verify(appointmentRepository, never()).delete(any(Appointment.class));
+        verify(statsService, never()).recordDeleted(any());
+    }
+
+    @Test
+    void testAppointmentsByPatientIncludeArchivedOldestFirst() {
+        AppointmentResponse archived = new AppointmentResponse();
+        archived.setId(7L);
+        archived.setAppointmentDate(LocalDateTime.now().minusYears(1));
+        when(appointmentRepository.findByPatientId(1L)).thenReturn(List.of(testAppointment));
+        when(archiveRepository.findByPatientId(1L)).thenReturn(List.of(archived));
+
+        List<AppointmentResponse> result = appointmentService.getAppointmentsByPatient(1L);
+
+        assertEquals(List.of(7L, 1L), result.stream().map(AppointmentResponse::getId).toList());
+    }
+
+    @Test
+    void testGetAppointmentByIdFallsBackToArchive() {
+        AppointmentResponse archived = new AppointmentResponse();
+        archived.setId(7L);
+        when(appointmentRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archiveRepository.findById(7L)).thenReturn(Optional.of(archived));
+
+        assertEquals(Optional.of(archived), appointmentService.getAppointmentById(7L));
+    }
+
+    @Test
+    void testArchivedAppointmentCannotChangeStatus() {
+        when(appointmentRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archiveRepository.existsById(7L)).thenReturn(true);
+
+        assertThrows(BusinessException.class,
+                () -> appointmentService.updateAppointmentStatus(7L, AppointmentStatus.COMPLETED));
+        verify(statsService, never()).recordStatusChange(any(), any());
+    }
+}
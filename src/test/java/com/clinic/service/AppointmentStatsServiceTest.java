@@ -0,0 +1,143 @@
+package com.clinic.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.clinic.dto.DoctorStatsReport;
+import com.clinic.exception.BusinessException;
+import com.clinic.model.Appointment;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.model.WorkingHours;
+import com.clinic.repository.DailyDoctorStatsRepository;
+import com.clinic.repository.DailyDoctorStatsRepository.DoctorTotals;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.WorkingHoursRepository;
+
+/**
+ * Unit tests for {@link AppointmentStatsService} using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class AppointmentStatsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 6, 1);
+
+    @Mock
+    private DailyDoctorStatsRepository statsRepository;
+    @Mock
+    private DoctorRepository doctorRepository;
+    @Mock
+    private WorkingHoursRepository workingHoursRepository;
+
+    @InjectMocks
+    private AppointmentStatsService statsService;
+
+    private Doctor doctor;
+    private Appointment appointment;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new Doctor("Dr. Smith", "Cardiology", "CARD123", "smith@clinic.com");
+        doctor.setId(1L);
+        Patient patient = new Patient("John Doe", "john@example.com", "1234567890", null);
+        appointment = new Appointment(patient, doctor, DAY.atTime(10, 0), "Checkup");
+        appointment.setDurationMinutes(45);
+    }
+
+    @Test
+    void testRecordCreatedCountsBookedMinutes() {
+        statsService.recordCreated(appointment);
+        verify(statsRepository).increment(1L, DAY, 1, 0, 0, 45);
+    }
+
+    @Test
+    void testRecordStatusChangeMovesAppointmentBetweenCounters() {
+        appointment.setStatus(AppointmentStatus.CANCELLED);
+
+        statsService.recordStatusChange(appointment, AppointmentStatus.SCHEDULED);
+
+        verify(statsRepository).increment(1L, DAY, -1, 0, 0, -45);
+        verify(statsRepository).increment(1L, DAY, 1, 1, 0, 0);
+    }
+
+    @Test
+    void testRecordStatusChangeIgnoresUnchangedStatus() {
+        statsService.recordStatusChange(appointment, AppointmentStatus.SCHEDULED);
+        verify(statsRepository, never()).increment(any(), any(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testRecordDeletedReversesCompletedAppointment() {
+        appointment.setStatus(AppointmentStatus.COMPLETED);
+        statsService.recordDeleted(appointment);
+        verify(statsRepository).increment(1L, DAY, -1, 0, -1, -45);
+    }
+
+    @Test
+    void testMonthlyStatsComputesUtilizationFromWorkingHours() {
+        Doctor withoutTemplate = new Doctor("Dr. Jones", "Neurology", "NEUR123", "jones@clinic.com");
+        withoutTemplate.setId(2L);
+        when(statsRepository.sumByDoctor(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 30)))
+                .thenReturn(List.of(totals(1L, 20, 4, 10, 600), totals(2L, 0, 0, 0, 0)));
+        when(doctorRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(doctor, withoutTemplate));
+        when(workingHoursRepository.findAll()).thenReturn(List.of(
+                new WorkingHours(doctor, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0))));
+
+        List<DoctorStatsReport> report = statsService.getMonthlyStats(YearMonth.of(2026, 6));
+
+        DoctorStatsReport smith = report.get(0);
+        assertEquals("Dr. Smith", smith.doctorName());
+        assertEquals(5 * 480L, smith.availableMinutes());
+        assertEquals(0.25, smith.utilization());
+        assertEquals(0.2, smith.cancellationRate());
+        DoctorStatsReport jones = report.get(1);
+        assertNull(jones.availableMinutes());
+        assertNull(jones.utilization());
+        assertEquals(0.0, jones.cancellationRate());
+    }
+
+    @Test
+    void testRebuildReplacesRowsForWholeDays() {
+        when(statsRepository.insertFromAppointments(any(), any())).thenReturn(3);
+
+        assertEquals(3, statsService.rebuild(DAY, DAY.plusDays(2)));
+
+        verify(statsRepository).deleteByStatDateBetween(DAY, DAY.plusDays(2));
+        verify(statsRepository).insertFromAppointments(DAY.atStartOfDay(), LocalDateTime.of(2026, 6, 4, 0, 0));
+    }
+
+    @Test
+    void testReversedRangeIsRejected() {
+        assertThrows(BusinessException.class, () -> statsService.getDailyStats(DAY, DAY.minusDays(1), null));
+    }
+
+    private static DoctorTotals totals(Long doctorId, long booked, long cancelled, long completed, long minutes) {
+        return new DoctorTotals() {
+            public Long getDoctorId() { return doctorId; }
+            public Long getBooked() { return booked; }
+            public Long getCancelled() { return cancelled; }
+            public Long getCompleted() { return completed; }
+            public Long getBookedMinutes() { return minutes; }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.clinic.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link BookingLimiter}.  A rate of one booking every 1000
+ * seconds keeps the buckets from refilling during a test.
+ */
+class BookingLimiterTest {
+
+    private final BookingLimiter limiter = new BookingLimiter(true, 0.001, 2, 2, 1,
+            List.of("partner-key"), List.of(" staff-key ", ""));
+
+    @Test
+    void testClientIsRateLimitedAfterItsBurst() {
+        assertEquals(0, limiter.tryAcquireRate("address:10.0.0.1"));
+        assertEquals(0, limiter.tryAcquireRate("address:10.0.0.1"));
+        assertTrue(limiter.tryAcquireRate("address:10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquireRate("address:10.0.0.2"));
+    }
+
+    @Test
+    void testOnlyKnownApiKeysGetTheirOwnBucket() {
+        assertEquals("key:partner-key", limiter.client("partner-key", "10.0.0.1"));
+        assertEquals("address:10.0.0.1", limiter.client("made-up", "10.0.0.1"));
+        assertEquals("address:10.0.0.1", limiter.client(null, "10.0.0.1"));
+    }
+
+    @Test
+    void testStaffKeysAreRecognised() {
+        assertTrue(limiter.isStaff("staff-key"));
+        assertFalse(limiter.isStaff("partner-key"));
+        assertFalse(limiter.isStaff(""));
+        assertFalse(limiter.isStaff(null));
+    }
+
+    @Test
+    void testStaffBookingsUseTheReserve() {
+        assertTrue(limiter.tryAcquire(false));
+        assertTrue(limiter.tryAcquire(false));
+        assertFalse(limiter.tryAcquire(false));
+
+        assertTrue(limiter.tryAcquire(true));
+        assertFalse(limiter.tryAcquire(true));
+
+        limiter.release();
+        assertFalse(limiter.tryAcquire(false));
+        limiter.release();
+        assertTrue(limiter.tryAcquire(false));
+    }
+
+    @Test
+    void testDisabledLimiterAdmitsEverything() {
+        BookingLimiter disabled = new BookingLimiter(false, 0.001, 1, 1, 0, List.of(), List.of());
+
+        assertEquals(0, disabled.tryAcquireRate("address:10.0.0.1"));
+        assertEquals(0, disabled.tryAcquireRate("address:10.0.0.1"));
+        assertTrue(disabled.tryAcquire(false));
+        assertTrue(disabled.tryAcquire(false));
+    }
+
+    @Test
+    void testStateIsExportedAsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        limiter.tryAcquireRate("address:10.0.0.1");
+        limiter.tryAcquireRate("address:10.0.0.1");
+        limiter.tryAcquireRate("address:10.0.0.1");
+        limiter.tryAcquire(false);
+        limiter.tryAcquire(false);
+        limiter.tryAcquire(false);
+
+        assertEquals(2, registry.get("clinic.booking.in_flight").gauge().value());
+        assertEquals(2, registry.get("clinic.booking.concurrency_limit").tag("client", "public").gauge().value());
+        assertEquals(3, registry.get("clinic.booking.concurrency_limit").tag("client", "staff").gauge().value());
+        assertEquals(1, registry.get("clinic.booking.rate_limit.clients").gauge().value());
+        assertEquals(1, registry.get("clinic.booking.rejected").tag("reason", "rate").functionCounter().count());
+        assertEquals(1, registry.get("clinic.booking.rejected").tag("reason", "concurrency")
+                .tag("client", "public").functionCounter().count());
+        assertEquals(0, registry.get("clinic.booking.rejected").tag("reason", "concurrency")
+                .tag("client", "staff").functionCounter().count());
+    }
+}
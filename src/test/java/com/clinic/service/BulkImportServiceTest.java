@@ -0,0 +1,228 @@
+package com.clinic.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.dto.ImportReport;
+import com.clinic.dto.ImportReport.RowError;
+import com.clinic.model.Specialization;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.PatientRepository;
+import com.clinic.repository.SpecializationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+/**
+ * Tests for {@link BulkImportService} inserting into an embedded H2
+ * database.  The repository lookups are answered from the same database.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+    @Mock
+    private DoctorRepository doctorRepository;
+    @Mock
+    private SpecializationRepository specializationRepository;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PatientSearchIndex searchIndex;
+    private BulkImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+        searchIndex = new PatientSearchIndex(jdbcTemplate, false);
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        lenient().when(patientRepository.findExistingEmails(any())).thenAnswer(inv -> named.queryForList(
+                "SELECT email FROM patients WHERE LOWER(email) IN (:v)", lower(inv.getArgument(0)), String.class));
+        lenient().when(patientRepository.findExistingPhones(any())).thenAnswer(inv -> named.queryForList(
+                "SELECT phone FROM patients WHERE phone IN (:v)", Map.of("v", inv.getArgument(0)), String.class));
+        lenient().when(doctorRepository.findExistingLicenseNumbers(any())).thenAnswer(inv -> named.queryForList(
+                "SELECT license_number FROM doctors WHERE license_number IN (:v)", Map.of("v", inv.getArgument(0)),
+                String.class));
+        lenient().when(specializationRepository.findAll()).thenAnswer(inv -> jdbcTemplate.query(
+                "SELECT id, name FROM specializations", (rs, n) -> specialization(rs.getLong(1), rs.getString(2))));
+        lenient().when(specializationRepository.saveAndFlush(any())).thenAnswer(inv -> {
+            String name = inv.<Specialization>getArgument(0).getName();
+            jdbcTemplate.update("INSERT INTO specializations (name) VALUES (?)", name);
+            return specialization(jdbcTemplate.queryForObject(
+                    "SELECT id FROM specializations WHERE name = ?", Long.class, name), name);
+        });
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+        importService = new BulkImportService(patientRepository, doctorRepository, jdbcTemplate, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                searchIndex, new SpecializationService(specializationRepository, doctorRepository, transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testImportPatientsCsvReportsRejectedRows() {
+        String csv = """
+                name,email,phone,medical_history
+                Jane Roe,jane@example.com,5550000001,"Asthma, mild"
+                Bad Email,not-an-email,5550000002,
+                Johnny,JOHN@example.com,5550000003,
+                Max Power,max@example.com,5550000004,
+                Max Again,max2@example.com,5550000004,
+
+                Ann Lee,ann@example.com,+445550000005,
+                """;
+
+        ImportReport report = importService.importPatients(stream(csv), ImportFormat.CSV);
+
+        assertEquals(6, report.rowsRead());
+        assertEquals(3, report.imported());
+        assertEquals(3, report.rejected());
+        assertEquals(List.of(
+                new RowError(3, "email: Email should be valid"),
+                new RowError(4, "Patient with email JOHN@example.com already exists"),
+                new RowError(6, "Patient with phone 5550000004 already appears on line 5")), report.errors());
+        assertFalse(report.errorsTruncated());
+        assertEquals("Asthma, mild", jdbcTemplate.queryForObject(
+                "SELECT medical_history FROM patients WHERE email = 'jane@example.com'", String.class));
+        assertEquals(4, count("patients"));
+        assertEquals(List.of("Jane Roe"), searchIndex.search("jane", 0, 10).hits().stream()
+                .map(hit -> hit.name()).toList());
+    }
+
+    @Test
+    void testImportPatientsNdjson() {
+        String ndjson = """
+                {"name": "Jane Roe", "email": "jane@example.com", "phone": "5550000001", "medicalHistory": "Asthma"}
+                {"name": "Broken", "email":
+                {"name": "Ann Lee", "email": "ann@example.com", "phone": 5550000005}
+                """;
+
+        ImportReport report = importService.importPatients(stream(ndjson), ImportFormat.NDJSON);
+
+        assertEquals(2, report.imported());
+        assertEquals(1, report.errors().size());
+        assertEquals(2, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).message().startsWith("Malformed JSON"));
+        assertEquals("Asthma", jdbcTemplate.queryForObject(
+                "SELECT medical_history FROM patients WHERE email = 'jane@example.com'", String.class));
+    }
+
+    @Test
+    void testDuplicatesAcrossChunksAreFoundWithOneLookupPerChunk() {
+        StringBuilder csv = new StringBuilder("name,email,phone\n");
+        for (int i = 0; i < BulkImportService.CHUNK_SIZE; i++) {
+            csv.append("Patient ").append(i).append(",p").append(i).append("@example.com,")
+                    .append(6000000000L + i).append('\n');
+        }
+        csv.append("Late Copy,p0@example.com,7000000000\n");
+
+        ImportReport report = importService.importPatients(stream(csv.toString()), ImportFormat.CSV);
+
+        assertEquals(BulkImportService.CHUNK_SIZE, report.imported());
+        assertEquals(List.of(new RowError(BulkImportService.CHUNK_SIZE + 2,
+                "Patient with email p0@example.com already exists")), report.errors());
+        verify(patientRepository, times(2)).findExistingEmails(any());
+        verify(patientRepository, times(2)).findExistingPhones(any());
+    }
+
+    @Test
+    void testReportedErrorsAreCapped() {
+        StringBuilder csv = new StringBuilder("name,email,phone\n");
+        for (int i = 0; i <= BulkImportService.MAX_REPORTED_ERRORS; i++) {
+            csv.append("X,bad,1\n");
+        }
+
+        ImportReport report = importService.importPatients(stream(csv.toString()), ImportFormat.CSV);
+
+        assertEquals(BulkImportService.MAX_REPORTED_ERRORS + 1, report.rejected());
+        assertEquals(BulkImportService.MAX_REPORTED_ERRORS, report.errors().size());
+        assertTrue(report.errorsTruncated());
+        assertEquals(1, count("patients"));
+    }
+
+    @Test
+    void testConcurrentInsertAfterLookupFallsBackToRowByRow() {
+        doReturn(List.of()).when(patientRepository).findExistingPhones(any());
+        String csv = """
+                name,email,phone
+                Jane Roe,jane@example.com,5550000001
+                Racer,racer@example.com,1234567890
+                Ann Lee,ann@example.com,5550000005
+                """;
+
+        ImportReport report = importService.importPatients(stream(csv), ImportFormat.CSV);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new RowError(3, "Patient with phone 1234567890 already exists")), report.errors());
+        assertEquals(3, count("patients"));
+    }
+
+    @Test
+    void testImportDoctorsRejectsExistingLicense() {
+        String csv = """
+                name,specialization,license_number,email
+                Dr. Who,Neurology,NEUR900,who@clinic.com
+                Dr. Clone,Cardiology,CARD123,clone@clinic.com
+                Dr. Heart,cardiology ,CARD900,heart@clinic.com
+                """;
+
+        ImportReport report = importService.importDoctors(stream(csv), ImportFormat.CSV);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new RowError(3, "Doctor with license number CARD123 already exists")), report.errors());
+        assertEquals(3, count("doctors"));
+        // "cardiology " joins the existing Cardiology row; Neurology is created once.
+        assertEquals(2, count("specializations"));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT specialization_id FROM doctors WHERE license_number = 'CARD900'", Long.class));
+    }
+
+    private static Specialization specialization(long id, String name) {
+        Specialization specialization = new Specialization(name);
+        specialization.setId(id);
+        return specialization;
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static Map<String, ?> lower(Collection<String> values) {
+        return Map.of("v", values.stream().map(String::toLowerCase).toList());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package com.clinic.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.DeletionStatus.State;
+import com.clinic.model.Patient;
+
+/**
+ * Tests for {@link DeletionService} against an embedded H2 database
+ * seeded with John Doe (patient 1) and Dr. Smith (doctor 1, Cardiology).
+ * Jobs are queued and run on demand, so progress can be checked before
+ * and after.
+ */
+class DeletionServiceTest {
+
+    private static final int CHUNK_SIZE = 3;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PatientSearchIndex searchIndex;
+    private SpecializationService specializationService;
+    private DeletionService deletionService;
+    private final List<Runnable> queued = new ArrayList<>();
+    private long nextAppointmentId = 1;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+        searchIndex = new PatientSearchIndex(jdbcTemplate, false);
+        specializationService = mock(SpecializationService.class);
+        deletionService = new DeletionService(jdbcTemplate, new DataSourceTransactionManager(database),
+                queued::add, searchIndex, specializationService, CHUNK_SIZE);
+        jdbcTemplate.update("INSERT INTO patients (name, email, phone) VALUES ('Ann Lee', 'ann@example.com', '555')");
+        jdbcTemplate.update("INSERT INTO doctors (name, specialization_id, license_number) VALUES ('Dr. Who', 1, 'X1')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testDeleteDoctorRemovesAppointmentsScheduleAndRollupInChunks() {
+        for (int i = 0; i < 7; i++) {
+            appointment(1, 1, "SCHEDULED");
+        }
+        appointment(2, 2, "SCHEDULED");
+        jdbcTemplate.update("INSERT INTO daily_doctor_stats (doctor_id, stat_date, booked, cancelled, completed, " +
+                "booked_minutes) VALUES (1, DATE '2030-01-01', 7, 0, 0, 210)");
+        jdbcTemplate.update("INSERT INTO doctor_working_hours (doctor_id, day_of_week, start_time, end_time) " +
+                "VALUES (1, 'MONDAY', TIME '09:00:00', TIME '17:00:00')");
+        jdbcTemplate.update("INSERT INTO doctor_time_off (doctor_id, start_date, end_date, type) " +
+                "VALUES (1, TIMESTAMP '2030-02-01 00:00:00', TIMESTAMP '2030-02-02 00:00:00', 'LEAVE')");
+
+        DeletionStatus started = deletionService.deleteDoctor(1);
+        assertEquals(State.RUNNING, started.state());
+        runQueued();
+
+        DeletionStatus done = deletionService.getStatus(started.id()).orElseThrow();
+        assertEquals(State.COMPLETED, done.state());
+        assertEquals(7, done.appointmentsTotal());
+        assertEquals(7, done.appointmentsDeleted());
+        assertNotNull(done.finishedAt());
+        assertEquals(0, count("doctors WHERE id = 1"));
+        assertEquals(1, count("appointments"));
+        assertEquals(0, count("daily_doctor_stats"));
+        assertEquals(0, count("doctor_working_hours"));
+        assertEquals(0, count("doctor_time_off"));
+        verify(specializationService).evictDoctors(1L);
+    }
+
+    @Test
+    void testDeletePatientSubtractsAppointmentsFromRollup() {
+        appointment(1, 1, "SCHEDULED");
+        appointment(1, 1, "CANCELLED");
+        appointment(2, 1, "COMPLETED");
+        appointment(1, 2, "SCHEDULED");
+        jdbcTemplate.update("INSERT INTO appointments_archive (id, patient_id, doctor_id, appointment_date, " +
+                "duration_minutes, status, archived_at) VALUES (100, 1, 1, TIMESTAMP '2020-01-01 09:00:00', 30, " +
+                "'COMPLETED', CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO daily_doctor_stats (doctor_id, stat_date, booked, cancelled, completed, " +
+                "booked_minutes) VALUES (1, DATE '2020-01-01', 1, 0, 1, 30)");
+        jdbcTemplate.update("INSERT INTO daily_doctor_stats (doctor_id, stat_date, booked, cancelled, completed, " +
+                "booked_minutes) VALUES (1, DATE '2030-01-01', 3, 1, 1, 60)");
+        jdbcTemplate.update("INSERT INTO daily_doctor_stats (doctor_id, stat_date, booked, cancelled, completed, " +
+                "booked_minutes) VALUES (2, DATE '2030-01-01', 1, 0, 0, 30)");
+        Patient john = new Patient("John Doe", "john@example.com", "1234567890", null);
+        john.setId(1L);
+        searchIndex.index(john);
+
+        DeletionStatus started = deletionService.deletePatient(1);
+        runQueued();
+
+        DeletionStatus done = deletionService.getStatus(started.id()).orElseThrow();
+        assertEquals(State.COMPLETED, done.state());
+        assertEquals(4, done.appointmentsDeleted());
+        assertEquals(0, count("patients WHERE id = 1"));
+        assertEquals(1, count("appointments"));
+        assertEquals(0, count("appointments_archive"));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT booked FROM daily_doctor_stats " +
+                "WHERE stat_date = DATE '2020-01-01'", Long.class));
+        assertEquals(List.of(1L, 0L, 1L, 30L), rollup(1));
+        assertEquals(List.of(0L, 0L, 0L, 0L), rollup(2));
+        assertEquals(0, searchIndex.search("john", 0, 10).total());
+    }
+
+    @Test
+    void testSecondRequestForSameTargetReturnsRunningJob() {
+        DeletionStatus first = deletionService.deleteDoctor(1);
+        DeletionStatus second = deletionService.deleteDoctor(1);
+        assertEquals(first.id(), second.id());
+        assertEquals(1, queued.size());
+
+        runQueued();
+        assertNotEquals(first.id(), deletionService.deleteDoctor(1).id());
+    }
+
+    @Test
+    void testFailureIsReported() {
+        DeletionStatus started = deletionService.deletePatient(1);
+        jdbcTemplate.execute("DROP TABLE appointments");
+        runQueued();
+
+        DeletionStatus failed = deletionService.getStatus(started.id()).orElseThrow();
+        assertEquals(State.FAILED, failed.state());
+        assertTrue(failed.error() != null && !failed.error().isBlank());
+        assertEquals(1, count("patients WHERE id = 1"));
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private void appointment(long patientId, long doctorId, String status) {
+        jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, " +
+                "appointment_end, duration_minutes, status) VALUES (?, ?, ?, TIMESTAMP '2030-01-01 09:00:00', " +
+                "TIMESTAMP '2030-01-01 09:30:00', 30, ?)", nextAppointmentId++, patientId, doctorId, status);
+    }
+
+    private long count(String from) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from, Long.class);
+    }
+
+    private List<Long> rollup(long doctorId) {
+        return jdbcTemplate.queryForObject("SELECT booked, cancelled, completed, booked_minutes " +
+                "FROM daily_doctor_stats WHERE doctor_id = ? AND stat_date = DATE '2030-01-01'", (rs, n) -> List.of(rs.getLong(1), rs.getLong(2),
+                rs.getLong(3), rs.getLong(4)), doctorId);
+    }
+}
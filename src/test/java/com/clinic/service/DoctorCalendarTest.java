@@ -0,0 +1,81 @@
+package com.clinic.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinic.model.Appointment;
+import com.clinic.model.Doctor;
+import com.clinic.model.Patient;
+import com.clinic.model.TimeOff;
+import com.clinic.model.TimeOffType;
+import com.clinic.model.WorkingHours;
+
+/**
+ * Unit tests for {@link DoctorCalendar}.
+ */
+class DoctorCalendarTest {
+
+    // A Monday
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 7, 0, 0);
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final Duration HALF_HOUR = Duration.ofMinutes(30);
+
+    private final Doctor doctor = new Doctor("Dr. Smith", "Cardiology", "CARD123", "smith@clinic.com");
+
+    private DoctorCalendar calendar(List<WorkingHours> template, List<TimeOff> timeOff, List<Appointment> booked) {
+        return DoctorCalendar.of(DAY, DAY.plusDays(1), template, timeOff, booked);
+    }
+
+    private WorkingHours shift(int fromHour, int toHour) {
+        return new WorkingHours(doctor, DayOfWeek.MONDAY, LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0));
+    }
+
+    @Test
+    void testNoTemplateMeansAlwaysWorking() {
+        DoctorCalendar calendar = calendar(List.of(), List.of(), List.of());
+        assertTrue(calendar.isWorking(DAY.withHour(3), DAY.withHour(4)));
+    }
+
+    @Test
+    void testAppointmentMustFitInsideOneShift() {
+        DoctorCalendar calendar = calendar(List.of(shift(9, 12), shift(13, 17)), List.of(), List.of());
+        assertTrue(calendar.isWorking(DAY.withHour(11).withMinute(30), DAY.withHour(12)));
+        assertFalse(calendar.isWorking(DAY.withHour(11).withMinute(30), DAY.withHour(13)));
+        assertFalse(calendar.isWorking(DAY.withHour(8), DAY.withHour(9).withMinute(30)));
+    }
+
+    @Test
+    void testTimeOffBlocksWorkingHours() {
+        TimeOff leave = new TimeOff(doctor, DAY.withHour(10), DAY.withHour(11), TimeOffType.LEAVE, "Training");
+        DoctorCalendar calendar = calendar(List.of(shift(9, 17)), List.of(leave), List.of());
+        assertFalse(calendar.isWorking(DAY.withHour(10).withMinute(30), DAY.withHour(11)));
+        assertTrue(calendar.isWorking(DAY.withHour(11), DAY.withHour(11).withMinute(30)));
+    }
+
+    @Test
+    void testBookedIntervalsAreHalfOpen() {
+        Appointment booked = new Appointment(new Patient(), doctor, DAY.withHour(10), "Checkup");
+        DoctorCalendar calendar = calendar(List.of(), List.of(), List.of(booked));
+        assertTrue(calendar.isBooked(DAY.withHour(9).withMinute(45), DAY.withHour(10).withMinute(15)));
+        assertFalse(calendar.isBooked(DAY.withHour(10).withMinute(30), DAY.withHour(11)));
+        assertFalse(calendar.isBooked(DAY.withHour(9).withMinute(30), DAY.withHour(10)));
+    }
+
+    @Test
+    void testFreeSlotsSkipBookedAndTimeOff() {
+        Appointment booked = new Appointment(new Patient(), doctor, DAY.withHour(9), "Checkup");
+        TimeOff leave = new TimeOff(doctor, DAY.withHour(10), DAY.withHour(11), TimeOffType.HOLIDAY, null);
+        DoctorCalendar calendar = calendar(List.of(shift(9, 11), shift(14, 15)), List.of(leave), List.of(booked));
+
+        assertEquals(List.of(DAY.withHour(9).withMinute(30), DAY.withHour(14), DAY.withHour(14).withMinute(30)),
+                calendar.freeSlots(HALF_HOUR, HALF_HOUR, LONG_AGO));
+    }
+}
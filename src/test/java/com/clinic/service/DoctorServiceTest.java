@@ -1,11 +1,13 @@
 package com.clinic.service;
 
-import java.util.Arrays;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,56 +19,76 @@ import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.DoctorResponse;
 import com.clinic.exception.BusinessException;
 import com.clinic.exception.ResourceNotFoundException;
 import com.clinic.model.Doctor;
+import com.clinic.model.Specialization;
 import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.FieldProjectionRepository;
 
 @ExtendWith(MockitoExtension.class)
 class DoctorServiceTest {
 
     @Mock
     private DoctorRepository doctorRepository;
+    @Mock
+    private SpecializationService specializationService;
+    @Mock
+    private FieldProjectionRepository projections;
+    @Mock
+    private DeletionService deletionService;
 
     @InjectMocks
     private DoctorService doctorService;
 
     private Doctor testDoctor;
+    private Specialization cardiology;
 
     @BeforeEach
     void setUp() {
+        cardiology = new Specialization("Cardiology");
+        cardiology.setId(7L);
         testDoctor = new Doctor("Dr. Smith", "Cardiology", "CARD123", "smith@clinic.com");
         testDoctor.setId(1L);
     }
 
     @Test
     void testGetAllDoctors() {
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList(testDoctor));
-        List<Doctor> result = doctorService.getAllDoctors();
+        Set<String> fields = Set.of("id", "name");
+        when(projections.findAll(DoctorService.RESPONSE, fields))
+                .thenReturn(List.of(new DoctorResponse(1L, "Dr. Smith", null, null, null)));
+        List<DoctorResponse> result = doctorService.getAllDoctors(fields);
         assertEquals(1, result.size());
-        assertEquals("Dr. Smith", result.get(0).getName());
-        verify(doctorRepository, times(1)).findAll();
+        assertEquals("Dr. Smith", result.get(0).name());
+        verify(doctorRepository, never()).findAll();
     }
 
     @Test
     void testGetDoctorById() {
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        Optional<Doctor> result = doctorService.getDoctorById(1L);
+        Set<String> fields = Set.copyOf(DoctorResponse.FIELDS);
+        when(projections.findById(DoctorService.RESPONSE, 1L, fields))
+                .thenReturn(Optional.of(DoctorResponse.from(testDoctor)));
+        Optional<DoctorResponse> result = doctorService.getDoctorById(1L, fields);
         assertTrue(result.isPresent());
-        assertEquals("Dr. Smith", result.get().getName());
-        verify(doctorRepository, times(1)).findById(1L);
+        assertEquals("Cardiology", result.get().specialization());
     }
 
     @Test
     void testCreateDoctorSuccess() {
         when(doctorRepository.findByLicenseNumber(any())).thenReturn(Optional.empty());
-        when(doctorRepository.save(any(Doctor.class))).thenReturn(testDoctor);
+        when(specializationService.resolve("Cardiology")).thenReturn(cardiology);
+        when(doctorRepository.save(any(Doctor.class))).thenAnswer(inv -> inv.getArgument(0));
         Doctor saved = doctorService.createDoctor(testDoctor);
         assertNotNull(saved);
+        assertSame(cardiology, saved.getSpecializationRef());
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(specializationService).evictDoctors(7L);
     }
 
     @Test
@@ -80,21 +102,27 @@ class DoctorServiceTest {
 
     @Test
     void testGetDoctorsBySpecialization() {
-        when(doctorRepository.findBySpecialization("Cardiology")).thenReturn(Arrays.asList(testDoctor));
-        List<Doctor> result = doctorService.getDoctorsBySpecialization("Cardiology");
+        when(specializationService.getDoctors("cardiology")).thenReturn(List.of(testDoctor));
+        List<Doctor> result = doctorService.getDoctorsBySpecialization("cardiology");
         assertEquals(1, result.size());
         assertEquals("Cardiology", result.get(0).getSpecialization());
-        verify(doctorRepository, times(1)).findBySpecialization("Cardiology");
+        verify(specializationService, times(1)).getDoctors("cardiology");
     }
 
     @Test
     void testUpdateDoctorSuccess() {
         Doctor updatedDetails = new Doctor("Dr. Updated", "Neurology", "CARD123", "updated@clinic.com");
+        Specialization neurology = new Specialization("Neurology");
+        neurology.setId(8L);
+        testDoctor.setSpecializationRef(cardiology);
         when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        when(specializationService.resolve("Neurology")).thenReturn(neurology);
         when(doctorRepository.save(any(Doctor.class))).thenReturn(testDoctor);
         Doctor result = doctorService.updateDoctor(1L, updatedDetails);
-        assertNotNull(result);
+        assertEquals("Neurology", result.getSpecialization());
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(specializationService).evictDoctors(7L);
+        verify(specializationService).evictDoctors(8L);
     }
 
     @Test
@@ -106,10 +134,13 @@ class DoctorServiceTest {
     }
 
     @Test
-    void testDeleteDoctorSuccess() {
+    void testDeleteDoctorStartsBackgroundDeletion() {
+        DeletionStatus started = new DeletionStatus("job-1", "doctor", 1L, DeletionStatus.State.RUNNING, 0, 0,
+                Instant.now(), null, null);
         when(doctorRepository.existsById(1L)).thenReturn(true);
-        doctorService.deleteDoctor(1L);
-        verify(doctorRepository, times(1)).deleteById(1L);
+        when(deletionService.deleteDoctor(1L)).thenReturn(started);
+        assertSame(started, doctorService.deleteDoctor(1L));
+        verify(doctorRepository, never()).delete(any());
     }
 
     @Test
@@ -118,6 +149,6 @@ class DoctorServiceTest {
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
                 () -> doctorService.deleteDoctor(1L));
         assertTrue(ex.getMessage().contains("not found"));
-        verify(doctorRepository, never()).deleteById(any());
+        verifyNoInteractions(deletionService);
     }
 }
\ No newline at end of file
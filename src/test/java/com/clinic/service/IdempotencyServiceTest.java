@@ -0,0 +1,345 @@
+package com.clinic.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.clinic.config.JacksonConfig;
+import com.clinic.dto.AppointmentRequest;
+import com.clinic.dto.AppointmentResponse;
+import com.clinic.exception.BusinessException;
+import com.clinic.exception.IdempotencyKeyReusedException;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.model.AppointmentStatus;
+import com.clinic.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests for {@link IdempotencyService} against the {@code idempotency_keys}
+ * table of an embedded H2 database, with a mocked booking that inserts its
+ * appointment row in the caller's transaction.  Two services sharing the
+ * database stand in for two instances.
+ */
+class IdempotencyServiceTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final LocalDateTime START = LocalDateTime.of(2031, 3, 3, 9, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private ObjectMapper objectMapper;
+    private AppointmentService appointmentService;
+    private MutableClock clock;
+    private IdempotencyService idempotencyService;
+    private long nextAppointmentId = 100;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionManager = new DataSourceTransactionManager(database);
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+        appointmentService = mock(AppointmentService.class);
+        when(appointmentService.bookAppointment(any())).thenAnswer(inv -> {
+            long id = nextAppointmentId++;
+            jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, status) " +
+                    "VALUES (?, 1, 1, ?, 'SCHEDULED')", id, inv.getArgument(0, AppointmentRequest.class)
+                    .getAppointmentDate());
+            return new BookingResult.Accepted(response(id));
+        });
+        clock = new MutableClock(Instant.parse("2030-01-01T09:00:00Z"));
+        idempotencyService = service(new IdempotencyKeyRepository(jdbcTemplate), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private IdempotencyService service(IdempotencyKeyRepository repository, int cacheSize) {
+        return new IdempotencyService(appointmentService, repository, transactionManager, objectMapper,
+                TTL, cacheSize, clock);
+    }
+
+    private static AppointmentRequest request(String notes) {
+        AppointmentRequest request = new AppointmentRequest(1L, 1L, START, notes);
+        request.setDurationMinutes(30);
+        return request;
+    }
+
+    private static AppointmentResponse response(long id) {
+        AppointmentResponse response = new AppointmentResponse();
+        response.setId(id);
+        response.setPatientName("John Doe");
+        response.setDoctorName("Dr. Smith");
+        response.setAppointmentDate(START);
+        response.setDurationMinutes(30);
+        response.setEndDate(START.plusMinutes(30));
+        response.setStatus(AppointmentStatus.SCHEDULED);
+        response.setCreatedAt(START.minusDays(1));
+        return response;
+    }
+
+    private int appointments() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Integer.class);
+    }
+
+    private int keys() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class);
+    }
+
+    private static long bookedId(IdempotencyService.Outcome outcome) {
+        return assertInstanceOf(BookingResult.Accepted.class, outcome.result()).appointment().getId();
+    }
+
+    @Test
+    void testRetryReturnsTheOriginalBookingWithoutBookingAgain() {
+        IdempotencyService.Outcome first = idempotencyService.book("key-1", request("Checkup"));
+        IdempotencyService.Outcome retry = idempotencyService.book("key-1", request("Checkup"));
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(bookedId(first), bookedId(retry));
+        verify(appointmentService, times(1)).bookAppointment(any());
+        assertEquals(1, appointments());
+    }
+
+    @Test
+    void testRetryOnAnotherInstanceIsAnsweredFromTheTable() {
+        IdempotencyService.Outcome first = idempotencyService.book("key-1", request("Checkup"));
+        IdempotencyService other = service(new IdempotencyKeyRepository(jdbcTemplate), 100);
+
+        IdempotencyService.Outcome retry = other.book("key-1", request("Checkup"));
+
+        assertTrue(retry.replayed());
+        AppointmentResponse original = assertInstanceOf(BookingResult.Accepted.class, first.result()).appointment();
+        AppointmentResponse replayed = assertInstanceOf(BookingResult.Accepted.class, retry.result()).appointment();
+        assertEquals(original.getId(), replayed.getId());
+        assertEquals(original.getAppointmentDate(), replayed.getAppointmentDate());
+        assertEquals(original.getStatus(), replayed.getStatus());
+        verify(appointmentService, times(1)).bookAppointment(any());
+    }
+
+    @Test
+    void testKeyReusedForADifferentRequestIsRejected() {
+        idempotencyService.book("key-1", request("Checkup"));
+        IdempotencyService other = service(new IdempotencyKeyRepository(jdbcTemplate), 100);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyService.book("key-1", request("Follow-up")));
+        assertThrows(IdempotencyKeyReusedException.class, () -> other.book("key-1", request("Follow-up")));
+        verify(appointmentService, times(1)).bookAppointment(any());
+    }
+
+    @Test
+    void testConflictIsNotKept() {
+        doReturn(new BookingResult.Conflict("Doctor is not available at the requested time", List.of()))
+                .when(appointmentService).bookAppointment(any());
+
+        IdempotencyService.Outcome first = idempotencyService.book("key-1", request("Checkup"));
+        IdempotencyService.Outcome retry = idempotencyService.book("key-1", request("Checkup"));
+
+        assertInstanceOf(BookingResult.Conflict.class, first.result());
+        assertFalse(retry.replayed());
+        verify(appointmentService, times(2)).bookAppointment(any());
+        assertEquals(0, keys());
+    }
+
+    @Test
+    void testFailedBookingReleasesTheKey() {
+        doAnswer(inv -> {
+            jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, status) " +
+                    "VALUES (1, 1, 1, 'SCHEDULED')");
+            throw new ResourceNotFoundException("Patient not found with id: 1");
+        }).when(appointmentService).bookAppointment(any());
+
+        assertThrows(ResourceNotFoundException.class, () -> idempotencyService.book("key-1", request("Checkup")));
+
+        assertEquals(0, keys());
+        assertEquals(0, appointments());
+    }
+
+    @Test
+    void testExpiredKeyBooksAgain() {
+        IdempotencyService.Outcome first = idempotencyService.book("key-1", request("Checkup"));
+        clock.advance(TTL);
+
+        IdempotencyService.Outcome later = idempotencyService.book("key-1", request("Checkup"));
+
+        assertFalse(later.replayed());
+        assertTrue(bookedId(later) != bookedId(first));
+        assertEquals(1, keys());
+    }
+
+    @Test
+    void testConcurrentAttemptThatBookedFirstIsReplayed() {
+        IdempotencyService other = service(new IdempotencyKeyRepository(jdbcTemplate), 100);
+        IdempotencyKeyRepository racing = new IdempotencyKeyRepository(jdbcTemplate) {
+            private boolean raced;
+
+            @Override
+            public void claim(String key, String requestHash, Instant now, Instant expiresAt) {
+                if (!raced) {
+                    // The other instance commits between this one's lookup and its claim
+                    raced = true;
+                    Thread rival = new Thread(() -> other.book(key, request("Checkup")));
+                    rival.start();
+                    try {
+                        rival.join();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.claim(key, requestHash, now, expiresAt);
+            }
+        };
+
+        IdempotencyService.Outcome outcome = service(racing, 100).book("key-1", request("Checkup"));
+
+        assertTrue(outcome.replayed());
+        assertEquals(1, appointments());
+        verify(appointmentService, times(1)).bookAppointment(any());
+    }
+
+    @Test
+    void testClaimFailingOnLockAfterRivalBookedIsReplayed() {
+        IdempotencyService other = service(new IdempotencyKeyRepository(jdbcTemplate), 100);
+        IdempotencyKeyRepository deadlocking = new IdempotencyKeyRepository(jdbcTemplate) {
+            @Override
+            public void claim(String key, String requestHash, Instant now, Instant expiresAt) {
+                // The other instance wins, and the database picks this claim as the deadlock victim
+                Thread rival = new Thread(() -> other.book(key, request("Checkup")));
+                rival.start();
+                try {
+                    rival.join();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new DeadlockLoserDataAccessException("Deadlock found when trying to get lock", null);
+            }
+        };
+
+        IdempotencyService.Outcome outcome = service(deadlocking, 100).book("key-1", request("Checkup"));
+
+        assertTrue(outcome.replayed());
+        assertEquals(1, appointments());
+    }
+
+    @Test
+    void testLockFailureWithoutBookingIsRethrown() {
+        doThrow(new CannotAcquireLockException("Lock wait timeout exceeded")).when(appointmentService)
+                .bookAppointment(any());
+
+        assertThrows(CannotAcquireLockException.class, () -> idempotencyService.book("key-1", request("Checkup")));
+        assertEquals(0, keys());
+    }
+
+    @Test
+    void testLiveKeyIsNotTakenOver() {
+        IdempotencyKeyRepository repository = new IdempotencyKeyRepository(jdbcTemplate);
+        Instant now = clock.instant();
+        repository.claim("key-1", "first", now, now.plus(TTL));
+
+        assertThrows(DuplicateKeyException.class,
+                () -> repository.claim("key-1", "second", now.plusSeconds(1), now.plus(TTL)));
+        assertEquals("first", jdbcTemplate.queryForObject(
+                "SELECT request_hash FROM idempotency_keys WHERE idempotency_key = 'key-1'", String.class));
+    }
+
+    @Test
+    void testMemoryHoldsOnlyTheMostRecentKeys() {
+        IdempotencyService small = service(new IdempotencyKeyRepository(jdbcTemplate), 2);
+        small.book("key-1", request("Checkup"));
+        small.book("key-2", request("Checkup"));
+        small.book("key-3", request("Checkup"));
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+
+        assertTrue(small.book("key-3", request("Checkup")).replayed());
+        assertFalse(small.book("key-1", request("Checkup")).replayed());
+        verify(appointmentService, times(4)).bookAppointment(any());
+    }
+
+    @Test
+    void testPurgeDeletesOnlyExpiredKeys() {
+        idempotencyService.book("key-1", request("Checkup"));
+        idempotencyService.book("key-2", request("Checkup"));
+        clock.advance(Duration.ofHours(12));
+        idempotencyService.book("key-3", request("Checkup"));
+        clock.advance(Duration.ofHours(12));
+
+        assertEquals(1, idempotencyService.purgeExpired(1));
+        assertEquals(1, idempotencyService.purgeExpired(10));
+        assertEquals(0, idempotencyService.purgeExpired(10));
+        assertEquals(List.of("key-3"),
+                jdbcTemplate.queryForList("SELECT idempotency_key FROM idempotency_keys", String.class));
+    }
+
+    @Test
+    void testKeyMustFitTheColumn() {
+        assertThrows(BusinessException.class, () -> idempotencyService.book(" ", request("Checkup")));
+        assertThrows(BusinessException.class,
+                () -> idempotencyService.book("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), request("Checkup")));
+        verify(appointmentService, never()).bookAppointment(any());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
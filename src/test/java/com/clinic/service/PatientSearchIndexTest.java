@@ -0,0 +1,169 @@
+package com.clinic.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.clinic.dto.PatientSearchResult.Hit;
+import com.clinic.model.Patient;
+
+/**
+ * Tests for {@link PatientSearchIndex}, rebuilt from an embedded H2
+ * database seeded with John Doe.
+ */
+class PatientSearchIndexTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PatientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2)
+                .addScript("test-schema.sql").build();
+        jdbcTemplate = spy(new JdbcTemplate(database));
+        index = new PatientSearchIndex(jdbcTemplate, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testRebuildStreamsPatientsFromDatabase() {
+        jdbcTemplate.update("INSERT INTO patients (name, email, phone) VALUES ('Jane Roe', 'jane@example.com', '555')");
+
+        assertEquals(2, index.rebuild());
+
+        assertEquals(List.of("John Doe"), names("john"));
+        assertEquals(List.of("Jane Roe"), names("roe"));
+    }
+
+    @Test
+    void testPrefixMatchesRankExactWordFirst() {
+        index.index(patient(1, "Mary Johnson", "mj@example.com", "100"));
+        index.index(patient(2, "John Smith", "js@example.com", "200"));
+        index.index(patient(3, "Joanna Lee", "jl@example.com", "300"));
+
+        assertEquals(List.of("John Smith", "Mary Johnson"), names("john"));
+        assertEquals(List.of("John Smith", "Joanna Lee", "Mary Johnson"), names("jo"));
+        assertEquals(1.0, index.search("john", 0, 10).hits().get(0).score());
+    }
+
+    @Test
+    void testMisspeltNameStillMatches() {
+        index.index(patient(1, "Jonathan Pryce", "jp@example.com", "100"));
+
+        assertEquals(List.of("Jonathan Pryce"), names("jonathon"));
+        assertEquals(List.of("Jonathan Pryce"), names("jonathan pryse"));
+    }
+
+    @Test
+    void testAccentsAndCaseAreIgnored() {
+        index.index(patient(1, "Zoë Müller", "zm@example.com", "100"));
+
+        assertEquals(List.of("Zoë Müller"), names("ZOE MULL"));
+    }
+
+    @Test
+    void testPhoneDigitsMatchAnywhereIgnoringPunctuation() {
+        index.index(patient(1, "Ann Lee", "ann@example.com", "+1 (555) 010-4477"));
+        index.index(patient(2, "Bob Ray", "bob@example.com", "5559990000"));
+
+        assertEquals(List.of("Ann Lee"), names("010-44"));
+        assertEquals(List.of("Ann Lee"), names("(555) 0104477"));
+        assertEquals(2, index.search("555", 0, 10).total());
+    }
+
+    @Test
+    void testEmailMatchesOnLocalPartOnly() {
+        index.index(patient(1, "Ann Lee", "ann.lee@example.com", "100"));
+        index.index(patient(2, "Bob Ray", "bray@example.com", "200"));
+
+        assertEquals(List.of("Ann Lee"), names("ann.lee@example.com"));
+        assertEquals(List.of("Bob Ray"), names("bray"));
+        assertEquals(List.of(), names("example"));
+    }
+
+    @Test
+    void testUpdateReplacesOldTermsAndRemoveDropsPatient() {
+        index.index(patient(1, "Ann Lee", "ann@example.com", "100"));
+        index.index(patient(1, "Ann Grant", "ann@example.com", "100"));
+
+        assertEquals(List.of(), names("lee"));
+        assertEquals(List.of("Ann Grant"), names("grant"));
+        assertEquals(1, index.size());
+
+        index.remove(1);
+
+        assertEquals(List.of(), names("ann"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testPagingReportsTotalAndSlicesRankedHits() {
+        for (int i = 1; i <= 25; i++) {
+            index.index(patient(i, "Patient Smith" + i, "p" + i + "@example.com", String.valueOf(1000 + i)));
+        }
+
+        PatientSearchIndex.Result page = index.search("smith", 20, 10);
+
+        assertEquals(25, page.total());
+        assertEquals(5, page.hits().size());
+        assertEquals(21, page.hits().get(0).id());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreKept() {
+        doAnswer(inv -> {
+            // Arrives after the rebuild started reading but is not in the table it reads.
+            index.index(patient(99, "Late Arrival", "late@example.com", "999"));
+            return inv.callRealMethod();
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertEquals(List.of("Late Arrival"), names("late"));
+        assertEquals(List.of("John Doe"), names("john"));
+    }
+
+    @Test
+    void testChangesWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(patient(1, "Ann Lee", "ann@example.com", "100"));
+            assertTrue(names("ann").isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of("Ann Lee"), names("ann"));
+    }
+
+    private List<String> names(String query) {
+        return index.search(query, 0, 10).hits().stream().map(Hit::name).toList();
+    }
+
+    private static Patient patient(long id, String name, String email, String phone) {
+        Patient patient = new Patient(name, email, phone, null);
+        patient.setId(id);
+        return patient;
+    }
+}
@@ -1,17 +1,23 @@
 package com.clinic.service;
 
-import java.util.Arrays;
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -19,8 +25,21 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.clinic.dto.DeletionStatus;
+import com.clinic.dto.PatientResponse;
+import com.clinic.dto.PatientSearchResult;
+import com.clinic.dto.PatientSearchResult.Hit;
+import com.clinic.exception.BusinessException;
 import com.clinic.model.Patient;
+import com.clinic.repository.FieldProjectionRepository;
 import com.clinic.repository.PatientRepository;
 
 /**
@@ -31,6 +50,12 @@ class PatientServiceTest {
 
     @Mock
     private PatientRepository patientRepository;
+    @Mock
+    private PatientSearchIndex searchIndex;
+    @Mock
+    private FieldProjectionRepository projections;
+    @Mock
+    private DeletionService deletionService;
 
     @InjectMocks
     private PatientService patientService;
@@ -45,39 +70,73 @@ class PatientServiceTest {
 
     @Test
     void testGetAllPatients() {
-        when(patientRepository.findAll()).thenReturn(Arrays.asList(testPatient));
-        List<Patient> result = patientService.getAllPatients();
+        Set<String> fields = Set.of("id", "name");
+        when(projections.findAll(PatientService.RESPONSE, fields))
+                .thenReturn(List.of(new PatientResponse(1L, "John Doe", null, null, null)));
+        List<PatientResponse> result = patientService.getAllPatients(fields);
         assertEquals(1, result.size());
-        assertEquals("John Doe", result.get(0).getName());
-        verify(patientRepository, times(1)).findAll();
+        assertEquals("John Doe", result.get(0).name());
+        verify(patientRepository, never()).findAll();
     }
 
     @Test
     void testGetPatientById() {
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-        Optional<Patient> result = patientService.getPatientById(1L);
+        Set<String> fields = Set.copyOf(PatientResponse.FIELDS);
+        when(projections.findById(PatientService.RESPONSE, 1L, fields))
+                .thenReturn(Optional.of(PatientResponse.from(testPatient)));
+        Optional<PatientResponse> result = patientService.getPatientById(1L, fields);
         assertTrue(result.isPresent());
-        assertEquals("John Doe", result.get().getName());
-        verify(patientRepository, times(1)).findById(1L);
+        assertEquals("No allergies", result.get().medicalHistory());
     }
 
     @Test
     void testCreatePatientSuccess() {
-        when(patientRepository.findByEmail(any())).thenReturn(Optional.empty());
-        when(patientRepository.findByPhone(any())).thenReturn(Optional.empty());
         when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
         Patient saved = patientService.createPatient(testPatient);
         assertNotNull(saved);
         verify(patientRepository, times(1)).save(any(Patient.class));
+        verify(patientRepository, never()).findByEmail(any());
+        verify(patientRepository, never()).findByPhone(any());
+        verify(searchIndex).index(testPatient);
     }
 
     @Test
     void testCreatePatientDuplicateEmail() {
-        when(patientRepository.findByEmail(any())).thenReturn(Optional.of(testPatient));
-        RuntimeException ex = assertThrows(RuntimeException.class,
+        when(patientRepository.save(any(Patient.class))).thenThrow(violation("PATIENTS.UK_PATIENTS_EMAIL"));
+        RuntimeException ex = assertThrows(BusinessException.class,
                 () -> patientService.createPatient(testPatient));
-        assertTrue(ex.getMessage().contains("already exists"));
-        verify(patientRepository, never()).save(any(Patient.class));
+        assertEquals("Patient with email john@example.com already exists", ex.getMessage());
+        verify(searchIndex, never()).index(any());
+    }
+
+    @Test
+    void testCreatePatientDuplicatePhone() {
+        when(patientRepository.save(any(Patient.class))).thenThrow(violation("patients.uk_patients_phone"));
+        RuntimeException ex = assertThrows(BusinessException.class,
+                () -> patientService.createPatient(testPatient));
+        assertEquals("Patient with phone 1234567890 already exists", ex.getMessage());
+    }
+
+    @Test
+    void testCreatePatientOtherIntegrityViolationIsRethrown() {
+        DataIntegrityViolationException violation = violation("fk_something_else");
+        when(patientRepository.save(any(Patient.class))).thenThrow(violation);
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> patientService.createPatient(testPatient)));
+    }
+
+    @Test
+    void testUpdatePatientDuplicateEmail() {
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(new Patient()));
+        when(patientRepository.saveAndFlush(any(Patient.class))).thenThrow(violation("uk_patients_email"));
+        RuntimeException ex = assertThrows(BusinessException.class,
+                () -> patientService.updatePatient(1L, testPatient));
+        assertEquals("Patient with email john@example.com already exists", ex.getMessage());
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraint));
     }
 
     @Test
@@ -89,10 +148,13 @@ class PatientServiceTest {
     }
 
     @Test
-    void testDeletePatientSuccess() {
+    void testDeletePatientStartsBackgroundDeletion() {
+        DeletionStatus started = new DeletionStatus("job-1", "patient", 1L, DeletionStatus.State.RUNNING, 0, 0,
+                Instant.now(), null, null);
         when(patientRepository.existsById(1L)).thenReturn(true);
-        patientService.deletePatient(1L);
-        verify(patientRepository, times(1)).deleteById(1L);
+        when(deletionService.deletePatient(1L)).thenReturn(started);
+        assertSame(started, patientService.deletePatient(1L));
+        verify(patientRepository, never()).deleteById(any());
     }
 
     @Test
@@ -101,6 +163,65 @@ class PatientServiceTest {
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> patientService.deletePatient(1L));
         assertTrue(ex.getMessage().contains("not found"));
-        verify(patientRepository, never()).deleteById(any());
+        verify(deletionService, never()).deletePatient(anyLong());
+    }
+
+    /**
+     * With the real index and a real transaction: the patient must be
+     * searchable once the transaction commits, and not before.
+     */
+    @Test
+    void testSavedPatientIsSearchableAfterCommit() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2).addScript("test-schema.sql").build();
+        try {
+            PatientSearchIndex index = new PatientSearchIndex(new JdbcTemplate(database), false);
+            PatientService service = new PatientService(patientRepository, index, projections, deletionService);
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+            Patient zelda = new Patient("Zelda Hyrule", "zelda@example.com", "5550199", null);
+            zelda.setId(2L);
+            when(patientRepository.save(any(Patient.class))).thenReturn(zelda);
+            when(patientRepository.findById(2L)).thenReturn(Optional.of(zelda));
+            when(patientRepository.saveAndFlush(any(Patient.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            transaction.executeWithoutResult(status -> {
+                service.createPatient(zelda);
+                assertEquals(0, index.search("zelda", 0, 10).total());
+            });
+            assertEquals(List.of(2L), index.search("zelda", 0, 10).hits().stream().map(Hit::id).toList());
+
+            transaction.executeWithoutResult(status -> service.updatePatient(2L,
+                    new Patient("Zelda Harkinian", "zelda@example.com", "5550199", null)));
+            assertEquals(List.of(2L), index.search("harkinian", 0, 10).hits().stream().map(Hit::id).toList());
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void testUpdatePatientReindexes() {
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(new Patient()));
+        when(patientRepository.saveAndFlush(any(Patient.class))).thenReturn(testPatient);
+        patientService.updatePatient(1L, testPatient);
+        verify(searchIndex).index(testPatient);
+    }
+
+    @Test
+    void testSearchPatientsPagesThroughIndex() {
+        Hit hit = new Hit(1L, "John Doe", "john@example.com", "1234567890", 1.0);
+        when(searchIndex.search("john", 40, 20)).thenReturn(new PatientSearchIndex.Result(41, List.of(hit)));
+        PatientSearchResult result = patientService.searchPatients("john", 2, 20);
+        assertEquals(41, result.total());
+        assertEquals(List.of(hit), result.hits());
+        assertEquals(2, result.page());
+    }
+
+    @Test
+    void testSearchPatientsRejectsBadPaging() {
+        assertThrows(BusinessException.class, () -> patientService.searchPatients(" ", 0, 20));
+        assertThrows(BusinessException.class, () -> patientService.searchPatients("john", 0, 0));
+        assertThrows(BusinessException.class, () -> patientService.searchPatients("john", 0, 101));
+        assertThrows(BusinessException.class, () -> patientService.searchPatients("john", 50, 20));
+        verify(searchIndex, never()).search(any(), anyInt(), anyInt());
     }
 }
\ No newline at end of file
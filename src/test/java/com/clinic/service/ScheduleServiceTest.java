@@ -0,0 +1,103 @@
+package com.clinic.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.clinic.dto.TimeOffDto;
+import com.clinic.dto.WorkingHoursDto;
+import com.clinic.exception.BusinessException;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.model.Doctor;
+import com.clinic.model.TimeOff;
+import com.clinic.model.TimeOffType;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.TimeOffRepository;
+import com.clinic.repository.WorkingHoursRepository;
+
+/**
+ * Unit tests for {@link ScheduleService} using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduleServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private WorkingHoursRepository workingHoursRepository;
+    @Mock
+    private TimeOffRepository timeOffRepository;
+    @Mock
+    private DoctorRepository doctorRepository;
+    @InjectMocks
+    private ScheduleService scheduleService;
+
+    private Doctor testDoctor;
+
+    @BeforeEach
+    void setUp() {
+        testDoctor = new Doctor("Dr. Smith", "Cardiology", "CARD123", "smith@clinic.com");
+        testDoctor.setId(1L);
+    }
+
+    @Test
+    void testReplaceWorkingHours() {
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        scheduleService.replaceWorkingHours(1L,
+                List.of(new WorkingHoursDto(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0))));
+        verify(workingHoursRepository, times(1)).deleteByDoctorId(1L);
+        verify(workingHoursRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testReplaceWorkingHoursRejectsInvertedShift() {
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        List<WorkingHoursDto> template =
+                List.of(new WorkingHoursDto(DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(9, 0)));
+        assertThrows(BusinessException.class, () -> scheduleService.replaceWorkingHours(1L, template));
+        verify(workingHoursRepository, never()).deleteByDoctorId(any());
+    }
+
+    @Test
+    void testAddTimeOffDefaultsToLeave() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 0, 0);
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        when(timeOffRepository.save(any(TimeOff.class))).thenAnswer(inv -> inv.getArgument(0));
+        TimeOffDto saved = scheduleService.addTimeOff(1L, new TimeOffDto(null, start, start.plusDays(5), null, "Vacation"));
+        assertTrue(saved.type() == TimeOffType.LEAVE);
+    }
+
+    @Test
+    void testAvailabilityRejectsDurationOutOfRange() {
+        assertThrows(BusinessException.class,
+                () -> scheduleService.getAvailability(1L, LocalDateTime.now().toLocalDate(), -30));
+        assertThrows(BusinessException.class,
+                () -> scheduleService.getAvailability(1L, LocalDateTime.now().toLocalDate(), 481));
+        verify(doctorRepository, never()).findById(any());
+    }
+
+    @Test
+    void testAvailabilityForUnknownDoctor() {
+        when(doctorRepository.findById(1L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class,
+                () -> scheduleService.getAvailability(1L, LocalDateTime.now().toLocalDate(), 30));
+    }
+}
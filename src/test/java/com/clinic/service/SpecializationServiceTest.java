@@ -0,0 +1,175 @@
+package com.clinic.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.clinic.datasource.ReadYourWrites;
+import com.clinic.exception.BusinessException;
+import com.clinic.model.Doctor;
+import com.clinic.model.Specialization;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.SpecializationRepository;
+
+/**
+ * Unit tests for {@link SpecializationService} using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class SpecializationServiceTest {
+
+    @Mock
+    private SpecializationRepository specializationRepository;
+    @Mock
+    private DoctorRepository doctorRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SpecializationService specializationService;
+    private final List<Specialization> table = new ArrayList<>();
+    private Doctor smith;
+
+    @BeforeEach
+    void setUp() {
+        table.add(specialization(1L, "Cardiology"));
+        table.add(specialization(2L, "Pediatric Cardiology"));
+        table.add(specialization(3L, "Neurology"));
+        lenient().when(specializationRepository.findAll()).thenAnswer(inv -> List.copyOf(table));
+        specializationService = new SpecializationService(specializationRepository, doctorRepository, transactionManager);
+        smith = new Doctor("Dr. Smith", "Cardiology", "CARD123", "smith@clinic.com");
+    }
+
+    @Test
+    void testFindIgnoresCaseAndSurroundingSpace() {
+        assertEquals(1L, specializationService.findSpecialization("  CARDIOLOGY ").orElseThrow().getId());
+        assertTrue(specializationService.findSpecialization("Dermatology").isEmpty());
+    }
+
+    @Test
+    void testSearchListsPrefixMatchesFirst() {
+        List<Specialization> found = specializationService.searchSpecializations("cardio");
+        assertEquals(List.of("Cardiology", "Pediatric Cardiology"),
+                found.stream().map(Specialization::getName).toList());
+    }
+
+    @Test
+    void testResolveReturnsExistingRow() {
+        assertEquals(3L, specializationService.resolve("neurology").getId());
+        verify(specializationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testResolveCreatesNewSpecializationOnce() {
+        when(specializationRepository.saveAndFlush(any())).thenAnswer(inv -> {
+            Specialization created = specialization(4L, inv.<Specialization>getArgument(0).getName());
+            table.add(created);
+            return created;
+        });
+
+        Specialization created = specializationService.resolve(" Dermatology ");
+
+        assertEquals("Dermatology", created.getName());
+        assertSame(created, specializationService.resolve("dermatology"));
+        verify(specializationRepository, times(1)).saveAndFlush(any());
+        // Apart from the caller's transaction, which a lost race would spoil.
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void testResolveUsesRowCreatedConcurrently() {
+        when(specializationRepository.saveAndFlush(any())).thenAnswer(inv -> {
+            table.add(specialization(4L, "Dermatology"));
+            throw new DataIntegrityViolationException("Duplicate entry", new ConstraintViolationException(
+                    "Duplicate entry", new SQLException("Duplicate entry"), "uk_specializations_name"));
+        });
+
+        assertEquals(4L, specializationService.resolve("Dermatology").getId());
+    }
+
+    @Test
+    void testResolveRejectsBlankName() {
+        assertThrows(BusinessException.class, () -> specializationService.resolve(" "));
+    }
+
+    @Test
+    void testDoctorsAreCachedUntilEvicted() {
+        when(doctorRepository.findBySpecializationIdOrderByNameAsc(1L)).thenReturn(List.of(smith));
+
+        assertEquals(List.of(smith), specializationService.getDoctors("cardiology"));
+        assertEquals(List.of(smith), specializationService.getDoctors("Cardiology"));
+        verify(doctorRepository, times(1)).findBySpecializationIdOrderByNameAsc(1L);
+
+        specializationService.evictDoctors(1L);
+        specializationService.getDoctors("Cardiology");
+        verify(doctorRepository, times(2)).findBySpecializationIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void testListLoadedDuringEvictionIsNotCached() {
+        when(doctorRepository.findBySpecializationIdOrderByNameAsc(1L)).thenAnswer(inv -> {
+            // A doctor is saved and the cache evicted while this list is being read.
+            specializationService.evictDoctors(1L);
+            return List.of(smith);
+        });
+
+        specializationService.getDoctors("Cardiology");
+        specializationService.getDoctors("Cardiology");
+
+        verify(doctorRepository, times(2)).findBySpecializationIdOrderByNameAsc(1L);
+    }
+
+    @Test
+    void testCacheIsFilledFromPrimary() {
+        List<Boolean> pinned = new ArrayList<>();
+        when(specializationRepository.findAll()).thenAnswer(inv -> {
+            pinned.add(ReadYourWrites.isPinned());
+            return List.copyOf(table);
+        });
+        when(doctorRepository.findBySpecializationIdOrderByNameAsc(1L)).thenAnswer(inv -> {
+            pinned.add(ReadYourWrites.isPinned());
+            return List.of(smith);
+        });
+
+        specializationService.getDoctors("Cardiology");
+
+        assertEquals(List.of(true, true), pinned);
+        assertFalse(ReadYourWrites.isPinned());
+        // Each in a read-only transaction of its own, not one already bound to a replica
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void testUnknownSpecializationHasNoDoctors() {
+        assertEquals(List.of(), specializationService.getDoctors("Astrology"));
+        verify(doctorRepository, never()).findBySpecializationIdOrderByNameAsc(any());
+    }
+
+    private static Specialization specialization(Long id, String name) {
+        Specialization specialization = new Specialization(name);
+        specialization.setId(id);
+        return specialization;
+    }
+}
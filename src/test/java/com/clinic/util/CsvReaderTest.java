@@ -0,0 +1,46 @@
+package com.clinic.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    @Test
+    void readsRecordsWithLineNumbers() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("name,email\r\nJohn,john@example.com\nJane,\n"));
+        assertEquals(List.of("name", "email"), reader.next());
+        assertEquals(List.of("John", "john@example.com"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("Jane", ""), reader.next());
+        assertEquals(3, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void readsQuotedFieldsSpanningLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\nnext,row"));
+        assertEquals(List.of("a,b", "say \"hi\"", "two\nlines"), reader.next());
+        assertEquals(List.of("next", "row"), reader.next());
+        assertEquals(3, reader.recordLine());
+    }
+
+    @Test
+    void roundTripsCsvWriterOutput() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).row("x", "comma, \"quote\"\r\nbreak", null);
+        assertEquals(List.of("x", "comma, \"quote\"\r\nbreak", ""), new CsvReader(new StringReader(out.toString())).next());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        CsvReader reader = new CsvReader(new StringReader("\"open"));
+        assertThrows(IOException.class, reader::next);
+    }
+}
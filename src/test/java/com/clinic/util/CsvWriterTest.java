@@ -0,0 +1,25 @@
+package com.clinic.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class CsvWriterTest {
+
+    @Test
+    void writesPlainFieldsUnquoted() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).row("1", "John Doe", null);
+        assertEquals("1,John Doe,\r\n", out.toString());
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+        csv.field("a,b").field("say \"hi\"").field("two\nlines").endRow();
+        assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n", out.toString());
+    }
+}
@@ -0,0 +1,36 @@
+package com.clinic.util;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.clinic.exception.BusinessException;
+
+class FieldSelectionTest {
+
+    private static final List<String> ALLOWED = List.of("id", "name", "email");
+    private static final List<String> DEFAULTS = List.of("id", "name");
+
+    @Test
+    void testMissingOrBlankGivesDefaults() {
+        assertEquals(Set.of("id", "name"), FieldSelection.parse(null, ALLOWED, DEFAULTS));
+        assertEquals(Set.of("id", "name"), FieldSelection.parse(" ", ALLOWED, DEFAULTS));
+        assertEquals(Set.of("id", "name"), FieldSelection.parse(",,", ALLOWED, DEFAULTS));
+    }
+
+    @Test
+    void testNamesAreTrimmedAndDeduplicated() {
+        assertEquals(Set.of("email", "id"), FieldSelection.parse(" email,id ,email", ALLOWED, DEFAULTS));
+    }
+
+    @Test
+    void testUnknownFieldIsRejected() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> FieldSelection.parse("id,Name", ALLOWED, DEFAULTS));
+        assertTrue(ex.getMessage().contains("'Name'"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.clinic.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LogThrottle throttle = new LogThrottle(Duration.ofSeconds(10), 2, clock::get);
+
+    @Test
+    void testFirstOccurrenceIsPermitted() {
+        assertEquals(0, throttle.tryAcquire("Doctor is not available"));
+    }
+
+    @Test
+    void testRepeatsWithinIntervalAreSuppressedAndCounted() {
+        throttle.tryAcquire("Doctor is not available");
+        assertEquals(-1, throttle.tryAcquire("Doctor is not available"));
+        assertEquals(-1, throttle.tryAcquire("Doctor is not available"));
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(2, throttle.tryAcquire("Doctor is not available"));
+    }
+
+    @Test
+    void testKeysAreThrottledIndependently() {
+        throttle.tryAcquire("a");
+        assertEquals(0, throttle.tryAcquire("b"));
+        assertEquals(-1, throttle.tryAcquire("a"));
+    }
+
+    @Test
+    void testKeyTableIsBounded() {
+        throttle.tryAcquire("a");
+        throttle.tryAcquire("b");
+        // Third key resets the table, so "a" is treated as new again.
+        throttle.tryAcquire("c");
+        assertEquals(0, throttle.tryAcquire("a"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.clinic.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketsTest {
+
+    private final AtomicLong clock = new AtomicLong(Long.MAX_VALUE - Duration.ofSeconds(5).toNanos());
+    // Two tokens a second, three at once; the clock starts near overflow, as System.nanoTime may
+    private final TokenBuckets buckets = new TokenBuckets(2, 3, 2, clock::get);
+
+    @Test
+    void testFullBucketAllowsBurst() {
+        assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+        assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+        assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+        assertEquals(Duration.ofMillis(500).toNanos(), buckets.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    void testTokensComeBackAtTheRate() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("10.0.0.1");
+        }
+
+        clock.addAndGet(Duration.ofMillis(400).toNanos());
+        assertEquals(Duration.ofMillis(100).toNanos(), buckets.tryAcquire("10.0.0.1"));
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+        assertTrue(buckets.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void testIdleBucketRefillsOnlyToBurst() {
+        buckets.tryAcquire("10.0.0.1");
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+        }
+        assertTrue(buckets.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void testKeysHaveTheirOwnBuckets() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("10.0.0.1");
+        }
+
+        assertEquals(0, buckets.tryAcquire("10.0.0.2"));
+        assertTrue(buckets.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void testFullBucketsAreDroppedFirstWhenTableIsFull() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("10.0.0.1");
+        }
+        buckets.tryAcquire("10.0.0.2");
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+
+        // 10.0.0.2 is full again and makes room; 10.0.0.1 keeps its state
+        assertEquals(0, buckets.tryAcquire("10.0.0.3"));
+        assertEquals(2, buckets.size());
+        assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+        assertTrue(buckets.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void testTableIsClearedWhenNoBucketIsFull() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("10.0.0.1");
+        }
+        buckets.tryAcquire("10.0.0.2");
+
+        buckets.tryAcquire("10.0.0.3");
+
+        assertEquals(1, buckets.size());
+        assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+    }
+}
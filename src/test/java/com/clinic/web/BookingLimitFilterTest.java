@@ -0,0 +1,112 @@
+package com.clinic.web;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.clinic.config.JacksonConfig;
+import com.clinic.service.BookingLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Tests for {@link BookingLimitFilter}.  A rate of one booking every 1000
+ * seconds keeps the buckets from refilling during a test.
+ */
+class BookingLimitFilterTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+    private final BookingLimiter limiter = new BookingLimiter(true, 0.001, 1, 1, 1,
+            List.of("partner-key"), List.of("staff-key"));
+    private final BookingLimitFilter filter =
+            new BookingLimitFilter(limiter, objectMapper, Clock.fixed(NOW, ZoneOffset.UTC));
+    private final AtomicInteger booked = new AtomicInteger();
+    private final FilterChain book = (req, res) -> booked.incrementAndGet();
+
+    private static MockHttpServletRequest booking(String address, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/appointments");
+        request.setRemoteAddr(address);
+        if (apiKey != null) {
+            request.addHeader(BookingLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, book);
+        return response;
+    }
+
+    @Test
+    void testClientOverItsRateIsTooManyRequests() throws Exception {
+        assertEquals(200, send(booking("10.0.0.1", null)).getStatus());
+        MockHttpServletResponse response = send(booking("10.0.0.1", null));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1000", response.getHeader(HttpHeaders.RETRY_AFTER));
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals("2030-01-01T10:00:00Z", body.get("timestamp").asText());
+        assertEquals("Too Many Requests", body.get("error").asText());
+        assertEquals(1, booked.get());
+
+        // Another address, and a known key from the same address, have their own buckets
+        assertEquals(200, send(booking("10.0.0.2", null)).getStatus());
+        assertEquals(200, send(booking("10.0.0.1", "partner-key")).getStatus());
+        assertEquals(429, send(booking("10.0.0.1", "made-up")).getStatus());
+    }
+
+    @Test
+    void testStaffKeyIsNotRateLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send(booking("10.0.0.1", "staff-key")).getStatus());
+        }
+        assertEquals(3, booked.get());
+    }
+
+    @Test
+    void testBookingOverTheConcurrencyLimitIsUnavailable() throws Exception {
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[2];
+        filter.doFilter(booking("10.0.0.1", null), new MockHttpServletResponse(), (req, res) -> {
+            // Sent while the first booking is still running
+            inner[0] = send(booking("10.0.0.2", null));
+            inner[1] = send(booking("10.0.0.3", "staff-key"));
+        });
+
+        assertEquals(503, inner[0].getStatus());
+        assertEquals("1", inner[0].getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(inner[0].getContentAsString().contains("Too many bookings in progress"));
+        assertEquals(200, inner[1].getStatus());
+        // Both places are free again
+        assertEquals(200, send(booking("10.0.0.4", null)).getStatus());
+    }
+
+    @Test
+    void testOtherRequestsAreNotLimited() throws Exception {
+        send(booking("10.0.0.1", null));
+        MockHttpServletRequest list = new MockHttpServletRequest("GET", "/api/appointments");
+        list.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest cancel = new MockHttpServletRequest("PUT", "/api/appointments/1/cancel");
+        cancel.setRemoteAddr("10.0.0.1");
+
+        assertEquals(200, send(list).getStatus());
+        assertEquals(200, send(cancel).getStatus());
+        assertEquals(3, booked.get());
+    }
+}
@@ -0,0 +1,71 @@
+package com.clinic.web;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.clinic.datasource.ReadYourWrites;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Tests for {@link ReadYourWritesFilter}.
+ */
+class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(Duration.ofSeconds(3), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void testWriteSetsCookieUntilEndOfWindow() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/appointments"), response,
+                (req, res) -> ReadYourWrites.recordWrite());
+
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.COOKIE + "=" + NOW.plusSeconds(3).toEpochMilli()), cookie);
+        assertTrue(cookie.contains("Max-Age=4"), cookie);
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    @Test
+    void testReadOnlyRequestSetsNoCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/appointments"), response, (req, res) -> { });
+
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void testRecentWriterIsPinned() throws Exception {
+        assertTrue(pinnedWith(String.valueOf(NOW.plusSeconds(1).toEpochMilli())));
+        assertFalse(pinnedWith(String.valueOf(NOW.minusSeconds(1).toEpochMilli())));
+        assertFalse(pinnedWith("garbage"));
+    }
+
+    private boolean pinnedWith(String cookie) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/appointments");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, cookie));
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> pinned.set(ReadYourWrites.isPinned());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        return pinned.get();
+    }
+}
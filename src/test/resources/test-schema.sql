@@ -0,0 +1,47 @@
+CREATE TABLE patients (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100), email VARCHAR(100), phone VARCHAR(20),
+    medical_history VARCHAR(500),
+    CONSTRAINT uk_patients_email UNIQUE (email),
+    CONSTRAINT uk_patients_phone UNIQUE (phone));
+CREATE TABLE specializations (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) NOT NULL,
+    CONSTRAINT uk_specializations_name UNIQUE (name));
+CREATE TABLE doctors (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100), specialization_id BIGINT,
+    license_number VARCHAR(50), email VARCHAR(100));
+CREATE TABLE appointments (
+    id BIGINT PRIMARY KEY,
+    patient_id BIGINT NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    appointment_date TIMESTAMP,
+    appointment_end TIMESTAMP,
+    duration_minutes INT,
+    notes VARCHAR(500),
+    status VARCHAR(20),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+CREATE TABLE appointments_archive (
+    id BIGINT PRIMARY KEY,
+    patient_id BIGINT NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    appointment_date TIMESTAMP NOT NULL,
+    appointment_end TIMESTAMP,
+    duration_minutes INT,
+    notes VARCHAR(500),
+    status VARCHAR(20),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+CREATE TABLE job_locks (name VARCHAR(64) PRIMARY KEY, locked_by VARCHAR(128) NOT NULL, locked_until TIMESTAMP NOT NULL);
+CREATE TABLE idempotency_keys (idempotency_key VARCHAR(128) PRIMARY KEY, request_hash VARCHAR(64) NOT NULL,
+    appointment_id BIGINT, response VARCHAR(4000), created_at TIMESTAMP NOT NULL, expires_at TIMESTAMP NOT NULL);
+CREATE TABLE replication_heartbeat (id BIGINT PRIMARY KEY, beat_at TIMESTAMP NOT NULL);
+CREATE TABLE daily_doctor_stats (id BIGINT AUTO_INCREMENT PRIMARY KEY, doctor_id BIGINT NOT NULL, stat_date DATE NOT NULL,
+    booked BIGINT NOT NULL, cancelled BIGINT NOT NULL, completed BIGINT NOT NULL, booked_minutes BIGINT NOT NULL,
+    CONSTRAINT uk_daily_doctor_stats UNIQUE (doctor_id, stat_date));
+CREATE TABLE doctor_working_hours (id BIGINT AUTO_INCREMENT PRIMARY KEY, doctor_id BIGINT NOT NULL,
+    day_of_week VARCHAR(10) NOT NULL, start_time TIME NOT NULL, end_time TIME NOT NULL);
+CREATE TABLE doctor_time_off (id BIGINT AUTO_INCREMENT PRIMARY KEY, doctor_id BIGINT NOT NULL,
+    start_date TIMESTAMP NOT NULL, end_date TIMESTAMP NOT NULL, type VARCHAR(20) NOT NULL, reason VARCHAR(255));
+INSERT INTO patients (name, email, phone) VALUES ('John Doe', 'john@example.com', '1234567890');
+INSERT INTO specializations (name) VALUES ('Cardiology');
+INSERT INTO doctors (name, specialization_id, license_number) VALUES ('Dr. Smith', 1, 'CARD123');